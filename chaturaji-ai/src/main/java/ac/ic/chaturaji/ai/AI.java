@@ -22,6 +22,9 @@ public class AI {
     public static final int AI_PLAYER_DELAY = 1500;
     protected Logger logger = LoggerFactory.getLogger(this.getClass());
     private Map<String, List<MoveListener>> moveListeners = new ConcurrentHashMap<>();
+    private EngineSessions engineSessions = new EngineSessions();
+    private EngineProfiles engineProfiles = new EngineProfiles();
+    private Ponderer ponderer = new Ponderer();
 
     public Game createGame(Game game) {
         game.setBitboards(new AIBoard().GetBitBoards());
@@ -54,6 +57,7 @@ public class AI {
                             board.ApplyMove(aiMove);
                             //board.Print();
                             //logger.debug(aiMove.Print());
+                            ponderer.Moved(game.getId(), board);
                         } else {
                             result.setType(ResultType.NOT_VALID);
                         }
@@ -63,7 +67,16 @@ public class AI {
                     case AI: {
                         ComputerPlayer computerPlayer = new ComputerPlayer(colour, player.getPoints(), player.getKingsCaptured());
 
-                        aiMove = computerPlayer.GetMove(board, game.getAILevel());
+                        EngineProfile profile = engineProfiles.ForLevel(game.getAILevel());
+                        SearchEngine engine = engineSessions.getEngine(game.getId(), colour, profile);
+
+                        // If this position was pondered while the humans played, take the result of that search
+                        // or, if it is still going, give it up to half of the move time to finish.
+                        long start = System.currentTimeMillis();
+                        SearchResult pondered = ponderer.Finish(game.getId(), board, profile.getLimits().getMoveTime() / 2);
+                        SearchLimits limits = Ponderer.Remaining(profile.getLimits(), System.currentTimeMillis() - start);
+
+                        aiMove = computerPlayer.GetMove(board, engine, limits, pondered);
                         aiPlayer = computerPlayer;
 
                         if (aiMove != null) {
@@ -113,6 +126,10 @@ public class AI {
 
                 setAllPlayersCanMoveAnyPieceStatus(game);
 
+                if (aiPlayer instanceof ComputerPlayer && aiMove != null && result.getGameStatus() == GameStatus.IN_PLAY) {
+                    ponder(game, board, ((ComputerPlayer) aiPlayer).getResult());
+                }
+
                 futureResult.set(result);
             }
         }).start();
@@ -142,6 +159,13 @@ public class AI {
             // do nothing as expected exception for timeout
             result = futureResult.get();
         }
+
+        // the search engine kept for this game is no longer needed once the game has finished
+        if (result.getGameStatus() == GameStatus.GAME_OVER || result.getGameStatus() == GameStatus.STALEMATE) {
+            ponderer.Cancel(game.getId());
+            engineSessions.release(game.getId());
+        }
+
         synchronized (this) {
             if (!moveListeners.isEmpty()) {
                 List<MoveListener> moveListenersForGame = moveListeners.get(game.getId());
@@ -167,6 +191,27 @@ public class AI {
         return result;
     }
 
+    // Once an AI colour has moved, ponder the position it expects the next AI colour to face, unless that
+    // colour is the next to move anyway.
+    private void ponder(Game game, AIBoard board, SearchResult searchResult) {
+        if (!Ponderer.Enabled() || game.getPlayer(board.getCurrentPlayer()).getType() != PlayerType.HUMAN) {
+            return;
+        }
+
+        int next = board.getCurrentPlayer();
+        while (game.getPlayer(next).getType() != PlayerType.AI) {
+            next = (next + 1) % 4;
+        }
+
+        List<AIMove> expected = searchResult.getPrincipalVariation();
+        EngineProfile profile = engineProfiles.ForLevel(game.getAILevel());
+        SearchEngine engine = engineSessions.getEngine(game.getId(), next, profile);
+
+        if (!expected.isEmpty()) {
+            ponderer.Start(game.getId(), board, expected.subList(1, expected.size()), next, engine, profile.getLimits());
+        }
+    }
+
     private void setAllPlayersCanMoveAnyPieceStatus(Game game) {
         for (Colour colour : Colour.values()) {
             Player player = game.getPlayer(colour.ordinal());
@@ -3,6 +3,8 @@ package ac.ic.chaturaji.ai;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Arrays;
+
 /**
  * Chaturaji.Board_AI: constructs all relevant bitboards and handles chaturaji board manipulation (i.e. adding and removing pieces).
  * The board is represented by a 64-bit string, the first bit denoting square a8, the second is a7 and so forth.
@@ -26,13 +28,34 @@ public class AIBoard implements Cloneable {
     // The actual data representation of the game board: an array of
     // bitboards, each of which corresponds to a certain aspect of the board.
     private long BitBoards[];
+
+    // Number of each piece on the board, indexed like the piece bitboards, and the total material of
+    // each colour by the values in GameConstants. Both are kept up to date by AddPiece and RemovePiece.
+    private int PieceCount[];
     private int MaterialValue[];
 
+    // Zobrist key of the current position, kept up to date by AddPiece, RemovePiece and NextPlayer.
+    private long ZobristKey;
+
+    // Zobrist key of the pawns alone, for the pawn hash table of the evaluation.
+    private long PawnKey;
+
+    // Undo stack used by makeMove/unmakeMove. Every ply saves the bitboards, piece counts, material values
+    // and current player so that the search can walk the game tree on a single board instead of cloning it.
+    private long UndoBitBoards[];
+    private int UndoPieceCount[];
+    private int UndoMaterialValue[];
+    private int UndoPlayer[];
+    private long UndoZobristKey[];
+    private long UndoPawnKey[];
+    private int UndoCount;
+
 	/*------ Methods ------*/
 
     /* Constructor */
     public AIBoard() {
         BitBoards = new long[GameConstants.ALL_BITBOARDS];
+        PieceCount = new int[GameConstants.ALL_PIECES];
         MaterialValue = new int[4];
 
         StartBoard();
@@ -40,23 +63,29 @@ public class AIBoard implements Cloneable {
 
     public AIBoard(long[] bit_boards, int colour) {
         BitBoards = bit_boards;
+        PieceCount = new int[GameConstants.ALL_PIECES];
         MaterialValue = new int[4];
+        computeMaterial();
 
         CurrentPlayer = colour;
+        ZobristKey = computeZobristKey();
+        PawnKey = computePawnKey();
     }
 
     //Copy constructor
     public AIBoard(AIBoard board) {
         BitBoards = board.BitBoards;
+        PieceCount = board.PieceCount;
         MaterialValue = board.MaterialValue;
         CurrentPlayer = board.CurrentPlayer;
+        ZobristKey = board.ZobristKey;
+        PawnKey = board.PawnKey;
     }
 
     public AIBoard clone() {
-        AIBoard cloned = new AIBoard();
-        cloned.BitBoards = BitBoards.clone();
+        AIBoard cloned = new AIBoard(BitBoards.clone(), CurrentPlayer);
+        cloned.PieceCount = PieceCount.clone();
         cloned.MaterialValue = MaterialValue.clone();
-        cloned.CurrentPlayer = CurrentPlayer;
         return cloned;
     }
 
@@ -81,6 +110,11 @@ public class AIBoard implements Cloneable {
     public int GetMaterialValue(int colour) {
         return MaterialValue[colour];
     }
+
+    // Number of the given piece (e.g. GameConstants.RED_PAWN) on the board.
+    public int GetPieceCount(int piece) {
+        return PieceCount[piece];
+    }
     /* Functions */
 
     // Initialise the Board:
@@ -148,9 +182,21 @@ public class AIBoard implements Cloneable {
 
         // Player to go first is always yellow
         CurrentPlayer = GameConstants.YELLOW;
+        ZobristKey = computeZobristKey();
+        PawnKey = computePawnKey();
     }
 
     public long ZobristKey() {
+        return ZobristKey;
+    }
+
+    public long PawnKey() {
+        return PawnKey;
+    }
+
+    // Rebuild the Zobrist key from scratch. Only used when a board is set up and to check the
+    // incrementally maintained key when assertions are enabled.
+    long computeZobristKey() {
         long zobristKey = 0;
 
         for (int piece = 0; piece < GameConstants.ALL_PIECES; piece++) {
@@ -160,21 +206,54 @@ public class AIBoard implements Cloneable {
                     zobristKey ^= GameConstants.ZobristHash[piece][square];
             }
         }
-        switch (CurrentPlayer) {
+        return zobristKey ^ PlayerKey(CurrentPlayer);
+    }
+
+    // Rebuild the pawn key from scratch, as above.
+    long computePawnKey() {
+        long pawnKey = 0;
+
+        for (int colour = 0; colour < 4; colour++) {
+            pawnKey ^= ZobristKeyOf(GameConstants.PAWN + colour, BitBoards[GameConstants.PAWN + colour]);
+        }
+        return pawnKey;
+    }
+
+    // Count the pieces and material from scratch, for a board set up from bitboards.
+    private void computeMaterial() {
+        for (int colour = 0; colour < 4; colour++) {
+            MaterialValue[colour] = 0;
+        }
+
+        for (int piece = 0; piece < GameConstants.ALL_PIECES; piece++) {
+            PieceCount[piece] = Long.bitCount(BitBoards[piece]);
+            MaterialValue[piece % 4] += PieceCount[piece] * GameConstants.PieceValues[piece / 4];
+        }
+    }
+
+    // Whether the incrementally maintained counts agree with the bitboards. Only used in assertions.
+    private boolean materialInStep() {
+        int materialValue[] = new int[4];
+
+        for (int piece = 0; piece < GameConstants.ALL_PIECES; piece++) {
+            if (PieceCount[piece] != Long.bitCount(BitBoards[piece]))
+                return false;
+            materialValue[piece % 4] += PieceCount[piece] * GameConstants.PieceValues[piece / 4];
+        }
+        return Arrays.equals(materialValue, MaterialValue);
+    }
+
+    private static long PlayerKey(int player) {
+        switch (player) {
             case GameConstants.YELLOW:
-                zobristKey ^= GameConstants.YellowMove;
-                break;
+                return GameConstants.YellowMove;
             case GameConstants.BLUE:
-                zobristKey ^= GameConstants.BlueMove;
-                break;
+                return GameConstants.BlueMove;
             case GameConstants.RED:
-                zobristKey ^= GameConstants.RedMove;
-                break;
-            case GameConstants.GREEN:
-                zobristKey ^= GameConstants.GreenMove;
-                break;
+                return GameConstants.RedMove;
+            default:
+                return GameConstants.GreenMove;
         }
-        return zobristKey;
     }
 
     public int isGameOver() {
@@ -216,53 +295,132 @@ public class AIBoard implements Cloneable {
     }
 
     public void NextPlayer() {
+        ZobristKey ^= PlayerKey(CurrentPlayer);
         CurrentPlayer = (CurrentPlayer + 1) % 4;
+        ZobristKey ^= PlayerKey(CurrentPlayer);
     }
 
     // Apply the move given and update the bit boards.
     public void ApplyMove(AIMove theMove) {
+        if (theMove.getType() == GameConstants.RESIGN) {
+            NextPlayer();
+            return;
+        }
+
+        ApplyMove(EncodedMove.FromAIMove(theMove));
+    }
+
+    // Apply a move encoded as by EncodedMove.
+    public void ApplyMove(int theMove) {
+        int piece = EncodedMove.Piece(theMove);
+        int source = EncodedMove.Source(theMove);
+        int destination = EncodedMove.Destination(theMove);
+        int captured = EncodedMove.Captured(theMove);
+        int promoType = EncodedMove.PromoType(theMove);
 
         // Check if the piece moved was a pawn:
-        if (theMove.getPiece() < 4) {
+        if (piece < 4) {
             // Now determine its promotion piece and update the relevant board:
-            handlePawnMoves(theMove.getSource(), theMove.getDestination());
+            handlePawnMoves(source, destination);
         }
 
-        // Must alter the board depending on the move type received:
-        switch (theMove.getType()) {
-            case GameConstants.NORMAL_MOVE:
-                RemovePiece(theMove.getSource(), theMove.getPiece());
-                AddPiece(theMove.getDestination(), theMove.getPiece());
-                break;
-            case GameConstants.CAPTURE:
-                RemovePiece(theMove.getSource(), theMove.getPiece());
-                RemovePiece(theMove.getDestination(), theMove.getCaptured());
-                AddPiece(theMove.getDestination(), theMove.getPiece());
+        RemovePiece(source, piece);
 
-                //Check if the capture has lead to a possible promotion on the opponent's side
-                CheckDelayedPromotion(theMove.getCaptured());
-                break;
-            case GameConstants.RESIGN:
-                break;
+        if (captured != GameConstants.EMPTY_SQUARE) {
+            RemovePiece(destination, captured);
+            AddPiece(destination, piece);
+
+            //Check if the capture has lead to a possible promotion on the opponent's side
+            CheckDelayedPromotion(captured);
+        } else {
+            AddPiece(destination, piece);
         }
 
         // Check if the move is a boat triumph
-        if (theMove.getTriumph()) {
-            performBoatTriumph();
+        if (EncodedMove.IsTriumph(theMove)) {
+            performBoatTriumph(piece % 4);
         }
 
         // Check if the move is a promotion
-        boolean isPromotion = (theMove.getPromoType() > 0);
-        if (isPromotion) {
-            Promote(theMove.getPiece(), theMove.getDestination(), theMove.getPiece() % 4, theMove.getPromoType());
+        if (promoType > 0) {
+            Promote(piece, destination, piece % 4, promoType);
         }
 
         // Set the next player
         NextPlayer();
     }
 
+    // Apply the move given, remembering the current state so that it can be restored by unmakeMove.
+    public void makeMove(AIMove theMove) {
+        makeMove(EncodedMove.FromAIMove(theMove));
+    }
+
+    public void makeMove(int theMove) {
+        if (UndoPlayer == null || UndoCount == UndoPlayer.length) {
+            growUndoStack();
+        }
+
+        System.arraycopy(BitBoards, 0, UndoBitBoards, UndoCount * GameConstants.ALL_BITBOARDS, GameConstants.ALL_BITBOARDS);
+        System.arraycopy(PieceCount, 0, UndoPieceCount, UndoCount * GameConstants.ALL_PIECES, GameConstants.ALL_PIECES);
+        System.arraycopy(MaterialValue, 0, UndoMaterialValue, UndoCount * 4, 4);
+        UndoPlayer[UndoCount] = CurrentPlayer;
+        UndoZobristKey[UndoCount] = ZobristKey;
+        UndoPawnKey[UndoCount] = PawnKey;
+        UndoCount++;
+
+        ApplyMove(theMove);
+
+        assert ZobristKey == computeZobristKey() : "Incremental Zobrist key out of step after " + EncodedMove.ToAIMove(theMove).Print();
+        assert PawnKey == computePawnKey() : "Incremental pawn key out of step after " + EncodedMove.ToAIMove(theMove).Print();
+        assert materialInStep() : "Piece counts out of step after " + EncodedMove.ToAIMove(theMove).Print();
+    }
+
+    // Take back the last move applied with makeMove.
+    public void unmakeMove() {
+        if (UndoCount == 0) {
+            logger.error("NO MOVE TO UNMAKE");
+            return;
+        }
+
+        UndoCount--;
+        System.arraycopy(UndoBitBoards, UndoCount * GameConstants.ALL_BITBOARDS, BitBoards, 0, GameConstants.ALL_BITBOARDS);
+        System.arraycopy(UndoPieceCount, UndoCount * GameConstants.ALL_PIECES, PieceCount, 0, GameConstants.ALL_PIECES);
+        System.arraycopy(UndoMaterialValue, UndoCount * 4, MaterialValue, 0, 4);
+        CurrentPlayer = UndoPlayer[UndoCount];
+        ZobristKey = UndoZobristKey[UndoCount];
+        PawnKey = UndoPawnKey[UndoCount];
+    }
+
     /*---- Helper functions ------*/
 
+    // The undo stack starts at MAX_PLY entries and doubles whenever a search goes deeper than that.
+    private void growUndoStack() {
+        int size = (UndoPlayer == null) ? GameConstants.MAX_PLY : UndoPlayer.length * 2;
+
+        long[] bitBoards = new long[size * GameConstants.ALL_BITBOARDS];
+        int[] pieceCount = new int[size * GameConstants.ALL_PIECES];
+        int[] materialValue = new int[size * 4];
+        int[] player = new int[size];
+        long[] zobristKey = new long[size];
+        long[] pawnKey = new long[size];
+
+        if (UndoPlayer != null) {
+            System.arraycopy(UndoBitBoards, 0, bitBoards, 0, UndoBitBoards.length);
+            System.arraycopy(UndoPieceCount, 0, pieceCount, 0, UndoPieceCount.length);
+            System.arraycopy(UndoMaterialValue, 0, materialValue, 0, UndoMaterialValue.length);
+            System.arraycopy(UndoPlayer, 0, player, 0, UndoPlayer.length);
+            System.arraycopy(UndoZobristKey, 0, zobristKey, 0, UndoZobristKey.length);
+            System.arraycopy(UndoPawnKey, 0, pawnKey, 0, UndoPawnKey.length);
+        }
+
+        UndoBitBoards = bitBoards;
+        UndoPieceCount = pieceCount;
+        UndoMaterialValue = materialValue;
+        UndoPlayer = player;
+        UndoZobristKey = zobristKey;
+        UndoPawnKey = pawnKey;
+    }
+
     // Add a piece (whichPiece) to the board at square (whichSquare).
     private boolean AddPiece(int whichSquare, int whichPiece) {
         // Add the piece to the corresponding bitboard
@@ -276,6 +434,12 @@ public class AIBoard implements Cloneable {
 
         if (whichPiece < GameConstants.ALL_PIECES) {
             BitBoards[GameConstants.ALL_PIECES + (whichPiece % 4)] |= GameConstants.SquareBits[whichSquare];
+            ZobristKey ^= GameConstants.ZobristHash[whichPiece][whichSquare];
+            if (whichPiece < GameConstants.KNIGHT)
+                PawnKey ^= GameConstants.ZobristHash[whichPiece][whichSquare];
+
+            PieceCount[whichPiece]++;
+            MaterialValue[whichPiece % 4] += GameConstants.PieceValues[whichPiece / 4];
         }
 
         return true;
@@ -289,17 +453,25 @@ public class AIBoard implements Cloneable {
         // Update the bitboard representing the player's colour.
         if (whichPiece < GameConstants.ALL_PIECES) {
             BitBoards[GameConstants.ALL_PIECES + (whichPiece % 4)] ^= GameConstants.SquareBits[whichSquare];
+            ZobristKey ^= GameConstants.ZobristHash[whichPiece][whichSquare];
+            if (whichPiece < GameConstants.KNIGHT)
+                PawnKey ^= GameConstants.ZobristHash[whichPiece][whichSquare];
+
+            PieceCount[whichPiece]--;
+            MaterialValue[whichPiece % 4] -= GameConstants.PieceValues[whichPiece / 4];
         }
 
         return true;
     }
 
-    private void performBoatTriumph() {
+    // Remove the boats of the other three colours. The colour is that of the boat which moved, not the
+    // current player: Best-Reply Search plays the moves of all three opponents on the same turn.
+    private void performBoatTriumph(int colour) {
         int boat_square;
         for (int i = 1; i < 4; i++) {
-            boat_square = FindBoatSquare((CurrentPlayer + i) % 4);
+            boat_square = FindBoatSquare((colour + i) % 4);
             if (boat_square >= 0) {
-                RemovePiece(boat_square, GameConstants.BOAT + ((CurrentPlayer + i) % 4));
+                RemovePiece(boat_square, GameConstants.BOAT + ((colour + i) % 4));
             } else
                 logger.error("ERROR CALCULATING BOAT TRIUMPH");
         }
@@ -332,13 +504,53 @@ public class AIBoard implements Cloneable {
             // If true then there is a pawn that might need to be promoted
             if ((BitBoards[GameConstants.KNIGHT_PAWNS + (CapturedPiece / 4 - 1)] & pawnToPromote) != 0) {
                 pawnToPromote = BitBoards[GameConstants.KNIGHT_PAWNS + (CapturedPiece / 4 - 1)] & pawnToPromote;
+                long capturedBoard = BitBoards[CapturedPiece];
+                long pawnBoard = BitBoards[GameConstants.PAWN + colour];
+
                 BitBoards[CapturedPiece] |= pawnToPromote;
                 BitBoards[GameConstants.PAWN + colour] ^= pawnToPromote;
 
+                // The bitboards are changed directly here, so bring the keys and piece counts up to date with the squares that flipped.
+                UpdateKeys(CapturedPiece, capturedBoard ^ BitBoards[CapturedPiece]);
+                UpdatePieceCount(CapturedPiece);
+                if (CapturedPiece != GameConstants.PAWN + colour) {
+                    UpdateKeys(GameConstants.PAWN + colour, pawnBoard ^ BitBoards[GameConstants.PAWN + colour]);
+                    UpdatePieceCount(GameConstants.PAWN + colour);
+                }
+
             }
         }
     }
 
+    // Add the squares of a piece whose bitboard was changed directly to the Zobrist key, and to the pawn key for a pawn.
+    private void UpdateKeys(int piece, long flipped) {
+        long zobristKey = ZobristKeyOf(piece, flipped);
+
+        ZobristKey ^= zobristKey;
+        if (piece < GameConstants.KNIGHT)
+            PawnKey ^= zobristKey;
+    }
+
+    // Recount a piece whose bitboard was changed directly and adjust the material of its colour.
+    private void UpdatePieceCount(int piece) {
+        int count = Long.bitCount(BitBoards[piece]);
+
+        MaterialValue[piece % 4] += (count - PieceCount[piece]) * GameConstants.PieceValues[piece / 4];
+        PieceCount[piece] = count;
+    }
+
+    // The Zobrist contribution of every square set on a single piece bitboard.
+    private static long ZobristKeyOf(int piece, long bitBoard) {
+        long zobristKey = 0;
+
+        while (bitBoard != 0) {
+            int square = Long.numberOfTrailingZeros(bitBoard);
+            zobristKey ^= GameConstants.ZobristHash[piece][square];
+            bitBoard &= bitBoard - 1;
+        }
+        return zobristKey;
+    }
+
     //Promote a pawn
     private void Promote(int Piece, int destination, int colour, int PromoType) {
         switch (PromoType) {
@@ -380,6 +592,7 @@ public class AIBoard implements Cloneable {
         for (int i = 0; i < GameConstants.ALL_BITBOARDS; i++) {
             BitBoards[i] = 0;
         }
+        computeMaterial();
     }
 
     public void Print() {
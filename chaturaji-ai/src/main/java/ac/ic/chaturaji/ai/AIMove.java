@@ -17,7 +17,7 @@ public class AIMove implements Comparable<AIMove> {
     private boolean boatTriumph = false;   // Does the move result in a boat triumph?
 
     private int evaluationType;            // These are used by the AI when storing values in the
-    private double score;                  // transposition tables, allows us to associate moves
+    private int score;                     // transposition tables, allows us to associate moves
     private int depth;                     // with scores.
 
     //------ Methods ------//
@@ -75,11 +75,11 @@ public class AIMove implements Comparable<AIMove> {
         return evaluationType;
     }
 
-    public double getScore() {
+    public int getScore() {
         return score;
     }
 
-    public void setScore(double evaluation) {
+    public void setScore(int evaluation) {
         score = evaluation;
     }
 
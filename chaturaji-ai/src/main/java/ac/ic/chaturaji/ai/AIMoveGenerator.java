@@ -21,6 +21,9 @@ public class AIMoveGenerator {
     ArrayList<AIMove> moves;
     ArrayList<AIMove> moves_2ply;
 
+    // Encoded moves of a single position, converted to AIMoves by the list version of generateMoves.
+    private final int Scratch[] = new int[GameConstants.MAX_MOVES];
+
     /*------ Methods ------*/
 
     // Constructor
@@ -76,109 +79,149 @@ public class AIMoveGenerator {
         return moves;
     }
 
+    // Add the moves of the given colour to the list as AIMoves, for callers outside the search.
     public void generateMoves(AIBoard board, ArrayList<AIMove> moves, int colour) {
-        getKingMoves(board, moves, colour);
-        getElephantMoves(board, moves, colour);
-        getBoatMoves(board, moves, colour);
-        getKnightMoves(board, moves, colour);
-        getPawnMoves(board, moves, colour);
-        //Collections.sort(moves);
+        int count = generateMoves(board, Scratch, 0, colour);
+
+        for (int i = 0; i < count; i++) {
+            moves.add(EncodedMove.ToAIMove(Scratch[i]));
+        }
     }
 
+    // Write the moves of the given colour, encoded as by EncodedMove, into the array starting at index
+    // 'count' and return the new number of moves. The array must have room for MAX_MOVES more moves.
+    public int generateMoves(AIBoard board, int[] moves, int count, int colour) {
+        long targets = ~board.getBitBoard(GameConstants.ALL_PIECES + colour);
+
+        count = getKingMoves(board, moves, count, colour, targets);
+        count = getElephantMoves(board, moves, count, colour, targets);
+        count = getBoatMoves(board, moves, count, colour, targets);
+        count = getKnightMoves(board, moves, count, colour, targets);
+        count = getPawnMoves(board, moves, count, colour, true);
+        return count;
+    }
 
-    /*------ GENERATING THE MOVES ------*/
+    // As generateMoves, but only the captures, for the quiescence search.
+    public int generateCaptures(AIBoard board, int[] moves, int count, int colour) {
+        long targets = board.getBitBoard(GameConstants.ALL_PIECES + ((colour + 1) % 4)) |
+                board.getBitBoard(GameConstants.ALL_PIECES + ((colour + 2) % 4)) |
+                board.getBitBoard(GameConstants.ALL_PIECES + ((colour + 3) % 4));
+
+        count = getKingMoves(board, moves, count, colour, targets);
+        count = getElephantMoves(board, moves, count, colour, targets);
+        count = getBoatMoves(board, moves, count, colour, targets);
+        count = getKnightMoves(board, moves, count, colour, targets);
+        count = getPawnMoves(board, moves, count, colour, false);
+        return count;
+    }
+
+
+    // The number of moves generateMoves would find for the given colour, counted from the attack
+    // bitboards without building the moves themselves.
+    public int countMoves(AIBoard board, int colour) {
+        long friends = board.getBitBoard(GameConstants.ALL_PIECES + colour);
+        long allPieces = board.getBitBoard(GameConstants.ALL_YELLOW_PIECES) |
+                board.getBitBoard(GameConstants.ALL_BLUE_PIECES) |
+                board.getBitBoard(GameConstants.ALL_RED_PIECES) |
+                board.getBitBoard(GameConstants.ALL_GREEN_PIECES);
+        long enemies = allPieces & ~friends;
+        int count = 0;
+
+        for (long pieces = board.getBitBoard(GameConstants.KING + colour); pieces != 0; pieces &= pieces - 1) {
+            count += Long.bitCount(PieceMoves.KingAttacks[Long.numberOfTrailingZeros(pieces)] & ~friends);
+        }
+        for (long pieces = board.getBitBoard(GameConstants.ELEPHANT + colour); pieces != 0; pieces &= pieces - 1) {
+            count += Long.bitCount(PieceMoves.ElephantAttacks(Long.numberOfTrailingZeros(pieces), allPieces) & ~friends);
+        }
+        for (long pieces = board.getBitBoard(GameConstants.BOAT + colour); pieces != 0; pieces &= pieces - 1) {
+            count += Long.bitCount(PieceMoves.BoatAttacks[Long.numberOfTrailingZeros(pieces)] & ~friends);
+        }
+        for (long pieces = board.getBitBoard(GameConstants.KNIGHT + colour); pieces != 0; pieces &= pieces - 1) {
+            count += Long.bitCount(PieceMoves.KnightAttacks[Long.numberOfTrailingZeros(pieces)] & ~friends);
+        }
+        for (long pieces = board.getBitBoard(GameConstants.PAWN + colour); pieces != 0; pieces &= pieces - 1) {
+            int square = Long.numberOfTrailingZeros(pieces);
+            count += Long.bitCount(PieceMoves.PawnPushes[colour][square] & ~allPieces)
+                    + Long.bitCount(PieceMoves.PawnCaptures[colour][square] & enemies);
+        }
+        return count;
+    }
 
-    // The following functions (excluding the ones generating pawn moves) rely on the
-    // data members contained below for quick move calculation. Within these data members
-    // we have coded all possible moves of each type of piece for every square.
-    // These functions merely look at the move array corresponding to a certain piece on a certain
-    // square and cycle through its elements (corresponding to possible destinations), checking
-    // to see if the destinations it contains are valid, and if so, what type of move they would
-    // describe (i.e. normal move/ capture/ promotion).
+    /*------ GENERATING THE MOVES ------*/
 
+    // The attacks of each piece are looked up in the bitboards of PieceMoves. Keeping only the target
+    // squares (those not holding our own pieces, or only those holding enemy pieces when generating
+    // captures) leaves the destinations, which are visited one set bit at a time; each is either empty
+    // or holds an enemy piece to capture.
 
     // Given a certain destination, figure out whether it is empty or occupied by a certain piece.
-    // If occupied, return which colour's piece is located at the destination.
+    // If occupied, return the enemy piece located at the destination.
 
-    private void determineMove(AIBoard board, int colour, int dest, AIMove move) {
+    private int determineCapture(AIBoard board, int colour, int dest) {
         for (int j = 1; j < 4; j++) {
             if ((board.getBitBoard(GameConstants.ALL_PIECES + ((colour + j) % 4)) & GameConstants.SquareBits[dest]) != 0) {
-                // If true then then we have located an enemy piece
-                move.setType(GameConstants.CAPTURE);
-                move.setCaptured(board.findPieceColour(dest, (colour + j) % 4));
-
-                // only one enemy piece may occupy the square, so
-                // return when the one found has been processed.
-                return;
+                // If true then then we have located an enemy piece. Only one enemy piece may
+                // occupy the square, so return the one found.
+                return board.findPieceColour(dest, (colour + j) % 4);
             }
         }
         // If no enemy piece is found then it must be an empty square:
-        move.setType(GameConstants.NORMAL_MOVE);
-        move.setCaptured(GameConstants.EMPTY_SQUARE);
+        return GameConstants.EMPTY_SQUARE;
     }
 
-    // Calculate the King's moves.
-    private void getKingMoves(AIBoard board, ArrayList<AIMove> moves, int colour) {
-        long kingBoard = board.getBitBoard(GameConstants.KING + colour);
-        int kSquare;
-        AIMove newMove;
-        int destination;
-
-        // If there is no king then there is no need to generate moves.
-        if (kingBoard == 0)
-            return;
+    // Add a move of the piece from the source square to every square set in destinations.
+    private int addMoves(AIBoard board, int[] moves, int count, int colour, int piece, int source, long destinations) {
+        long enemies = board.getBitBoard(GameConstants.ALL_PIECES + ((colour + 1) % 4)) |
+                board.getBitBoard(GameConstants.ALL_PIECES + ((colour + 2) % 4)) |
+                board.getBitBoard(GameConstants.ALL_PIECES + ((colour + 3) % 4));
 
-        // Locate the King's square:
-        for (kSquare = 0; kSquare <= 63; kSquare++)
-            if ((GameConstants.SquareBits[kSquare] & kingBoard) != 0)
-                break;
+        while (destinations != 0) {
+            int destination = Long.numberOfTrailingZeros(destinations);
+            destinations &= destinations - 1;
 
-        for (int i = 0; i < PieceMoves.KingMoves[kSquare].length; i++) {
-            destination = PieceMoves.KingMoves[kSquare][i];
-
-            if ((board.getBitBoard(GameConstants.ALL_PIECES + colour) & GameConstants.SquareBits[destination]) == 0) {
-                // We have an empty square or an enemy piece at our destination!
+            int captured = ((enemies & GameConstants.SquareBits[destination]) != 0) ?
+                    determineCapture(board, colour, destination) : GameConstants.EMPTY_SQUARE;
+            moves[count++] = EncodedMove.Encode(piece, source, destination, captured);
+        }
+        return count;
+    }
 
-                newMove = new AIMove(GameConstants.KING + colour, kSquare, destination);
+    // Calculate the King's moves.
+    private int getKingMoves(AIBoard board, int[] moves, int count, int colour, long targets) {
+        long kingBoard = board.getBitBoard(GameConstants.KING + colour);
 
-                // Find out what type of move it is (capture or ordinary) and add it
-                // onto the end of the moves list:
+        while (kingBoard != 0) {
+            int kSquare = Long.numberOfTrailingZeros(kingBoard);
+            kingBoard &= kingBoard - 1;
 
-                determineMove(board, colour, destination, newMove);
-                moves.add(newMove);
-            }
+            count = addMoves(board, moves, count, colour, GameConstants.KING + colour, kSquare,
+                    PieceMoves.KingAttacks[kSquare] & targets);
         }
+        return count;
     }
 
 
-    // Same as function above, but calculating the Boat moves.
-    private void getBoatMoves(AIBoard board, ArrayList<AIMove> moves, int colour) {
+    // Same as function above, but calculating the Boat moves, which must also be checked for a boat triumph.
+    private int getBoatMoves(AIBoard board, int[] moves, int count, int colour, long targets) {
         long boatBoard = board.getBitBoard(GameConstants.BOAT + colour);
-        int bSquare;
-        AIMove newMove;
-        int destination;
 
-        if (boatBoard == 0)
-            return;
+        while (boatBoard != 0) {
+            int bSquare = Long.numberOfTrailingZeros(boatBoard);
+            boatBoard &= boatBoard - 1;
 
-        for (bSquare = 0; bSquare <= 63; bSquare++)
-            if ((GameConstants.SquareBits[bSquare] & boatBoard) != 0)
-                break;
+            int first = count;
+            count = addMoves(board, moves, count, colour, GameConstants.BOAT + colour, bSquare,
+                    PieceMoves.BoatAttacks[bSquare] & targets);
 
-        for (int i = 0; i < PieceMoves.BoatMoves[bSquare].length; i++) {
-            destination = PieceMoves.BoatMoves[bSquare][i];
-
-            if ((board.getBitBoard(GameConstants.ALL_PIECES + colour) & GameConstants.SquareBits[destination]) == 0) {
-
-                newMove = new AIMove(GameConstants.BOAT + colour, bSquare, destination);
-                determineMove(board, colour, destination, newMove);
-                CheckBoatTriumph(board, newMove, colour, bSquare, destination);
-                moves.add(newMove);
+            for (int i = first; i < count; i++) {
+                if (CheckBoatTriumph(board, colour, EncodedMove.Destination(moves[i])))
+                    moves[i] = EncodedMove.WithTriumph(moves[i]);
             }
         }
+        return count;
     }
 
-    private void CheckBoatTriumph(AIBoard board, AIMove newMove, int colour, int source, int destination) {
+    private boolean CheckBoatTriumph(AIBoard board, int colour, int destination) {
         // Use this to check whether the boats are in the 2x2 formation:
         long formationCheck = 771;
         long allBoats = 0;
@@ -194,241 +237,107 @@ public class AIMoveGenerator {
             for (int col = 0; col < 6; col++) {
                 // Check that we have an exact match:
                 if ((formationCheck | allBoats) == (formationCheck & allBoats)) {
-                    newMove.setBoatTriumph(true);
-                    return;
+                    return true;
                 }
                 formationCheck <<= 1;
             }
             formationCheck <<= 2;
         }
+        return false;
     }
 
     // Calculate the Knight moves - same process as above.
-    private void getKnightMoves(AIBoard board, ArrayList<AIMove> moves, int colour) {
+    private int getKnightMoves(AIBoard board, int[] moves, int count, int colour, long targets) {
         long knightBoard = board.getBitBoard(GameConstants.KNIGHT + colour);
-        int kSquare;
-        AIMove newMove;
-        int destination;
-
-        if (knightBoard == 0)
-            return;
 
-        for (kSquare = 0; kSquare <= 63; kSquare++)
-            if ((GameConstants.SquareBits[kSquare] & knightBoard) != 0)
-                break;
+        while (knightBoard != 0) {
+            int kSquare = Long.numberOfTrailingZeros(knightBoard);
+            knightBoard &= knightBoard - 1;
 
-        for (int i = 0; i < PieceMoves.KnightMoves[kSquare].length; i++) {
-            destination = PieceMoves.KnightMoves[kSquare][i];
-
-            if ((board.getBitBoard(GameConstants.ALL_PIECES + colour) & GameConstants.SquareBits[destination]) == 0) {
-
-                newMove = new AIMove(GameConstants.KNIGHT + colour, kSquare, destination);
-                determineMove(board, colour, destination, newMove);
-                moves.add(newMove);
-            }
+            count = addMoves(board, moves, count, colour, GameConstants.KNIGHT + colour, kSquare,
+                    PieceMoves.KnightAttacks[kSquare] & targets);
         }
+        return count;
     }
 
 
-    private void getElephantMoves(AIBoard board, ArrayList<AIMove> moves, int colour) {
+    // The elephant slides along its row and column, stopping at the first piece in each direction
+    // (which it may capture if it is an enemy).
+    private int getElephantMoves(AIBoard board, int[] moves, int count, int colour, long targets) {
         long elephantBoard = board.getBitBoard(GameConstants.ELEPHANT + colour);
+        long allPieces = board.getBitBoard(GameConstants.ALL_YELLOW_PIECES) |
+                board.getBitBoard(GameConstants.ALL_BLUE_PIECES) |
+                board.getBitBoard(GameConstants.ALL_RED_PIECES) |
+                board.getBitBoard(GameConstants.ALL_GREEN_PIECES);
 
-        int eSquare;
-        AIMove newMove;
-        int destination;
+        while (elephantBoard != 0) {
+            int eSquare = Long.numberOfTrailingZeros(elephantBoard);
+            elephantBoard &= elephantBoard - 1;
 
-        if (elephantBoard == 0)
-            return;
+            count = addMoves(board, moves, count, colour, GameConstants.ELEPHANT + colour, eSquare,
+                    PieceMoves.ElephantAttacks(eSquare, allPieces) & targets);
+        }
+        return count;
+    }
 
-        for (eSquare = 0; eSquare <= 63; eSquare++)
-            if ((GameConstants.SquareBits[eSquare] & elephantBoard) != 0)
-                break;
+    // The forward steps are only generated if 'pushes' is set, otherwise just the captures.
+    private int getPawnMoves(AIBoard board, int[] moves, int count, int colour, boolean pushes) {
+        long pawnBoard = board.getBitBoard(GameConstants.PAWN + colour);
+        long endSquares = board.getBitBoard(GameConstants.YELLOW_END_SQUARES + colour);
+        int newMove;
 
-        // elephantMoves may have a 3D array. The first entry corresponds to the square,
-        // the second to the direction of the moves it may take (up/down/left/right), and the
-        // third to moves it may go along the particular compass direction.
+        long allPieces = board.getBitBoard(GameConstants.ALL_YELLOW_PIECES) |
+                board.getBitBoard(GameConstants.ALL_BLUE_PIECES) |
+                board.getBitBoard(GameConstants.ALL_RED_PIECES) |
+                board.getBitBoard(GameConstants.ALL_GREEN_PIECES);
+        long enemies = allPieces & ~board.getBitBoard(GameConstants.ALL_PIECES + colour);
 
-        for (int direction = 0; direction < PieceMoves.ElephantMoves[eSquare].length; direction++)
-            for (int j = 0; j < PieceMoves.ElephantMoves[eSquare][direction].length; j++) {
+        while (pawnBoard != 0) {
+            int square = Long.numberOfTrailingZeros(pawnBoard);
+            pawnBoard &= pawnBoard - 1;
 
-                destination = PieceMoves.ElephantMoves[eSquare][direction][j];
+            // First test the basic forward move. A pawn that has reached its end row or column
+            // has no moves left.
+            long push = pushes ? PieceMoves.PawnPushes[colour][square] & ~allPieces : 0;
 
-                // Check if our destination is occupied by a friendly piece. If so, move on to
-                // the next set of moves.
-                if ((board.getBitBoard(GameConstants.ALL_PIECES + colour) & GameConstants.SquareBits[destination]) != 0)
-                    break;
+            if (push != 0) {
+                int destination = Long.numberOfTrailingZeros(push);
+                newMove = EncodedMove.Encode(GameConstants.PAWN + colour, square, destination, GameConstants.EMPTY_SQUARE);
 
-                newMove = new AIMove(GameConstants.ELEPHANT + colour, eSquare, destination);
-                determineMove(board, colour, destination, newMove);
-                moves.add(newMove);
+                // If the destination is one of the end squares then we have a promotion.
+                if ((push & endSquares) != 0)
+                    newMove = SetPromo(board, newMove, square);
 
-                // Check if the move added was a capture - if so, we cannot continue along this line of attack!
-                if (newMove.getCaptured() != GameConstants.EMPTY_SQUARE)
-                    break;
+                moves[count++] = newMove;
             }
-    }
 
-    private void getPawnMoves(AIBoard board, ArrayList<AIMove> Moves, int colour) {
-        long pawnBoard = board.getBitBoard(GameConstants.PAWN + colour);
-        int square;
-        AIMove newMove;
-        int destination;
+            long captures = PieceMoves.PawnCaptures[colour][square] & enemies;
 
-        if (pawnBoard == 0)
-            return;
+            while (captures != 0) {
+                int destination = Long.numberOfTrailingZeros(captures);
+                captures &= captures - 1;
 
-        long allPieces = board.getBitBoard(GameConstants.ALL_YELLOW_PIECES) |
-                board.getBitBoard(GameConstants.ALL_BLUE_PIECES) |
-                board.getBitBoard(GameConstants.ALL_RED_PIECES) |
-                board.getBitBoard(GameConstants.ALL_GREEN_PIECES);
-
-        for (square = 0; square <= 63; square++) {
-            // Find a pawn belonging to the current player's colour:
-            if ((pawnBoard & GameConstants.SquareBits[square]) != 0) {
-                // First test basic forward moves.
-                switch (colour) {
-                    case 0:
-                        destination = square + 1;
-                        break;
-                    case 1:
-                        destination = square + 8;
-                        break;
-                    case 2:
-                        destination = square - 1;
-                        break;
-                    default:
-                        destination = square - 8;
-                        break;
-                }
+                newMove = EncodedMove.Encode(GameConstants.PAWN + colour, square, destination,
+                        determineCapture(board, colour, destination));
 
-                if (destination < 0 || destination >= 64)
-                    continue;
-
-                if ((allPieces & GameConstants.SquareBits[destination]) == 0) {
-
-                    if ((GameConstants.SquareBits[destination] & board.getBitBoard(GameConstants.YELLOW_END_SQUARES + colour)) == 0) {
-                        newMove = new AIMove(GameConstants.PAWN + colour, square, destination);
-                        newMove.setType(GameConstants.NORMAL_MOVE);
-                        newMove.setCaptured(GameConstants.EMPTY_SQUARE);
-                        Moves.add(newMove);
-                    }
-                    // If the above if statement is true then we have a promotion.
-                    else {
-                        newMove = new AIMove(GameConstants.PAWN + colour, square, destination);
-                        SetPromo(board, Moves, newMove, square);
-                        newMove.setType(GameConstants.NORMAL_MOVE);
-                        newMove.setCaptured(GameConstants.EMPTY_SQUARE);
-                        Moves.add(newMove);
-                    }
-                }
+                if ((GameConstants.SquareBits[destination] & endSquares) != 0)
+                    newMove = SetPromo(board, newMove, square);
 
-                switch (colour) {
-                    case 0: {
-                        // First make sure that the pawn has not reached its end file/rank - if so then it
-                        // may not generate any more moves!
-                        if ((square % 8) != 7) {
-                            if (square < 8) {
-                                destination = square + 9;
-                                SetCapture(board, Moves, colour, square, destination);
-                            } else if (square >= 56) {
-                                destination = square - 7;
-                                SetCapture(board, Moves, colour, square, destination);
-                            } else {
-                                destination = square + 9;
-                                SetCapture(board, Moves, colour, square, destination);
-                                destination = square - 7;
-                                SetCapture(board, Moves, colour, square, destination);
-                            }
-                        }
-                    }
-                    break;
-                    case 2: {
-                        if ((square % 8) != 0) {
-                            if (square < 8) {
-                                destination = square + 7;
-                                SetCapture(board, Moves, colour, square, destination);
-                            } else if (square >= 56) {
-                                destination = square - 9;
-                                SetCapture(board, Moves, colour, square, destination);
-                            } else {
-                                destination = square + 7;
-                                SetCapture(board, Moves, colour, square, destination);
-                                destination = square - 9;
-                                SetCapture(board, Moves, colour, square, destination);
-                            }
-                        }
-                    }
-                    break;
-                    case 1: {
-                        if ((square / 8) != 7) {
-                            if ((square % 8) == 0) {
-                                destination = square + 9;
-                                SetCapture(board, Moves, colour, square, destination);
-                            } else if ((square % 8) == 7) {
-                                destination = square + 7;
-                                SetCapture(board, Moves, colour, square, destination);
-                            } else {
-                                destination = square + 9;
-                                SetCapture(board, Moves, colour, square, destination);
-                                destination = square + 7;
-                                SetCapture(board, Moves, colour, square, destination);
-                            }
-                        }
-                    }
-                    break;
-                    case 3: {
-                        if ((square / 8) != 0) {
-                            if ((square % 8) == 0) {
-                                destination = square - 7;
-                                SetCapture(board, Moves, colour, square, destination);
-                            } else if ((square % 8) == 7) {
-                                destination = square - 9;
-                                SetCapture(board, Moves, colour, square, destination);
-                            } else {
-                                destination = square - 7;
-                                SetCapture(board, Moves, colour, square, destination);
-                                destination = square - 9;
-                                SetCapture(board, Moves, colour, square, destination);
-                            }
-                        }
-                    }
-                    break;
-                }
+                moves[count++] = newMove;
             }
         }
+        return count;
     }
 
-    private void SetPromo(AIBoard board, ArrayList<AIMove> Moves, AIMove newMove, int square) {
+    private int SetPromo(AIBoard board, int newMove, int square) {
         if ((GameConstants.SquareBits[square] & board.getBitBoard(GameConstants.KNIGHT_PAWNS)) != 0) {
-            newMove.setPromotion(GameConstants.KNIGHT);
+            return EncodedMove.WithPromotion(newMove, GameConstants.KNIGHT);
         } else if ((GameConstants.SquareBits[square] & board.getBitBoard(GameConstants.BOAT_PAWNS)) != 0) {
-            newMove.setPromotion(GameConstants.BOAT);
+            return EncodedMove.WithPromotion(newMove, GameConstants.BOAT);
         } else if ((GameConstants.SquareBits[square] & board.getBitBoard(GameConstants.ELEPHANT_PAWNS)) != 0) {
-            newMove.setPromotion(GameConstants.ELEPHANT);
+            return EncodedMove.WithPromotion(newMove, GameConstants.ELEPHANT);
         } else {
-            newMove.setPromotion(GameConstants.KING);
-        }
-    }
-
-    private void SetCapture(AIBoard board, ArrayList<AIMove> Moves, int colour, int source, int destination) {
-        AIMove newMove;
-        int opp_colour;
-
-        for (int i = 1; i < 4; i++) {
-            if ((board.getBitBoard(GameConstants.ALL_PIECES + ((colour + i) % 4)) &
-                    GameConstants.SquareBits[destination]) != 0) {
-
-                newMove = new AIMove(GameConstants.PAWN + colour, source, destination);
-                newMove.setType(GameConstants.CAPTURE);
-                opp_colour = (colour + i) % 4;
-
-                if ((GameConstants.SquareBits[destination] & board.getBitBoard(GameConstants.YELLOW_END_SQUARES + colour)) != 0)
-                    SetPromo(board, Moves, newMove, source);
-
-                newMove.setCaptured(board.findPieceColour(destination, opp_colour));
-                Moves.add(newMove);
-                return;
-            }
+            return EncodedMove.WithPromotion(newMove, GameConstants.KING);
         }
     }
-}
\ No newline at end of file
+}
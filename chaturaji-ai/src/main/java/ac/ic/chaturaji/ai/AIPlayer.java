@@ -29,7 +29,7 @@ abstract public class AIPlayer {
         colour = col;
     }
 
-    int getPoints() {
+    public int getPoints() {
         return points;
     }
 
@@ -37,34 +37,45 @@ abstract public class AIPlayer {
 
     protected void setPoints(AIBoard theBoard, AIMove theMove) {
         if (theMove != null) {
-            switch (theMove.getCaptured() / 4) {
-                case GameConstants.PAWN / 4:
-                    points++;
-                    break;
-                case GameConstants.BOAT / 4:
-                    points += 2;
-                    break;
-                case GameConstants.KNIGHT / 4:
-                    points += 3;
-                    break;
-                case GameConstants.ELEPHANT / 4:
-                    points += 4;
-                    break;
-                case GameConstants.KING / 4:
-                    int kingColour = theBoard.FindColourPieceInSquare(theMove.getDestination());
-                    if (checkKingsCaptured(kingColour) && theBoard.getBitBoard(GameConstants.KING + colour) != 0) {
-                        points += 54;
-                    } else {
-                        points += 5;
-                    }
-                    break;
-                default:
-                    break;
-            }
-            if (theMove.getTriumph()) {
-                points += 6;
+            boolean thirdKing = false;
+
+            if (theMove.getCaptured() / 4 == GameConstants.KING / 4) {
+                int kingColour = theBoard.FindColourPieceInSquare(theMove.getDestination());
+                thirdKing = checkKingsCaptured(kingColour) && theBoard.getBitBoard(GameConstants.KING + colour) != 0;
             }
+            points += CapturePoints(theMove.getCaptured(), theMove.getTriumph(), thirdKing);
+        }
+    }
+
+    // Points scored by a move capturing the given piece (e.g. GameConstants.RED_BOAT, or EMPTY_SQUARE for
+    // none), and making a boat triumph if triumph is set. A king is worth 54 if it is the third that the
+    // colour has captured while keeping its own.
+    static int CapturePoints(int captured, boolean triumph, boolean thirdKing) {
+        int points = 0;
+
+        switch (captured / 4) {
+            case GameConstants.PAWN / 4:
+                points++;
+                break;
+            case GameConstants.BOAT / 4:
+                points += 2;
+                break;
+            case GameConstants.KNIGHT / 4:
+                points += 3;
+                break;
+            case GameConstants.ELEPHANT / 4:
+                points += 4;
+                break;
+            case GameConstants.KING / 4:
+                points += thirdKing ? 54 : 5;
+                break;
+            default:
+                break;
         }
+        if (triumph) {
+            points += 6;
+        }
+        return points;
     }
 
     protected boolean checkKingsCaptured(int kingColour) {
@@ -1,91 +1,378 @@
 package ac.ic.chaturaji.ai;
 
 import java.util.ArrayList;
-
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author dg3213
  */
-public class AlphaBeta {
-    int MINVAL = -1000000;
-    int MAXVAL = 1000000;
+public class AlphaBeta implements SearchEngine {
+    // Bounds of every score, in centipawns. The transposition table keeps scores in 16 bits, which no
+    // evaluation comes close to filling.
+    public static final int MINVAL = -30000;
+    public static final int MAXVAL = 30000;
+
+    // Half the width of the aspiration window around the score of the previous iteration. It doubles
+    // each time the score falls outside it.
+    static final int ASPIRATION_WINDOW = 50;
+
+    // Most quiescence nodes searched below a single leaf, after which the leaf is scored as it stands.
+    static final int QUIESCENCE_NODE_CAP = 2000;
+
+    // Margin, in centipawns, by which a capture must be able to lift the score to the window
+    // for the quiescence search to try it.
+    static final int DELTA_MARGIN = 200;
 
-    AIMoveGenerator validMoves;
     Evaluation evalFunction;
     TranspositionTable TransTable;
+    AIMoveGenerator MoveGenerator;
     int GameTimer;
     int NodesSearched;
 
+    // Move stack, move ordering and table probe of the thread running this search.
+    SearchContext Context;
+    boolean OrderMoves = true;
+    boolean PrincipalVariation = true;
+
+    // Whether leaves are resolved by a quiescence search, and the nodes it has searched below the current leaf.
+    boolean Quiescence = true;
+    boolean QuiescencePruning = true;
+    int QuiescenceNodes;
+
+    // Set to abandon the search in progress. Scores returned after this is set are meaningless
+    // and are neither stored in the transposition table nor used to pick a move.
+    volatile boolean Stop;
+
+    // System.nanoTime() after which the search stops itself, or 0 for no time limit, and likewise
+    // the number of nodes. Both are only set once the search has a move to fall back on.
+    long Deadline;
+    int NodeLimit;
+
+    // Depth reached by the last completed iteration, the nodes each completed iteration searched and
+    // the number of times an iteration had to be searched again with a wider window.
+    int DepthReached;
+    int IterationNodes[] = new int[GameConstants.MAX_PLY + 1];
+    int Researches;
+
     public AlphaBeta() {
-        validMoves = new AIMoveGenerator();
-        evalFunction = new Evaluation();
-        TransTable = new TranspositionTable();
+        this(new TranspositionTable(), new EvaluationCache());
+    }
+
+    public AlphaBeta(TranspositionTable transTable) {
+        this(transTable, new EvaluationCache());
+    }
+
+    // Several searches may share one transposition table and evaluation cache, e.g. the helper threads of a parallel search.
+    public AlphaBeta(TranspositionTable transTable, EvaluationCache evalCache) {
+        evalFunction = new Evaluation(evalCache);
+        MoveGenerator = new AIMoveGenerator();
+        TransTable = transTable;
+        Context = new SearchContext();
         GameTimer = 0;
         NodesSearched = 0;
     }
 
-    // Search to find the best move for the given colour to the given depth:
-    public AIMove Search(AIBoard board, int colour, int depth) {
-        ArrayList<AIMove> possMoves = new ArrayList<>();
+    @Override
+    public long getTableBytes() {
+        long bytes = TransTable.Bytes() + evalFunction.PawnTable.Bytes();
 
-        // First generate the moves for the current player.
-        validMoves.generateMoves(board, possMoves, colour);
+        return (evalFunction.Cache == null) ? bytes : bytes + evalFunction.Cache.Bytes();
+    }
+
+    public int getNodesSearched() {
+        return NodesSearched;
+    }
 
-        double alpha = MINVAL;
-        double beta = MAXVAL;
-        double record = MINVAL;
-        double score;
+    public int getDepthReached() {
+        return DepthReached;
+    }
+
+    // Nodes searched by the iteration to the given depth, including any re-searches, or 0 if it was
+    // not completed by the last search.
+    public int getIterationNodes(int depth) {
+        return (depth <= DepthReached && depth < IterationNodes.length) ? IterationNodes[depth] : 0;
+    }
+
+    public int getResearches() {
+        return Researches;
+    }
+
+    public EvaluationCache getEvaluationCache() {
+        return evalFunction.Cache;
+    }
+
+    // Move ordering is on by default; turning it off is only useful to measure what it saves.
+    public void setMoveOrdering(boolean orderMoves) {
+        OrderMoves = orderMoves;
+    }
+
+    // The quiescence search is on by default; without it leaves are scored as they stand.
+    public void setQuiescence(boolean quiescence) {
+        Quiescence = quiescence;
+    }
+
+    // Delta and static exchange pruning of the quiescence search are on by default; turning them off, so that
+    // every capture is searched, is only useful to check the quiescence search against a plain one.
+    public void setQuiescencePruning(boolean quiescencePruning) {
+        QuiescencePruning = quiescencePruning;
+    }
+
+    // Principal variation search is on by default; without it every move is searched with the full window.
+    public void setPrincipalVariation(boolean principalVariation) {
+        PrincipalVariation = principalVariation;
+    }
+
+    // Search within the limits for the move of the board's current player. The search is single-threaded.
+    @Override
+    public SearchResult Search(AIBoard board, SearchLimits limits) {
+        long start = System.currentTimeMillis();
+        AIMove move = Search(board, board.getCurrentPlayer(), limits.getDepth(), limits.getMoveTime(), limits.getNodes());
+
+        return Result(board, move, start);
+    }
 
-        AIMove bestMove = null;
+    // Search to find the best move for the given colour to the given depth:
+    public AIMove Search(AIBoard board, int colour, int depth) {
+        return Search(board, colour, depth, 0, 0);
+    }
 
+    // Search to find the best move for the given colour, deepening iteratively up to the given depth.
+    // Each iteration after the first searches a window of ASPIRATION_WINDOW either side of the score of
+    // the one before, and searches again with the window widened on whichever side the score fell.
+    // Once an iteration is complete the search also stops after moveTime milliseconds or nodeLimit
+    // nodes, if they are positive, and returns the move of the last iteration it completed.
+    public AIMove Search(AIBoard board, int colour, int depth, long moveTime, int nodeLimit) {
         // Use the GameTimer to determine how far through the game we are. This allows us to put a time stamp
         // on the entries within the transposition table.
         GameTimer++;
+        NodesSearched = 0;
+        Researches = 0;
+        DepthReached = 0;
+        Stop = false;
+        Deadline = 0;
+        NodeLimit = 0;
+        Context.Reset();
+
+        long startTime = System.nanoTime();
 
-        // Use the iterative deepening method combined with aspiration windows for better move ordering:
-        for (int iteration = depth; iteration <= depth; iteration++) {
-            for (AIMove listMove : possMoves) {
-                AIBoard newBoard = board.clone();
-                newBoard.ApplyMove(listMove);
+        // First generate the moves for the current player.
+        int start = GenerateMoves(board, colour, colour);
+        int end = Context.MoveCount;
 
-                // Maximise the corresponding value returned
-                score = alphaBeta(newBoard, iteration - 1, alpha, beta, (colour + 1) % 4, colour);
+        int bestMove = EncodedMove.NONE;
+        int bestScore = 0;
 
-                // If score is outside the given window then we must call the next alphaBeta with the
-                // original values. Otherwise we may close the window for added efficiency:
-                if (score <= alpha || score >= beta) {
-                    alpha = MINVAL;
-                    beta = MAXVAL;
-                } else {
-                    alpha = score - 10;
-                    beta = score + 10;
-                }
+        if (OrderMoves)
+            Context.Ordering.OrderMoves(board, Context.Moves, start, end, TransTable.FindBestMove(board), Context.Ply);
 
-                if (score > record) {
-                    record = score;
-                    bestMove = listMove;
-                    bestMove.setScore(score);
+        for (int iteration = 1; iteration <= depth && start < end; iteration++) {
+            int nodes = NodesSearched;
+            int window = ASPIRATION_WINDOW;
+            int alpha = MINVAL;
+            int beta = MAXVAL;
+            int score;
+
+            if (iteration > 1) {
+                alpha = Math.max(MINVAL, bestScore - window);
+                beta = Math.min(MAXVAL, bestScore + window);
+            }
+
+            while (true) {
+                score = SearchRoot(board, colour, iteration, alpha, beta, start, end);
+
+                if (Stop)
+                    break;
+
+                // The search fails soft, so the score is a bound on the true value to re-search around.
+                if (score <= alpha && alpha > MINVAL)
+                    alpha = Math.max(MINVAL, score - window);
+                else if (score >= beta && beta < MAXVAL)
+                    beta = Math.min(MAXVAL, score + window);
+                else
+                    break;
+
+                window *= 2;
+                Researches++;
+            }
+
+            // An iteration cut short by Stop has not looked at every move.
+            if (Stop)
+                break;
+
+            // SearchRoot leaves the best move at the front of the list, to be searched first next time.
+            bestMove = Context.Moves[start];
+            bestScore = score;
+            DepthReached = iteration;
+
+            if (iteration < IterationNodes.length)
+                IterationNodes[iteration] = NodesSearched - nodes;
+
+            if (nodeLimit > 0) {
+                if (NodesSearched >= nodeLimit)
+                    break;
+                NodeLimit = nodeLimit;
+            }
+
+            if (moveTime > 0) {
+                // The next iteration takes several times longer than this one, so there is no point
+                // in starting it once half of the time has gone.
+                if (System.nanoTime() - startTime > TimeUnit.MILLISECONDS.toNanos(moveTime) / 2)
+                    break;
+                Deadline = startTime + TimeUnit.MILLISECONDS.toNanos(moveTime);
+            }
+        }
+        Context.Release(start);
+
+        if (bestMove == EncodedMove.NONE)
+            return null;
+
+        AIMove move = EncodedMove.ToAIMove(bestMove);
+        move.setScore(bestScore);
+        return move;
+    }
+
+    // Search the root moves in Context.Moves[start] to [end - 1] and return the best score, failing soft.
+    // The first move is searched with the full window and the rest with a null window, as in alphaBeta.
+    // The best move is moved to the front of the list, keeping the others in order behind it.
+    private int SearchRoot(AIBoard board, int colour, int depth, int alpha, int beta, int start, int end) {
+        int best = MINVAL;
+        int bestIndex = start;
+
+        for (int i = start; i < end; i++) {
+            int listMove = Context.Moves[i];
+            int score;
+
+            board.makeMove(listMove);
+            Context.Ply++;
+
+            if (i == start || !PrincipalVariation) {
+                score = alphaBeta(board, depth - 1, alpha, beta, NextColour(colour, colour), colour);
+            } else {
+                score = alphaBeta(board, depth - 1, alpha, alpha + 1, NextColour(colour, colour), colour);
+                if (score > alpha && score < beta && !Stop)
+                    score = alphaBeta(board, depth - 1, alpha, beta, NextColour(colour, colour), colour);
+            }
+            Context.Ply--;
+            board.unmakeMove();
+
+            if (Stop)
+                return 0;
+
+            if (score > best) {
+                best = score;
+                bestIndex = i;
+            }
+            if (best >= beta)
+                break;
+            alpha = Math.max(alpha, best);
+        }
+
+        int bestMove = Context.Moves[bestIndex];
+        System.arraycopy(Context.Moves, start, Context.Moves, start + 1, bestIndex - start);
+        Context.Moves[start] = bestMove;
+
+        return best;
+    }
+
+    // Push the moves to be searched at a node where the given colour is to move, returning the index of the
+    // first one as Context.GenerateMoves does. Paranoid search tries the moves of that colour alone.
+    int GenerateMoves(AIBoard board, int colour, int maximisingPlayer) {
+        return Context.GenerateMoves(board, colour);
+    }
+
+    // As GenerateMoves, but only the captures, for the quiescence search.
+    int GenerateCaptures(AIBoard board, int colour, int maximisingPlayer) {
+        return Context.GenerateCaptures(board, colour);
+    }
+
+    // The colour to move below a node where the given colour is to move, in the main and the quiescence
+    // search. Paranoid search takes turns in order.
+    int NextColour(int colour, int maximisingPlayer) {
+        return (colour + 1) % 4;
+    }
+
+    @Override
+    public void Cancel() {
+        Stop = true;
+    }
+
+    // Stop the search once the time or node limit set for it has run out.
+    void CheckLimits() {
+        if ((Deadline != 0 && System.nanoTime() > Deadline) || (NodeLimit != 0 && NodesSearched >= NodeLimit))
+            Stop = true;
+    }
+
+    // The result of a search that started at the given System.currentTimeMillis() and found the move.
+    SearchResult Result(AIBoard board, AIMove move, long start) {
+        List<AIMove> principalVariation = new ArrayList<>();
+        int score = 0;
+
+        if (move != null) {
+            score = move.getScore();
+            principalVariation = PrincipalVariation(board, move, DepthReached);
+        }
+        return new SearchResult(move, score, principalVariation, DepthReached, getNodesSearched(),
+                System.currentTimeMillis() - start);
+    }
+
+    // The line starting with the given move that the search expects, followed through the best moves
+    // kept in the transposition table for up to the given number of plies.
+    List<AIMove> PrincipalVariation(AIBoard board, AIMove first, int depth) {
+        List<AIMove> line = new ArrayList<>();
+        int[] moves = new int[GameConstants.MAX_MOVES];
+        int move = EncodedMove.FromAIMove(first);
+
+        while (move != EncodedMove.NONE && line.size() < depth) {
+            line.add(EncodedMove.ToAIMove(move));
+            board.makeMove(move);
+
+            int packedMove = TransTable.FindBestMove(board);
+            move = EncodedMove.NONE;
+
+            if (packedMove != 0) {
+                // A colour without moves is passed over, so the move may belong to any colour: take the
+                // colour of the piece on its source square.
+                int source = TranspositionTable.PackedSource(packedMove);
+                int colour = board.FindColourPieceInSquare(source);
+                int count = (colour < 0) ? 0 : MoveGenerator.generateMoves(board, moves, 0, colour);
+
+                for (int i = 0; i < count; i++) {
+                    if (TranspositionTable.PackMove(moves[i]) == packedMove) {
+                        move = moves[i];
+                        break;
+                    }
                 }
             }
         }
-        return bestMove;
+
+        for (int i = 0; i < line.size(); i++) {
+            board.unmakeMove();
+        }
+        return line;
     }
 
-    public double alphaBeta(AIBoard board, int depth, double alpha, double beta, int colour, int maximisingPlayer) {
+    public int alphaBeta(AIBoard board, int depth, int alpha, int beta, int colour, int maximisingPlayer) {
 
-        AIMove testMove = new AIMove();
         NodesSearched++;
-        double score;
+        int score;
+
+        // Checking the clock every node would be wasteful, so only look every 1024 nodes.
+        if ((NodesSearched & 1023) == 0)
+            CheckLimits();
+
+        if (Stop)
+            return 0;
 
         // Check if there is anything suitable within the transposition table first
-        if (TransTable.FindBoard(board, testMove) && testMove.getDepth() >= depth) {
+        if (TransTable.FindBoard(board, Context) && Context.EntryDepth >= depth) {
             // We have found a move for the current board position. Must now check whether it is relevant
             // (i.e. if it has been resolved to a greater depth than we are currently at and what sort of bound
             // has been placed on its evaluation. Note that we can only use certain bounds depending on whether we are
             // maximising or minimising).
 
-            int evalType = testMove.getEvaluationType();
-            double evaluation = testMove.getScore();
+            int evalType = Context.EntryFlag;
+            int evaluation = Context.EntryScore;
 
             if (evalType == GameConstants.EXACT_VALUE) {
                 return evaluation;
@@ -93,158 +380,235 @@ public class AlphaBeta {
 
             if (evalType == GameConstants.UPPER_BOUND) {
                 if (evaluation <= alpha) {
-                    return alpha;
+                    return evaluation;
                 }
             } else if (evalType == GameConstants.LOWER_BOUND) {
                 if (evaluation >= beta) {
-                    return beta;
+                    return evaluation;
                 }
             }
         }
 
-        if (depth == 0 || board.isGameOver() == 0) {
-            //score = QuiescenceSearch(board, alpha, beta, colour, maximisingPlayer);
-
+        if (board.isGameOver() == 0) {
             score = evalFunction.EvaluateScore(maximisingPlayer, board);
+            TransTable.SaveBoard(board, score, GameConstants.EXACT_VALUE, depth, GameTimer);
+            return score;
+        }
 
-            if (score <= alpha) // We have a lower bound
-                TransTable.SaveBoard(board, score, GameConstants.LOWER_BOUND, depth, GameTimer);
-            else if (score >= beta) // Upper bound
+        if (depth == 0) {
+            if (!Quiescence) {
+                score = evalFunction.EvaluateScore(maximisingPlayer, board);
+                TransTable.SaveBoard(board, score, GameConstants.EXACT_VALUE, depth, GameTimer);
+                return score;
+            }
+
+            QuiescenceNodes = 0;
+            score = QuiescenceSearch(board, alpha, beta, colour, maximisingPlayer);
+
+            if (Stop)
+                return 0;
+
+            if (score <= alpha) // Failed low: the score is at most alpha
                 TransTable.SaveBoard(board, score, GameConstants.UPPER_BOUND, depth, GameTimer);
+            else if (score >= beta) // Failed high: the score is at least beta
+                TransTable.SaveBoard(board, score, GameConstants.LOWER_BOUND, depth, GameTimer);
             else // An exact value: alpha < score < beta
                 TransTable.SaveBoard(board, score, GameConstants.EXACT_VALUE, depth, GameTimer);
 
             return score;
         }
 
+        int start = GenerateMoves(board, colour, maximisingPlayer);
+        int end = Context.MoveCount;
 
-        ArrayList<AIMove> possMoves = new ArrayList<>();
-        validMoves.generateMoves(board, possMoves, colour);
-
-        if (possMoves.size() == 0) {
+        if (start == end) {
             // The current player may have lost all its pieces or none of its pieces may move (i.e. pawns blocked).
             // In this case, the player can be ignored, and will return whatever board is optimal for the next
             // depth.
-            return alphaBeta(board, depth - 1, alpha, beta, (colour + 1) % 4, maximisingPlayer);
+            Context.Release(start);
+            return alphaBeta(board, depth - 1, alpha, beta, NextColour(colour, maximisingPlayer), maximisingPlayer);
         }
 
-        for (AIMove listMove : possMoves) {
-            AIBoard newBoard = board.clone();
-            newBoard.ApplyMove(listMove);
-            score = alphaBeta(newBoard, depth - 1, alpha, beta, (colour + 1) % 4, maximisingPlayer);
+        if (OrderMoves)
+            Context.Ordering.OrderMoves(board, Context.Moves, start, end, TransTable.FindBestMove(board), Context.Ply);
+
+        // The search fails soft: the best score found is returned even when it lies outside the window,
+        // so that a null window search tells MTD(f) as much as it can about where the value lies.
+        //
+        // Moves after the first are searched with a null window (principal variation search), which only
+        // shows whether they beat the best move so far. The few that do are searched again with the full
+        // window to find out by how much.
+        boolean maximising = colour == maximisingPlayer;
+        int originalAlpha = alpha;
+        int originalBeta = beta;
+        int best = maximising ? MINVAL : MAXVAL;
+        int bestMove = EncodedMove.NONE;
+
+        for (int i = start; i < end; i++) {
+            int listMove = Context.Moves[i];
+
+            board.makeMove(listMove);
+            Context.Ply++;
+
+            if (i == start || !PrincipalVariation) {
+                score = alphaBeta(board, depth - 1, alpha, beta, NextColour(colour, maximisingPlayer), maximisingPlayer);
+            } else if (maximising) {
+                score = alphaBeta(board, depth - 1, alpha, alpha + 1, NextColour(colour, maximisingPlayer), maximisingPlayer);
+                if (score > alpha && score < beta && !Stop)
+                    score = alphaBeta(board, depth - 1, alpha, beta, NextColour(colour, maximisingPlayer), maximisingPlayer);
+            } else {
+                score = alphaBeta(board, depth - 1, beta - 1, beta, NextColour(colour, maximisingPlayer), maximisingPlayer);
+                if (score < beta && score > alpha && !Stop)
+                    score = alphaBeta(board, depth - 1, alpha, beta, NextColour(colour, maximisingPlayer), maximisingPlayer);
+            }
+            Context.Ply--;
+            board.unmakeMove();
 
-            if (colour == maximisingPlayer) {
-                alpha = Math.max(alpha, score);
-                if (beta <= score) {
-                    TransTable.SaveBoard(board, beta, GameConstants.LOWER_BOUND, depth, GameTimer);
-                    return beta;
+            if (Stop) {
+                Context.Release(start);
+                return 0;
+            }
+
+            if (maximising) {
+                if (score > best) {
+                    best = score;
+                    bestMove = listMove;
                 }
-                // Otherwise we may have a score between alpha and beta - save this as en exact value.
-                if (score > alpha) {
-                    TransTable.SaveBoard(board, score, GameConstants.EXACT_VALUE, depth, GameTimer);
+                if (best >= beta) {
+                    Context.Ordering.Cutoff(listMove, depth, Context.Ply);
+                    TransTable.SaveBoard(board, best, GameConstants.LOWER_BOUND, depth, GameTimer, listMove);
+                    Context.Release(start);
+                    return best;
                 }
+                alpha = Math.max(alpha, best);
             } else {
-                beta = Math.min(beta, score);
-                if (score <= alpha) {
-                    TransTable.SaveBoard(board, alpha, GameConstants.UPPER_BOUND, depth, GameTimer);
-                    return alpha;
+                if (score < best) {
+                    best = score;
+                    bestMove = listMove;
                 }
-                if (score < beta) {
-                    TransTable.SaveBoard(board, score, GameConstants.EXACT_VALUE, depth, GameTimer);
+                if (best <= alpha) {
+                    Context.Ordering.Cutoff(listMove, depth, Context.Ply);
+                    TransTable.SaveBoard(board, best, GameConstants.UPPER_BOUND, depth, GameTimer, listMove);
+                    Context.Release(start);
+                    return best;
                 }
+                beta = Math.min(beta, best);
             }
         }
-        if (colour == maximisingPlayer)
-            return alpha;
+        Context.Release(start);
+
+        // No cutoff: the score is exact unless every move failed to reach the window.
+        if (maximising && best <= originalAlpha)
+            TransTable.SaveBoard(board, best, GameConstants.UPPER_BOUND, depth, GameTimer, bestMove);
+        else if (!maximising && best >= originalBeta)
+            TransTable.SaveBoard(board, best, GameConstants.LOWER_BOUND, depth, GameTimer, bestMove);
         else
-            return beta;
-    }
-}
+            TransTable.SaveBoard(board, best, GameConstants.EXACT_VALUE, depth, GameTimer, bestMove);
 
+        return best;
+    }
 
-    /*
-    private double QuiescenceSearch(Board_AI board, double alpha, double beta ,int colour, int maximisingPlayer) {
-        Move_AI testMove = new Move_AI();
+    // Search only the captures below a leaf, so that it is not scored in the middle of an exchange. The
+    // side to move may always decline to capture ("stand pat"), so the static score bounds the result:
+    // the maximising colour can do no worse, and each opponent no better from the maximising colour's
+    // point of view. Captures that could not bring the score back to the window even by winning the
+    // piece outright are skipped (delta pruning), as are those that lose the exchange on their square
+    // for the side making them, judged from the maximising colour against the rest. Past
+    // QUIESCENCE_NODE_CAP nodes every position is scored as it stands.
+    private int QuiescenceSearch(AIBoard board, int alpha, int beta, int colour, int maximisingPlayer) {
         NodesSearched++;
-        double score;
+        QuiescenceNodes++;
 
-        // Check if there is anything suitable within the transposition table first.
-        if (TransTable.FindBoard(board, testMove) && testMove.getDepth() >= 0) {
-            int evalType = testMove.getEvaluationType();
-            double evaluation = testMove.getScore();
+        if ((NodesSearched & 1023) == 0)
+            CheckLimits();
 
-            switch (evalType) {
-                case GameConstants.EXACT_VALUE:
-                    return evaluation;
-                case GameConstants.UPPER_BOUND:
-                    if (evaluation < beta)
-                        beta = evaluation;
-                    break;
-                case GameConstants.LOWER_BOUND:
-                    if (alpha < evaluation)
-                        alpha = evaluation;
-                    break;
-            }
-            if (alpha >= beta)
-                return evaluation;
-        }
+        if (Stop)
+            return 0;
 
-        double record = evalFunction.EvaluateScore(maximisingPlayer, board);
+        int standPat = evalFunction.EvaluateScore(maximisingPlayer, board);
+        boolean maximising = colour == maximisingPlayer;
 
-        if (colour == maximisingPlayer) {
-            if(record >= beta)
-                return beta;
-            if(alpha < record)
-                alpha = record;
-        }
-        else {
-            if(record <= alpha)
-                return alpha;
-            if(record < beta)
-                beta = record;
+        // Fails soft, as alphaBeta does, starting from the stand pat score.
+        int best = standPat;
+
+        if (maximising) {
+            if (best >= beta)
+                return best;
+            alpha = Math.max(alpha, best);
+        } else {
+            if (best <= alpha)
+                return best;
+            beta = Math.min(beta, best);
         }
 
-        ArrayList<Move_AI> possMoves = new ArrayList<>();
-        validMoves.GenerateMoves(board, possMoves, colour);
+        if (QuiescenceNodes >= QUIESCENCE_NODE_CAP || board.isGameOver() == 0)
+            return best;
+
+        int start = GenerateCaptures(board, colour, maximisingPlayer);
+        int end = Context.MoveCount;
 
-        for (Move_AI listMove: possMoves) {
-            // Only look at captures from here!
-            if (listMove.getType() != GameConstants.CAPTURE)
-                continue;
+        if (OrderMoves)
+            Context.Ordering.OrderCaptures(board, Context.Moves, Context.Balances, start, end, maximisingPlayer, Context.Ply);
 
-            Board_AI newBoard = board.clone();
-            newBoard.ApplyMove(listMove);
-            score = QuiescenceSearch(newBoard, alpha, beta, (colour + 1) % 4, maximisingPlayer);
+        for (int i = start; i < end; i++) {
+            int listMove = Context.Moves[i];
 
-            if (colour == maximisingPlayer) {
-                alpha = Math.max(alpha, score);
-                if (beta <= score) {
-                    TransTable.SaveBoard(board, beta, GameConstants.LOWER_BOUND, 0, GameTimer);
-                    return beta;
+            // Triumphs and promotions win more than the piece captured, so they are never pruned.
+            if (QuiescencePruning && !EncodedMove.IsTriumph(listMove) && EncodedMove.PromoType(listMove) < 0) {
+                int captured = EncodedMove.Captured(listMove);
+
+                if (maximising) {
+                    if (standPat + Evaluation.MaterialWeight(captured) + DELTA_MARGIN <= alpha)
+                        continue;
+                } else {
+                    // Only taking a piece of the maximising colour can lower its score.
+                    int gain = (captured % 4 == maximisingPlayer) ? Evaluation.MaterialWeight(captured) : 0;
+                    if (standPat - gain - DELTA_MARGIN >= beta)
+                        continue;
                 }
-                // Otherwise we have a score between alpha and beta - save this as en exact value.
-                if (score > alpha) {
-                    TransTable.SaveBoard(board, score, GameConstants.EXACT_VALUE, 0, GameTimer);
+
+                // Ordering the captures has already evaluated their exchanges.
+                int balance;
+                if (OrderMoves) {
+                    balance = Context.Balances[i];
+                } else {
+                    Context.Ordering.Exchange.Evaluate(board, listMove);
+                    balance = Context.Ordering.Exchange.Balance(maximisingPlayer);
                 }
-                return alpha;
+
+                if (maximising ? balance < 0 : balance > 0)
+                    continue;
+            }
+
+            board.makeMove(listMove);
+            Context.Ply++;
+            int score = QuiescenceSearch(board, alpha, beta, NextColour(colour, maximisingPlayer), maximisingPlayer);
+            Context.Ply--;
+            board.unmakeMove();
+
+            if (Stop) {
+                Context.Release(start);
+                return 0;
             }
-            else {
-                beta = Math.min(beta, score);
-                if (score <= alpha) {
-                    TransTable.SaveBoard(board, alpha, GameConstants.UPPER_BOUND, 0, GameTimer);
-                    return alpha;
+
+            if (maximising) {
+                best = Math.max(best, score);
+                if (best >= beta) {
+                    Context.Release(start);
+                    return best;
                 }
-                if (score < beta) {
-                    TransTable.SaveBoard(board, score, GameConstants.EXACT_VALUE, 0, GameTimer);
+                alpha = Math.max(alpha, best);
+            } else {
+                best = Math.min(best, score);
+                if (best <= alpha) {
+                    Context.Release(start);
+                    return best;
                 }
-                return beta;
+                beta = Math.min(beta, best);
             }
         }
-        if (colour == maximisingPlayer)
-            return alpha;
-        else
-            return beta;
-        }
-    }
-*/
+        Context.Release(start);
 
+        return best;
+    }
+}
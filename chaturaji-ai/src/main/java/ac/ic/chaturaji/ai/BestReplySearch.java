@@ -0,0 +1,65 @@
+package ac.ic.chaturaji.ai;
+
+/**
+ * Best-Reply Search (Schadd and Winands, 2011). Paranoid search lets each of the three opponents move
+ * in turn between two moves of the searching colour, so that it sees only one of its own moves in
+ * every four plies. Best-Reply Search instead lets the opponents reply as one: at each minimising
+ * layer the moves of all three are searched together and only the single best reply among them is
+ * played, after which it is the searching colour's turn again. Half of the layers are then its own,
+ * so the same depth looks twice as far into its own plans, and the two player tree prunes as well
+ * as alpha-beta ever does.
+ *
+ * The positions it reaches may not arise in play, as opponents are skipped, but the moves it plays
+ * are legal ones of the searching colour. The quiescence search at the leaves takes turns in the
+ * same way, the captures of all three opponents making up one layer. Everything else is inherited
+ * from AlphaBeta: iterative deepening with aspiration windows, principal variation search, move
+ * ordering, the limits and the transposition table.
+ *
+ * @author dg3213
+ */
+public class BestReplySearch extends AlphaBeta {
+
+    public BestReplySearch() {
+        super();
+    }
+
+    public BestReplySearch(TranspositionTable transTable) {
+        super(transTable);
+    }
+
+    public BestReplySearch(TranspositionTable transTable, EvaluationCache evalCache) {
+        super(transTable, evalCache);
+    }
+
+    // At a minimising layer the moves of the three opponents, which lie one after another on the stack.
+    @Override
+    int GenerateMoves(AIBoard board, int colour, int maximisingPlayer) {
+        if (colour == maximisingPlayer)
+            return Context.GenerateMoves(board, colour);
+
+        int start = Context.GenerateMoves(board, (maximisingPlayer + 1) % 4);
+        Context.GenerateMoves(board, (maximisingPlayer + 2) % 4);
+        Context.GenerateMoves(board, (maximisingPlayer + 3) % 4);
+
+        return start;
+    }
+
+    // As GenerateMoves, with the captures of the three opponents at a minimising layer.
+    @Override
+    int GenerateCaptures(AIBoard board, int colour, int maximisingPlayer) {
+        if (colour == maximisingPlayer)
+            return Context.GenerateCaptures(board, colour);
+
+        int start = Context.GenerateCaptures(board, (maximisingPlayer + 1) % 4);
+        Context.GenerateCaptures(board, (maximisingPlayer + 2) % 4);
+        Context.GenerateCaptures(board, (maximisingPlayer + 3) % 4);
+
+        return start;
+    }
+
+    // The maximising colour and its opponents take turns; the opponents' layers are marked by the colour after it.
+    @Override
+    int NextColour(int colour, int maximisingPlayer) {
+        return (colour == maximisingPlayer) ? (maximisingPlayer + 1) % 4 : maximisingPlayer;
+    }
+}
@@ -1,5 +1,8 @@
 package ac.ic.chaturaji.ai;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.Set;
 
 /**
@@ -7,6 +10,10 @@ import java.util.Set;
  */
 public class ComputerPlayer extends AIPlayer {
 
+    protected Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private SearchResult result;
+
     ComputerPlayer(int col, int points, Set<Integer> kingsCaptured) {
         super(points, kingsCaptured);
         this.type = GameConstants.HUMAN;
@@ -14,10 +21,31 @@ public class ComputerPlayer extends AIPlayer {
     }
 
     public AIMove GetMove(AIBoard board, int difficulty) {
+        EngineProfile profile = new EngineProfiles().ForLevel(difficulty);
+
+        return GetMove(board, profile.NewEngine(), profile.getLimits());
+    }
+
+    // Search with an engine that may be shared between the moves of a game, so that its
+    // transposition table carries over from the previous turns.
+    public AIMove GetMove(AIBoard board, SearchEngine engine, SearchLimits limits) {
+        return GetMove(board, engine, limits, null);
+    }
+
+    // As above, but playing the result of a search of the board made while pondering, if there is one.
+    public AIMove GetMove(AIBoard board, SearchEngine engine, SearchLimits limits, SearchResult pondered) {
         //Generate all the moves
-        AIMove move;
+        if (pondered != null) {
+            result = pondered;
+        } else {
+            synchronized (engine) {
+                result = engine.Search(board, limits);
+            }
+        }
+        AIMove move = result.getMove();
 
-        move = new MTDF().Search(board, (int) (1.5 * difficulty) - 1);
+        logger.debug(engine.getClass().getSimpleName() + ": " + result + ", principal variation of "
+                + result.getPrincipalVariation().size() + " moves" + ((pondered != null) ? " (pondered)" : ""));
 
         // Set the points if a capture occurred.
         if (move != null) {
@@ -28,4 +56,9 @@ public class ComputerPlayer extends AIPlayer {
         //Return the move
         return move;
     }
+
+    // The result of the last search, or null if there has been none.
+    public SearchResult getResult() {
+        return result;
+    }
 }
\ No newline at end of file
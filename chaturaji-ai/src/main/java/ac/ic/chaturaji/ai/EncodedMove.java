@@ -0,0 +1,100 @@
+package ac.ic.chaturaji.ai;
+
+/**
+ * The search works on moves packed into a single int so that it never has to allocate an AIMove per
+ * generated move. AIMove is only created at the boundary, when a move is handed to or received from
+ * the rest of the game.
+ *
+ * Layout of the bits:
+ *   0-5   source square
+ *   6-11  destination square
+ *   12-16 moving piece (includes colour)
+ *   17-21 captured piece (includes colour), EMPTY_SQUARE if the move is not a capture
+ *   22-24 promotion type divided by 4, 0 if the move is not a promotion
+ *   25    boat triumph
+ *
+ * No real move encodes to 0 (its source and destination would be the same square), so 0 means no move.
+ *
+ * @author dg3213
+ */
+public final class EncodedMove {
+    public static final int NONE = 0;
+
+    private static final int SQUARE_MASK = 0x3F;
+    private static final int PIECE_MASK = 0x1F;
+    private static final int DESTINATION_SHIFT = 6;
+    private static final int PIECE_SHIFT = 12;
+    private static final int CAPTURED_SHIFT = 17;
+    private static final int PROMOTION_SHIFT = 22;
+    private static final int PROMOTION_MASK = 0x7;
+    private static final int TRIUMPH = 1 << 25;
+
+    private EncodedMove() {
+    }
+
+    public static int Encode(int piece, int source, int destination, int captured) {
+        return source | (destination << DESTINATION_SHIFT) | (piece << PIECE_SHIFT) | (captured << CAPTURED_SHIFT);
+    }
+
+    public static int WithPromotion(int move, int promoType) {
+        return move | ((promoType >> 2) << PROMOTION_SHIFT);
+    }
+
+    public static int WithTriumph(int move) {
+        return move | TRIUMPH;
+    }
+
+    public static int Source(int move) {
+        return move & SQUARE_MASK;
+    }
+
+    public static int Destination(int move) {
+        return (move >>> DESTINATION_SHIFT) & SQUARE_MASK;
+    }
+
+    public static int Piece(int move) {
+        return (move >>> PIECE_SHIFT) & PIECE_MASK;
+    }
+
+    public static int Captured(int move) {
+        return (move >>> CAPTURED_SHIFT) & PIECE_MASK;
+    }
+
+    public static boolean IsCapture(int move) {
+        return Captured(move) != GameConstants.EMPTY_SQUARE;
+    }
+
+    // The piece type the pawn promotes to, or -1 if the move is not a promotion.
+    public static int PromoType(int move) {
+        int promotion = (move >>> PROMOTION_SHIFT) & PROMOTION_MASK;
+
+        return (promotion == 0) ? -1 : promotion << 2;
+    }
+
+    public static boolean IsTriumph(int move) {
+        return (move & TRIUMPH) != 0;
+    }
+
+    // Conversion to and from the boundary type.
+
+    public static AIMove ToAIMove(int move) {
+        AIMove aiMove = new AIMove(Piece(move), Source(move), Destination(move));
+
+        aiMove.setType(IsCapture(move) ? GameConstants.CAPTURE : GameConstants.NORMAL_MOVE);
+        aiMove.setCaptured(Captured(move));
+        aiMove.setPromotion(PromoType(move));
+        aiMove.setBoatTriumph(IsTriumph(move));
+        return aiMove;
+    }
+
+    public static int FromAIMove(AIMove aiMove) {
+        int captured = (aiMove.getType() == GameConstants.CAPTURE) ? aiMove.getCaptured() : GameConstants.EMPTY_SQUARE;
+        int move = Encode(aiMove.getPiece(), aiMove.getSource(), aiMove.getDestination(), captured);
+
+        if (aiMove.getPromoType() > 0)
+            move = WithPromotion(move, aiMove.getPromoType());
+        if (aiMove.getTriumph())
+            move = WithTriumph(move);
+        return move;
+    }
+}
@@ -0,0 +1,70 @@
+package ac.ic.chaturaji.ai;
+
+/**
+ * The engine an AI level plays with and the limits it searches within.
+ *
+ * @author dg3213
+ */
+public class EngineProfile {
+
+    public enum Engine {
+        MAXN {
+            @Override
+            SearchEngine Create() {
+                return new MaxN();
+            }
+        },
+        ALPHA_BETA {
+            @Override
+            SearchEngine Create() {
+                return new AlphaBeta();
+            }
+        },
+        MTDF {
+            @Override
+            SearchEngine Create() {
+                return new MTDF();
+            }
+        },
+        BEST_REPLY {
+            @Override
+            SearchEngine Create() {
+                return new BestReplySearch();
+            }
+        },
+        MONTE_CARLO {
+            @Override
+            SearchEngine Create() {
+                return new MonteCarloSearch();
+            }
+        };
+
+        abstract SearchEngine Create();
+    }
+
+    private final Engine engine;
+    private final SearchLimits limits;
+
+    public EngineProfile(Engine engine, SearchLimits limits) {
+        this.engine = engine;
+        this.limits = limits;
+    }
+
+    public Engine getEngine() {
+        return engine;
+    }
+
+    public SearchLimits getLimits() {
+        return limits;
+    }
+
+    // A new engine of the profile's kind, with nothing learnt yet.
+    public SearchEngine NewEngine() {
+        return engine.Create();
+    }
+
+    @Override
+    public String toString() {
+        return engine + " (" + limits + ")";
+    }
+}
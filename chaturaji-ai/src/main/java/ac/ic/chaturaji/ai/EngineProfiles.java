@@ -0,0 +1,69 @@
+package ac.ic.chaturaji.ai;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps each AI level (Game.getAILevel(), from MIN_LEVEL to MAX_LEVEL) to the engine it plays with and
+ * its search limits, so that the cheap levels do not pay for an engine they have no use for:
+ *
+ * - levels 1 and 2 look 1 and 2 plies ahead with MaxN, which only counts material;
+ * - levels 3 to 5 use the iteratively deepened AlphaBeta search;
+ * - levels 6 to 10 use MTDF.
+ *
+ * MaxN and MTDF may search with several threads, see SearchThreads.
+ *
+ * The AlphaBeta and MTDF levels search to a depth of 1.5 * level - 1 within MoveTime(level) and
+ * MAX_NODES nodes. Register replaces the profile of a level.
+ *
+ * @author dg3213
+ */
+public class EngineProfiles {
+    public static final int MIN_LEVEL = 1;
+    public static final int MAX_LEVEL = 10;
+    public static final int MAX_NODES = 250000;
+
+    private final Map<Integer, EngineProfile> profiles = new ConcurrentHashMap<>();
+
+    // Number of threads searching at the given difficulty. Defaults to the single-threaded search and can be
+    // raised per level with the system property chaturaji.ai.threads.<level>, e.g. -Dchaturaji.ai.threads.10=8
+    static int SearchThreads(int difficulty) {
+        return Math.max(1, Integer.getInteger("chaturaji.ai.threads." + difficulty, 1));
+    }
+
+    // Milliseconds the search may think for at the given difficulty, from 0.75s at level 1 to 3s at level 10.
+    // Can be changed per level with the system property chaturaji.ai.movetime.<level>
+    static long MoveTime(int difficulty) {
+        return Long.getLong("chaturaji.ai.movetime." + difficulty, 500 + 250 * difficulty);
+    }
+
+    public EngineProfiles() {
+        for (int level = MIN_LEVEL; level <= MAX_LEVEL; level++) {
+            profiles.put(level, DefaultProfile(level));
+        }
+    }
+
+    // The profile of the given level; levels out of range get the nearest one.
+    public EngineProfile ForLevel(int level) {
+        return profiles.get(Math.max(MIN_LEVEL, Math.min(MAX_LEVEL, level)));
+    }
+
+    public void Register(int level, EngineProfile profile) {
+        if (level < MIN_LEVEL || level > MAX_LEVEL)
+            throw new IllegalArgumentException("No AI level " + level);
+
+        profiles.put(level, profile);
+    }
+
+    private static EngineProfile DefaultProfile(int level) {
+        if (level <= 2)
+            return new EngineProfile(EngineProfile.Engine.MAXN, new SearchLimits(level, 0, 0, SearchThreads(level)));
+
+        SearchLimits limits = new SearchLimits((int) (1.5 * level) - 1, MoveTime(level), MAX_NODES, SearchThreads(level));
+
+        if (level <= 5)
+            return new EngineProfile(EngineProfile.Engine.ALPHA_BETA, limits);
+
+        return new EngineProfile(EngineProfile.Engine.MTDF, limits);
+    }
+}
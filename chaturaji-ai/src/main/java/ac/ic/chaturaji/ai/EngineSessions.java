@@ -0,0 +1,104 @@
+package ac.ic.chaturaji.ai;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalCause;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps one search engine (and so one transposition table, move generator and evaluator) per game,
+ * so that consecutive AI moves in the same game can reuse what was learnt on the previous turns.
+ * Sessions are evicted least recently used first once the tables of the engines kept (see
+ * SearchEngine.getTableBytes, weighed when the session is created) would take more than the maximum
+ * memory, when a game has not asked for a move within the timeout, or when the game is released
+ * because it has finished. The engines of a released game are cancelled, so that no search (e.g. a
+ * ponder) keeps running on them. Evicted engines are not: the game may still be searching with one,
+ * and cancelling that search would cost the AI its move.
+ *
+ * The maximum memory is 256MB by default and can be changed with the system property
+ * chaturaji.ai.sessions.mb, e.g. -Dchaturaji.ai.sessions.mb=1024
+ *
+ * Each AI colour in a game has its own engine: the table scores are stored from the point of view
+ * of the maximising player, so they cannot be shared between the players of a game.
+ *
+ * @author dg3213
+ */
+public class EngineSessions {
+    public static final int SESSION_TIMEOUT_MINUTES = 30;
+
+    private final Cache<String, SearchEngine> sessions;
+
+    // Memory the engines kept may take, in megabytes.
+    static long MaximumMemoryMB() {
+        return Math.max(1, Long.getLong("chaturaji.ai.sessions.mb", 256));
+    }
+
+    public EngineSessions() {
+        this(MaximumMemoryMB() * 1024 * 1024, SESSION_TIMEOUT_MINUTES, TimeUnit.MINUTES);
+    }
+
+    public EngineSessions(long maximumBytes, long timeout, TimeUnit timeUnit) {
+        // Engines are weighed in kilobytes, and at least one so that each counts. A single segment keeps the
+        // bound on the total rather than on each segment's share of it.
+        sessions = CacheBuilder.newBuilder()
+                .concurrencyLevel(1)
+                .maximumWeight(Math.max(1, maximumBytes / 1024))
+                .weigher(new Weigher<String, SearchEngine>() {
+                    @Override
+                    public int weigh(String key, SearchEngine engine) {
+                        return (int) Math.max(1, Math.min(Integer.MAX_VALUE, engine.getTableBytes() / 1024));
+                    }
+                })
+                .expireAfterAccess(timeout, timeUnit)
+                .removalListener(new RemovalListener<String, SearchEngine>() {
+                    @Override
+                    public void onRemoval(RemovalNotification<String, SearchEngine> notification) {
+                        if (notification.getCause() == RemovalCause.EXPLICIT)
+                            notification.getValue().Cancel();
+                    }
+                })
+                .build();
+    }
+
+    // Return the engine for the given game and colour, creating one from the profile if there is none yet.
+    // Games without an id get a fresh engine that is not kept.
+    public SearchEngine getEngine(String gameId, int colour, final EngineProfile profile) {
+        if (gameId == null) {
+            return profile.NewEngine();
+        }
+
+        try {
+            return sessions.get(sessionKey(gameId, colour), new Callable<SearchEngine>() {
+                @Override
+                public SearchEngine call() {
+                    return profile.NewEngine();
+                }
+            });
+        } catch (ExecutionException e) {
+            return profile.NewEngine();
+        }
+    }
+
+    public void release(String gameId) {
+        if (gameId != null) {
+            for (int colour = 0; colour < 4; colour++) {
+                sessions.invalidate(sessionKey(gameId, colour));
+            }
+        }
+    }
+
+    public long size() {
+        sessions.cleanUp();
+        return sessions.size();
+    }
+
+    private String sessionKey(String gameId, int colour) {
+        return gameId + "/" + colour;
+    }
+}
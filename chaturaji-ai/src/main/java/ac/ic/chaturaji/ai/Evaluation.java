@@ -1,82 +1,118 @@
 package ac.ic.chaturaji.ai;
 
-import java.util.ArrayList;
-
 /**
  * @author dg3213
  */
 public class Evaluation {
+    // Scores are in centipawns. Material weight of each piece type, indexed by piece / 4.
+    private static final int MATERIAL_WEIGHTS[] = {100, 400, 400, 700, 1200};
+
+    // Centipawns per unit of each of the other terms.
+    private static final int PAWN_WEIGHT = 50;
+    private static final int POSITION_WEIGHT = 50;
+    private static final int DEFENSE_WEIGHT = 30;
+    private static final int MOBILITY_WEIGHT = 10;
+
     AIMoveGenerator moveGenerator;
 
+    // Scores of positions already evaluated, or null to evaluate every position afresh.
+    EvaluationCache Cache;
+
+    // Pawn structure scores, and the scores of each colour while a new structure is evaluated.
+    final PawnHashTable PawnTable = new PawnHashTable();
+    private final int PawnScores[] = new int[4];
+
     int PawnVal = 6;
     int BoatVal = 4;
     int KnightVal = 4;
     int ElephantVal = 1;
     int KingVal = 1;
 
+    // Whether EvaluateScore includes the defense term.
+    boolean Defense = true;
+
     public Evaluation() {
+        this(null);
+    }
+
+    public Evaluation(EvaluationCache cache) {
         moveGenerator = new AIMoveGenerator();
+        Cache = cache;
     }
 
     // Weigh up the different factors in the evaluation.
     // Material is by the far the most important factor.
-    public double EvaluateScore(int player, AIBoard board) {
-        double score;
+    public int EvaluateScore(int player, AIBoard board) {
+        if (Cache == null)
+            return ComputeScore(player, board);
+
+        int score = Cache.Find(board, player);
+
+        if (score == EvaluationCache.NO_SCORE) {
+            score = ComputeScore(player, board);
+            Cache.Save(board, player, score);
+        }
+        return score;
+    }
+
+    // The defense term is on by default; turning it off is only useful to measure what it costs.
+    public void setDefense(boolean defense) {
+        Defense = defense;
+    }
+
+    private int ComputeScore(int player, AIBoard board) {
+        int score;
 
         score = EvaluateMaterial(player, board);
-        score += 0.5 * EvaluatePawns(player, board);
-        score += 0.5 * EvaluatePosition(player, board);
-        //score += 0.3 * EvaluateDefense(player, board);
-        score += 0.1 * EvaluateMobility(player, board);
+        score += PAWN_WEIGHT * EvaluatePawns(player, board);
+        score += POSITION_WEIGHT * EvaluatePosition(player, board);
+        if (Defense)
+            score += DEFENSE_WEIGHT * EvaluateDefense(player, board);
+        score += MOBILITY_WEIGHT * EvaluateMobility(player, board);
 
         return score;
     }
 
-    private double EvaluateMaterial(int maximisingColour, AIBoard board) {
-        int kingScore = 0;
-        int elephantScore = 0;
-        int knightScore = 0;
-        int boatScore = 0;
-        int pawnScore = 0;
-
-        int kingCount[] = {0, 0, 0, 0};
-        int elephantCount[] = {0, 0, 0, 0};
-        int knightCount[] = {0, 0, 0, 0};
-        int boatCount[] = {0, 0, 0, 0};
-        int pawnCount[] = {0, 0, 0, 0};
-
-        for (int colour = 0; colour < 4; colour++) {
-            if (board.getBitBoard(GameConstants.KING + colour) != 0)
-                kingCount[colour]++;
-            if (board.getBitBoard(GameConstants.ELEPHANT + colour) != 0)
-                elephantCount[colour]++;
-            if (board.getBitBoard(GameConstants.KNIGHT + colour) != 0)
-                knightCount[colour]++;
-            if (board.getBitBoard(GameConstants.BOAT + colour) != 0)
-                boatCount[colour]++;
-
-            if (board.getBitBoard(GameConstants.PAWN + colour) == 0)
-                continue;
-            for (int i = 0; i < 64; i++) {
-                if ((board.getBitBoard(GameConstants.PAWN + colour) & GameConstants.SquareBits[i]) != 0)
-                    pawnCount[colour]++;
-            }
-        }
+    // The board keeps its piece counts up to date as moves are made, so this is a handful of lookups.
+    private int EvaluateMaterial(int maximisingColour, AIBoard board) {
+        int score = MaterialScore(maximisingColour, board);
 
         for (int i = 1; i < 4; i++) {
-            kingScore += kingCount[(maximisingColour + i) % 4];
-            elephantScore += elephantCount[(maximisingColour + i) % 4];
-            knightScore += knightCount[(maximisingColour + i) % 4];
-            boatScore += boatCount[(maximisingColour + i) % 4];
-            pawnScore += pawnCount[(maximisingColour + i) % 4];
+            score -= MaterialScore((maximisingColour + i) % 4, board);
+        }
+        return score;
+    }
+
+    // Every pawn counts, but only whether each of the other pieces is still on the board.
+    private int MaterialScore(int colour, AIBoard board) {
+        int score = MATERIAL_WEIGHTS[0] * board.GetPieceCount(GameConstants.PAWN + colour);
+
+        for (int piece = GameConstants.KNIGHT + colour; piece < GameConstants.ALL_PIECES; piece += 4) {
+            score += MATERIAL_WEIGHTS[piece / 4] * Math.min(1, board.GetPieceCount(piece));
         }
+        return score;
+    }
 
-        return 12 * (kingCount[maximisingColour] - kingScore) + 7 * (elephantCount[maximisingColour] - elephantScore)
-                + 4 * (knightCount[maximisingColour] - knightScore) + 4 * (boatCount[maximisingColour] - boatScore)
-                + (pawnCount[maximisingColour] - pawnScore);
+    // How much losing the given piece costs its colour in EvaluateMaterial.
+    public static int MaterialWeight(int piece) {
+        return MATERIAL_WEIGHTS[piece / 4];
     }
 
-    private double EvaluatePawns(int maximisingColour, AIBoard board) {
+    // Pawn structure only changes when a pawn moves, is captured or promotes, so the scores of all
+    // four colours are kept in the pawn hash table and are usually found there.
+    private int EvaluatePawns(int maximisingColour, AIBoard board) {
+        long entry = PawnTable.Find(board.PawnKey());
+
+        if (entry == 0) {
+            for (int colour = 0; colour < 4; colour++) {
+                PawnScores[colour] = PawnStructure(colour, board);
+            }
+            entry = PawnTable.Save(board.PawnKey(), PawnScores);
+        }
+        return PawnHashTable.Score(entry, maximisingColour);
+    }
+
+    private int PawnStructure(int maximisingColour, AIBoard board) {
         int score = 0;
 
         if (board.getBitBoard(GameConstants.PAWN + maximisingColour) == 0)
@@ -140,7 +176,7 @@ public class Evaluation {
         return false;
     }
 
-    private double EvaluatePosition(int maximisingColour, AIBoard board) {
+    private int EvaluatePosition(int maximisingColour, AIBoard board) {
         int score = 0;
         int count = 0;
 
@@ -165,131 +201,56 @@ public class Evaluation {
         return score;
     }
 
-    private double EvaluateMobility(int maximisingColour, AIBoard board) {
-        ArrayList<AIMove> possMoves = new ArrayList<>();
-
-        int currentMobility;
-        int otherMobility = 0;
-
-        moveGenerator.generateMoves(board, possMoves, maximisingColour);
-        currentMobility = possMoves.size();
+    // The moves of the maximising colour less the moves of each of the others. The moves are only
+    // counted, from the attack bitboards of each piece, and never generated.
+    private int EvaluateMobility(int maximisingColour, AIBoard board) {
+        int mobility = moveGenerator.countMoves(board, maximisingColour);
 
         for (int i = 1; i < 4; i++) {
-            moveGenerator.generateMoves(board, possMoves, (maximisingColour + i) % 4);
-            otherMobility += possMoves.size();
+            mobility -= moveGenerator.countMoves(board, (maximisingColour + i) % 4);
         }
-
-        return currentMobility - otherMobility;
+        return mobility;
     }
 
+    // Reward pieces that are backed up by their own side: each piece scores for every kind of piece
+    // of its colour covering its square, and for every pawn of its colour covering it. The squares each
+    // kind of piece covers are gathered into one attack bitboard, so this is a few ANDs and popcounts.
     private int EvaluateDefense(int colour, AIBoard board) {
-        // Wish to make sure that the pieces are backed up:
-        int score = 0;
-
-        for (int i = 0; i < 64; i++) {
-            if ((board.getBitBoard(GameConstants.ALL_PIECES + colour) & GameConstants.SquareBits[i]) != 0)
-                if (CheckCover(board, i, GameConstants.KING, colour))
-                    score += KingVal;
-            if (CheckCover(board, i, GameConstants.KNIGHT, colour))
-                score += KnightVal;
-            if (CheckCover(board, i, GameConstants.ELEPHANT, colour))
-                score += ElephantVal;
-            if (CheckCover(board, i, GameConstants.BOAT, colour))
-                score += BoatVal;
-            score += PawnVal * PawnCover(board, i, colour);
+        long ownPieces = board.getBitBoard(GameConstants.ALL_PIECES + colour);
+        long allPieces = board.getBitBoard(GameConstants.ALL_YELLOW_PIECES) | board.getBitBoard(GameConstants.ALL_BLUE_PIECES) |
+                board.getBitBoard(GameConstants.ALL_RED_PIECES) | board.getBitBoard(GameConstants.ALL_GREEN_PIECES);
+
+        long kingCover = 0;
+        long knightCover = 0;
+        long boatCover = 0;
+        long elephantCover = 0;
+        int pawnCover = 0;
+
+        for (long pieces = board.getBitBoard(GameConstants.KING + colour); pieces != 0; pieces &= pieces - 1) {
+            kingCover |= PieceMoves.KingAttacks[Long.numberOfTrailingZeros(pieces)];
         }
-        return (score / 10);
-    }
-
-    // Check if a given square is within the attacking/ defending range of a given colour's piece:
-    private boolean CheckCover(AIBoard board, int position, int piece, int colour) {
-        if (board.getBitBoard(piece + colour) == 0)
-            return false;
-
-        for (int i = 0; i < 64; i++) {
-            if ((GameConstants.SquareBits[i] & board.getBitBoard(piece + colour)) != 0) {
-
-                switch (piece) {
-                    case GameConstants.KNIGHT: {
-                        for (int ray = 0; ray < PieceMoves.KnightMoves[i].length; ray++) {
-                            if (PieceMoves.KnightMoves[i][ray] == position)
-                                return true;
-                        }
-                    }
-                    break;
-                    case GameConstants.KING: {
-                        for (int ray = 0; ray < PieceMoves.KingMoves[i].length; ray++) {
-                            if (PieceMoves.KingMoves[i][ray] == position)
-                                return true;
-                        }
-                    }
-                    break;
-                    case GameConstants.BOAT: {
-                        for (int ray = 0; ray < PieceMoves.BoatMoves[i].length; ray++) {
-                            if (PieceMoves.KingMoves[i][ray] == position)
-                                return true;
-                        }
-                    }
-                    break;
-                    case GameConstants.ELEPHANT: {
-                        long allPieces = 0;
-
-                        for (int col = 0; col < 4; col++) {
-                            allPieces |= board.getBitBoard(GameConstants.ALL_PIECES + col);
-                        }
-
-                        for (int direction = 0; direction < PieceMoves.ElephantMoves[i].length; direction++)
-                            for (int ray = 0; ray < PieceMoves.ElephantMoves[i][direction].length; ray++) {
-
-                                int destination = PieceMoves.ElephantMoves[i][direction][ray];
-
-                                if (destination == position)
-                                    return true;
-
-                                if ((allPieces & GameConstants.SquareBits[destination]) != 0)
-                                    break;
-                            }
-                    }
-                    break;
-                }
-            }
+        for (long pieces = board.getBitBoard(GameConstants.KNIGHT + colour); pieces != 0; pieces &= pieces - 1) {
+            knightCover |= PieceMoves.KnightAttacks[Long.numberOfTrailingZeros(pieces)];
+        }
+        for (long pieces = board.getBitBoard(GameConstants.BOAT + colour); pieces != 0; pieces &= pieces - 1) {
+            boatCover |= PieceMoves.BoatAttacks[Long.numberOfTrailingZeros(pieces)];
+        }
+        for (long pieces = board.getBitBoard(GameConstants.ELEPHANT + colour); pieces != 0; pieces &= pieces - 1) {
+            elephantCover |= PieceMoves.ElephantAttacks(Long.numberOfTrailingZeros(pieces), allPieces);
         }
-        return false;
-    }
 
-    private int PawnCover(AIBoard board, int position, int colour) {
-        if (board.getBitBoard(GameConstants.PAWN + colour) == 0)
-            return 0;
+        // Two pawns covering the same piece both count.
+        for (long pieces = board.getBitBoard(GameConstants.PAWN + colour); pieces != 0; pieces &= pieces - 1) {
+            pawnCover += Long.bitCount(PieceMoves.PawnCaptures[colour][Long.numberOfTrailingZeros(pieces)] & ownPieces);
+        }
 
-        int count = 0;
+        int score = KingVal * Long.bitCount(kingCover & ownPieces)
+                + KnightVal * Long.bitCount(knightCover & ownPieces)
+                + BoatVal * Long.bitCount(boatCover & ownPieces)
+                + ElephantVal * Long.bitCount(elephantCover & ownPieces)
+                + PawnVal * pawnCover;
 
-        for (int i = 0; i < 64; i++) {
-            if ((GameConstants.SquareBits[i] & board.getBitBoard(GameConstants.PAWN + colour)) != 0) {
-                switch (colour) {
-                    case 0: {
-                        if ((i + 9) == position || (i - 7) == position)
-                            count++;
-                    }
-                    break;
-                    case 1: {
-                        if ((i + 9) == position || (i + 7) == position)
-                            count++;
-                    }
-                    break;
-                    case 2: {
-                        if ((i - 9) == position || (i + 7) == position)
-                            count++;
-                    }
-                    break;
-                    case 3: {
-                        if ((i - 9) == position || (i - 7) == position)
-                            count++;
-                    }
-                    break;
-                }
-            }
-        }
-        return count;
+        return (score / 10);
     }
 }
 
@@ -0,0 +1,107 @@
+package ac.ic.chaturaji.ai;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * A fixed size cache of leaf evaluations in front of Evaluation.EvaluateScore. It is kept apart from
+ * the transposition table so that the scores of leaves reached again through transpositions survive
+ * the table replacing their entries.
+ *
+ * Each slot takes two longs: the key and the score. A position maps to a single slot
+ * by the low bits of its Zobrist key and a new score always replaces the old one, so the cache loses
+ * entries but never has to search or age them. The key is the Zobrist key mixed with the maximising
+ * colour, since the same position scores differently for each colour.
+ *
+ * As in the transposition table, the key is stored XORed with the score so that several search threads
+ * may share the cache without locking: a slot torn by two writes no longer matches and reads as a miss.
+ * The hit and miss counters are not synchronised either, so a shared cache may miss a few counts.
+ *
+ * @author dg3213
+ */
+public class EvaluationCache {
+    public static final int DEFAULT_SIZE_MB = 4;
+
+    // Returned by Find when the position is not in the cache.
+    public static final int NO_SCORE = Integer.MIN_VALUE;
+
+    private static final int SLOT_LONGS = 2;
+
+    // Mixed into the Zobrist key to tell the maximising colours apart.
+    private static final long ColourKeys[] = new long[4];
+
+    static {
+        Random rnd = new Random(0x5EED);
+
+        for (int colour = 0; colour < 4; colour++) {
+            ColourKeys[colour] = rnd.nextLong();
+        }
+    }
+
+    private final long Cache[];
+    private final int SlotMask;
+
+    private long Hits;
+    private long Misses;
+
+    public EvaluationCache() {
+        this(DEFAULT_SIZE_MB);
+    }
+
+    public EvaluationCache(int sizeMB) {
+        int slots = TranspositionTable.Slots(sizeMB, SLOT_LONGS);
+
+        Cache = new long[slots * SLOT_LONGS];
+        SlotMask = slots - 1;
+    }
+
+    // Number of positions the cache can hold.
+    public int Capacity() {
+        return SlotMask + 1;
+    }
+
+    // The score stored for the board and maximising colour, or NO_SCORE if there is none.
+    public int Find(AIBoard board, int maximisingColour) {
+        long key = board.ZobristKey() ^ ColourKeys[maximisingColour];
+        int slot = ((int) key & SlotMask) * SLOT_LONGS;
+
+        // Read each word once, another thread may be writing the slot at the same time.
+        long score = Cache[slot + 1];
+
+        if ((Cache[slot] ^ score) == key) {
+            Hits++;
+            return (int) score;
+        }
+
+        Misses++;
+        return NO_SCORE;
+    }
+
+    public void Save(AIBoard board, int maximisingColour, int evaluation) {
+        long key = board.ZobristKey() ^ ColourKeys[maximisingColour];
+        int slot = ((int) key & SlotMask) * SLOT_LONGS;
+        long score = evaluation;
+
+        Cache[slot] = key ^ score;
+        Cache[slot + 1] = score;
+    }
+
+    public long Hits() {
+        return Hits;
+    }
+
+    public long Misses() {
+        return Misses;
+    }
+
+    // Memory taken by the table's entries, in bytes.
+    public long Bytes() {
+        return Cache.length * 8L;
+    }
+
+    public void Clear() {
+        Arrays.fill(Cache, 0);
+        Hits = 0;
+        Misses = 0;
+    }
+}
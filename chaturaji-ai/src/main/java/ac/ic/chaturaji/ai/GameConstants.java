@@ -62,6 +62,12 @@ public class GameConstants {
 
     public static final int ALL_BITBOARDS = 32;
 
+    // Initial depth of the make/unmake undo stack in AIBoard
+    public static final int MAX_PLY = 64;
+
+    // More than enough room for the moves of one colour in any position
+    public static final int MAX_MOVES = 128;
+
     //Material value of each piece
     public static final int PAWN_VALUE = 100;
     public static final int KNIGHT_VALUE = 500;
@@ -69,6 +75,9 @@ public class GameConstants {
     public static final int ELEPHANT_VALUE = 800;
     public static final int KING_VALUE = 1300;
 
+    // The values above indexed by piece type, i.e. piece / 4
+    public static final int PieceValues[] = {PAWN_VALUE, KNIGHT_VALUE, BOAT_VALUE, ELEPHANT_VALUE, KING_VALUE};
+
     /*------ MOVE CONSTANTS ------*/
     //Possible kind of moves
     public static final int NORMAL_MOVE = 0;
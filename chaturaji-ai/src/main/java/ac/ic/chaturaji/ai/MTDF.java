@@ -1,45 +1,258 @@
 package ac.ic.chaturaji.ai;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Pseudocode obtained from Aske Plaat's website explaining MTD(f): http://people.csail.mit.edu/plaat/mtdf.html
  *
+ * The search may also run in parallel using "lazy SMP": helper threads search the same root position
+ * at staggered depths and in a rotated root move order, sharing this engine's transposition table.
+ * They return nothing themselves, but the entries they store let the main search cut off sooner.
+ *
  * @author dg3213
  */
 public class MTDF extends AlphaBeta {
+    // Nodes after which the searches that take no node limit start no further iteration. The iteration
+    // under way still runs to its end.
     private static final int MaxSearchSize = 250000;
 
+    protected Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    // Helper searches run on daemon threads shared by all engines; idle threads are discarded after a minute.
+    private static final ExecutorService HelperThreads = Executors.newCachedThreadPool(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "mtdf-helper");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private final List<MTDF> Helpers = new ArrayList<>();
+
+    // Helpers rotate the root move list by this much so that they explore the moves in a different order.
+    private int RootRotation;
+
+    // Score of the move returned by the last call of AlphaBetaWithMemory.
+    private int RootScore;
+
+    // Time allowed for the current search in nanoseconds, and the nodes, 0 if it is only limited by depth.
+    // Past MaxNodes no further iteration is started; if StrictNodes is set the iteration under way is
+    // also stopped there.
+    private long MoveTime;
+    private int MaxNodes;
+    private boolean StrictNodes;
+
+    public MTDF() {
+        super();
+    }
+
+    private MTDF(TranspositionTable transTable, EvaluationCache evalCache) {
+        super(transTable, evalCache);
+    }
+
+    // Total nodes searched by the last search, including those of the helper threads.
+    @Override
+    public int getNodesSearched() {
+        int nodes = NodesSearched;
+
+        for (MTDF helper : Helpers) {
+            nodes += helper.NodesSearched;
+        }
+        return nodes;
+    }
+
+    // The helpers share the transposition table and evaluation cache, but each has its own pawn table.
+    @Override
+    public long getTableBytes() {
+        long bytes = super.getTableBytes();
+
+        for (MTDF helper : Helpers) {
+            bytes += helper.evalFunction.PawnTable.Bytes();
+        }
+        return bytes;
+    }
+
     public AIMove Search(AIBoard board, int maxIterateDepth) {
-        AIMove bestMove = null;
+        return Search(board, maxIterateDepth, 1);
+    }
+
+    public AIMove Search(AIBoard board, int maxIterateDepth, int threads) {
+        return Search(board, maxIterateDepth, threads, 0);
+    }
+
+    // Search with the given number of threads. A single thread runs the plain MTD(f) search.
+    // If moveTime is positive the search deepens iteratively until that many milliseconds have passed
+    // and then returns the best move of the last iteration it completed.
+    public AIMove Search(AIBoard board, int maxIterateDepth, int threads, long moveTime) {
+        return Run(board, maxIterateDepth, threads, moveTime, MaxSearchSize, false);
+    }
+
+    @Override
+    public SearchResult Search(AIBoard board, SearchLimits limits) {
+        long start = System.currentTimeMillis();
+        AIMove move = Run(board, limits.getDepth(), limits.getThreads(), limits.getMoveTime(), limits.getNodes(), true);
+
+        return Result(board, move, start);
+    }
+
+    // As Search, but starting no iteration after the given number of nodes if it is positive, and if
+    // strictNodes is set stopping the search there.
+    private AIMove Run(AIBoard board, int maxIterateDepth, int threads, long moveTime, int maxNodes, boolean strictNodes) {
+        // The engine may be reused between moves, so the node count starts again while GameTimer
+        // ages the older table entries.
+        GameTimer++;
+        NodesSearched = 0;
+        Stop = false;
+        Deadline = 0;
+        NodeLimit = 0;
+        Context.Reset();
+        MoveTime = TimeUnit.MILLISECONDS.toNanos(moveTime);
+        MaxNodes = maxNodes;
+        StrictNodes = strictNodes;
+
+        for (MTDF helper : Helpers) {
+            helper.NodesSearched = 0;
+        }
+
+        if (threads <= 1) {
+            return IterativeSearch(board, maxIterateDepth);
+        }
+
+        List<Future<?>> running = StartHelpers(board, maxIterateDepth, threads - 1);
+        try {
+            return IterativeSearch(board, maxIterateDepth);
+        } finally {
+            StopHelpers(running);
+        }
+    }
+
+    private AIMove IterativeSearch(AIBoard board, int maxIterateDepth) {
+        int bestMove = EncodedMove.NONE;
+        int bestScore = 0;
         int iterateDepth;
-        double firstGuess = 0;
+        int firstGuess = 0;
+        long startTime = System.nanoTime();
+
+        DepthReached = 0;
 
         // Call MTD(f) iteratively, allows a more accurate estimate of the true minimax value
         // to be used by the search function at each depth.
-        GameTimer++;
-        for (iterateDepth = 2; iterateDepth <= maxIterateDepth; iterateDepth++) {
-            bestMove = MTD_f(board, firstGuess, iterateDepth);
+        for (iterateDepth = Math.min(2, maxIterateDepth); iterateDepth <= maxIterateDepth; iterateDepth++) {
+            int nodes = NodesSearched;
+            int move = MTD_f(board, firstGuess, iterateDepth);
 
-            if (bestMove != null)
-                firstGuess = bestMove.getScore();
-
-            if (NodesSearched > MaxSearchSize) {
+            // An iteration cut short by Stop has not looked at every move.
+            if (Stop)
                 break;
+
+            bestMove = move;
+            DepthReached = iterateDepth;
+
+            if (iterateDepth < IterationNodes.length)
+                IterationNodes[iterateDepth] = NodesSearched - nodes;
+
+            if (bestMove != EncodedMove.NONE) {
+                bestScore = RootScore;
+                firstGuess = bestScore;
+            }
+
+            if (MaxNodes > 0) {
+                if (NodesSearched > MaxNodes)
+                    break;
+                if (StrictNodes)
+                    NodeLimit = MaxNodes;
+            }
+
+            if (MoveTime > 0) {
+                long elapsed = System.nanoTime() - startTime;
+
+                // The next iteration takes several times longer than this one, so there is no point
+                // in starting it once half of the time has gone.
+                if (elapsed > MoveTime / 2)
+                    break;
+
+                // Only start the clock once there is a move to fall back on.
+                Deadline = startTime + MoveTime;
+            }
+        }
+
+        if (bestMove == EncodedMove.NONE)
+            return null;
+
+        AIMove move = EncodedMove.ToAIMove(bestMove);
+        move.setScore(bestScore);
+        return move;
+    }
+
+    private List<Future<?>> StartHelpers(AIBoard board, final int maxIterateDepth, int count) {
+        List<Future<?>> running = new ArrayList<>();
+
+        while (Helpers.size() < count) {
+            Helpers.add(new MTDF(TransTable, evalFunction.Cache));
+        }
+
+        for (int i = 0; i < count; i++) {
+            final MTDF helper = Helpers.get(i);
+            final AIBoard helperBoard = board.clone();
+
+            // Every other helper searches one ply deeper than the main thread.
+            final int depthOffset = (i + 1) % 2;
+
+            helper.GameTimer = GameTimer;
+            helper.Stop = false;
+            helper.OrderMoves = OrderMoves;
+            helper.PrincipalVariation = PrincipalVariation;
+            helper.Quiescence = Quiescence;
+            helper.QuiescencePruning = QuiescencePruning;
+            helper.Context.Reset();
+            helper.RootRotation = i + 1;
+
+            running.add(HelperThreads.submit(new Runnable() {
+                @Override
+                public void run() {
+                    helper.IterativeSearch(helperBoard, maxIterateDepth + depthOffset);
+                }
+            }));
+        }
+        return running;
+    }
+
+    private void StopHelpers(List<Future<?>> running) {
+        for (MTDF helper : Helpers) {
+            helper.Stop = true;
+        }
+
+        for (Future<?> future : running) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                logger.error("Helper search failed", e.getCause());
             }
         }
-        return bestMove;
     }
 
-    private AIMove MTD_f(AIBoard board, double guess, int depth) {
+    private int MTD_f(AIBoard board, int guess, int depth) {
 
-        double beta;
-        double estimate = guess;
-        double upperBound = MAXVAL;
-        double lowerBound = MINVAL;
+        int beta;
+        int estimate = guess;
+        int upperBound = MAXVAL;
+        int lowerBound = MINVAL;
 
         int maximisingPlayer = board.getCurrentPlayer();
-        AIMove bestMove;
+        int bestMove;
 
         do {
             if (estimate == lowerBound)
@@ -48,48 +261,79 @@ public class MTDF extends AlphaBeta {
                 beta = estimate;
 
             bestMove = AlphaBetaWithMemory(board, depth, beta - 1, beta, maximisingPlayer, maximisingPlayer);
-            if (bestMove != null)
-                estimate = bestMove.getScore();
+            if (bestMove != EncodedMove.NONE)
+                estimate = RootScore;
 
             if (estimate < beta)
                 upperBound = estimate;
             else
                 lowerBound = estimate;
 
-        } while (lowerBound < upperBound);
+        } while (lowerBound < upperBound && !Stop);
 
         return bestMove;
     }
 
-    private AIMove AlphaBetaWithMemory(AIBoard board, int depth, double alpha, double beta, int colour, int maximisingPlayer) {
-        AIMove bestMove = null;
-        ArrayList<AIMove> possMoves = new ArrayList<>();
-        double record = MINVAL;
-        double score;
+    // Search the root moves and return the best, leaving its score in RootScore.
+    private int AlphaBetaWithMemory(AIBoard board, int depth, int alpha, int beta, int colour, int maximisingPlayer) {
+        int bestMove = EncodedMove.NONE;
+        int record = MINVAL;
+        int score;
+
+        int start = Context.GenerateMoves(board, colour);
+        int end = Context.MoveCount;
 
-        validMoves.generateMoves(board, possMoves, colour);
+        if (OrderMoves)
+            Context.Ordering.OrderMoves(board, Context.Moves, start, end, TransTable.FindBestMove(board), Context.Ply);
 
-        for (AIMove listMove : possMoves) {
-            AIBoard newBoard = board.clone();
-            newBoard.ApplyMove(listMove);
+        if (RootRotation > 0 && end > start)
+            Rotate(Context.Moves, start, end, RootRotation % (end - start));
+
+        for (int i = start; i < end; i++) {
+            int listMove = Context.Moves[i];
+
+            board.makeMove(listMove);
+            Context.Ply++;
+
+            score = alphaBeta(board, depth - 1, alpha, beta, (maximisingPlayer + 1) % 4, maximisingPlayer);
+            Context.Ply--;
+            board.unmakeMove();
+
+            if (Stop)
+                break;
 
-            score = alphaBeta(newBoard, depth - 1, alpha, beta, (maximisingPlayer + 1) % 4, maximisingPlayer);
             alpha = Math.max(alpha, score);
 
             if (score > record) {
                 record = score;
                 bestMove = listMove;
-                bestMove.setScore(score);
+                RootScore = score;
 
                 if (record >= beta) {
-                    TransTable.SaveBoard(board, record, GameConstants.LOWER_BOUND, depth, GameTimer);
-                    return bestMove;
+                    TransTable.SaveBoard(board, record, GameConstants.LOWER_BOUND, depth, GameTimer, listMove);
+                    break;
                 }
                 if (record > alpha) {
-                    TransTable.SaveBoard(board, record, GameConstants.EXACT_VALUE, depth, GameTimer);
+                    TransTable.SaveBoard(board, record, GameConstants.EXACT_VALUE, depth, GameTimer, listMove);
                 }
             }
         }
+        Context.Release(start);
         return bestMove;
     }
+
+    // Rotate moves[start] to moves[end - 1] right by distance places, as Collections.rotate does.
+    private static void Rotate(int[] moves, int start, int end, int distance) {
+        Reverse(moves, start, end - 1);
+        Reverse(moves, start, start + distance - 1);
+        Reverse(moves, start + distance, end - 1);
+    }
+
+    private static void Reverse(int[] moves, int first, int last) {
+        while (first < last) {
+            int move = moves[first];
+            moves[first++] = moves[last];
+            moves[last--] = move;
+        }
+    }
 }
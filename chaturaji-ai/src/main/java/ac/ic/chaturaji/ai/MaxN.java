@@ -1,98 +1,383 @@
 package ac.ic.chaturaji.ai;
 
 import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
+ * Max^n search: each colour picks the move that is best for itself. A position is scored with a vector
+ * holding each colour's share of all the material on the board, in thousandths, so that no score is
+ * negative and the scores of a vector add up to at most MAX_SUM. Vectors are packed into a long as
+ * by ScoreVectorTable, which also keeps the vectors of the positions searched.
+ *
+ * The bounded sum allows two kinds of pruning (Korf, 1991). Immediate pruning stops searching a node
+ * once its colour has found a move worth MAX_SUM to it, which nothing can beat. Shallow pruning stops
+ * searching a node once its colour has a score s such that the colour to move before it can get at
+ * most MAX_SUM - s from it, no more than that colour already has from another move. Unlike alpha-beta
+ * only the bound of the parent can be used, as deeper ancestors may still prefer this line for the
+ * sake of their own scores.
+ *
+ * The root moves after the first may be searched in parallel, each thread taking the next move in turn
+ * and searching it on its own copy of the board, sharing the table and the best score found at the root
+ * so far.
+ *
  * @author dg3213
  */
-public class MaxN {
-    AIMoveGenerator validMoves;
+public class MaxN implements SearchEngine {
+    // Upper bound of the sum of the scores of a vector.
+    static final int MAX_SUM = 1000;
+
+    // Bound that never prunes, for nodes whose parent is not the colour to move before them.
+    private static final int NO_BOUND = MAX_SUM + 1;
+
+    // Returned for a root move that was pruned, and so is no better than one already searched.
+    private static final long PRUNED = -1;
+
+    final ScoreVectorTable Table;
+    int NodesSearched;
+    boolean Pruning = true;
+
+    // Depth of the last search, or 0 if it was stopped before it could finish.
+    int DepthReached;
+
+    // Set to abandon the search in progress, after which the vectors returned are meaningless.
+    volatile boolean Stop;
+
+    // Root moves are shared out with daemon threads shared by all engines; idle threads are discarded after a minute.
+    private static final ExecutorService RootThreads = Executors.newCachedThreadPool(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "maxn-root");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    // Best score of the colour to move at the root found so far by any thread.
+    private final AtomicInteger RootBest = new AtomicInteger();
 
     public MaxN() {
-        validMoves = new AIMoveGenerator();
+        this(new ScoreVectorTable());
+    }
+
+    public MaxN(ScoreVectorTable table) {
+        Table = table;
+    }
+
+    public int getNodesSearched() {
+        return NodesSearched;
+    }
+
+    public int getDepthReached() {
+        return DepthReached;
+    }
+
+    @Override
+    public long getTableBytes() {
+        return Table.Bytes();
+    }
+
+    // Pruning is on by default; turning it off is only useful to measure what it saves.
+    public void setPruning(boolean pruning) {
+        Pruning = pruning;
+    }
+
+    // Search to the depth of the limits, which with the number of threads is all MaxN keeps to.
+    @Override
+    public SearchResult Search(AIBoard board, SearchLimits limits) {
+        long start = System.currentTimeMillis();
+        AIMove move = Search(board, board.getCurrentPlayer(), limits.getDepth(), limits.getThreads());
+        List<AIMove> principalVariation = new ArrayList<>();
+
+        if (move != null)
+            principalVariation = PrincipalVariation(board, move, limits.getDepth());
+
+        return new SearchResult(move, (move == null) ? 0 : move.getScore(), principalVariation, DepthReached,
+                NodesSearched, System.currentTimeMillis() - start);
     }
 
     // Search to find the best move for the given colour to the given depth:
     public AIMove Search(AIBoard board, int colour, int depth) {
-        ArrayList<AIMove> possMoves = new ArrayList<>();
-
-        // First generate the moves for the current player.
-        validMoves.generateMoves(board, possMoves, colour);
-
-        double bestVal = -1000000;
-        AIMove bestMove = null;
-        double[] returnEval = null;
-
-        for (AIMove listMove : possMoves) {
-            AIBoard newBoard = board.clone();
-            newBoard.ApplyMove(listMove);
-            double[] value = MinimaxN(newBoard, depth - 1, (colour + 1) % 4);
-            if (value[colour] > bestVal) {
-                bestVal = value[colour];
-                returnEval = value;
-                bestMove = listMove;
-            } else if (value[colour] == bestVal) {
-                if (sum(value) < sum(returnEval)) {
-                    bestVal = value[colour];
-                    returnEval = value;
-                    bestMove = listMove;
+        return Search(board, colour, depth, 1);
+    }
+
+    // As above, with the root moves shared out between the given number of threads. Returns null if the
+    // search is cancelled before it finishes, as the root moves left unsearched may be better.
+    public AIMove Search(final AIBoard board, final int colour, final int depth, int threads) {
+        NodesSearched = 0;
+        DepthReached = 0;
+        Stop = false;
+        RootBest.set(-1);
+
+        // First generate the moves for the current player, best move of the last search first.
+        Searcher root = new Searcher();
+        int start = root.Context.GenerateMoves(board, colour);
+        int end = root.Context.MoveCount;
+        long entry = Table.Find(board);
+
+        root.Context.Ordering.OrderMoves(board, root.Context.Moves, start, end,
+                ScoreVectorTable.EntryMove(entry), root.Context.Ply);
+
+        final int[] moves = new int[end - start];
+        final long[] vectors = new long[moves.length];
+        System.arraycopy(root.Context.Moves, start, moves, 0, moves.length);
+        root.Context.Release(start);
+
+        if (threads <= 1 || moves.length < 2) {
+            for (int i = 0; i < moves.length && !Stop; i++) {
+                vectors[i] = SearchRootMove(root, board, moves[i], colour, depth);
+            }
+            NodesSearched = root.NodesSearched;
+        } else {
+            // The first move is searched alone, so that the others have a score to be pruned against.
+            vectors[0] = SearchRootMove(root, board, moves[0], colour, depth);
+
+            final AtomicInteger next = new AtomicInteger(1);
+            final Searcher[] searchers = new Searcher[threads];
+            List<Future<?>> running = new ArrayList<>();
+
+            for (int i = 1; i < threads; i++) {
+                final Searcher searcher = searchers[i] = new Searcher();
+
+                running.add(RootThreads.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        SearchRootMoves(searcher, board.clone(), moves, vectors, next, colour, depth);
+                    }
+                }));
+            }
+
+            searchers[0] = root;
+            SearchRootMoves(root, board, moves, vectors, next, colour, depth);
+
+            for (Future<?> future : running) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(e.getCause());
                 }
             }
+
+            for (Searcher searcher : searchers) {
+                NodesSearched += searcher.NodesSearched;
+            }
+        }
+
+        // The vectors of the root moves being searched when the search was stopped are meaningless.
+        if (Stop)
+            return null;
+
+        DepthReached = depth;
+
+        // Of the moves that were not pruned the first with the best score wins, whichever thread finished first.
+        int bestVal = -1;
+        int bestIndex = -1;
+
+        for (int i = 0; i < moves.length; i++) {
+            if (vectors[i] != PRUNED && ScoreVectorTable.Score(vectors[i], colour) > bestVal) {
+                bestVal = ScoreVectorTable.Score(vectors[i], colour);
+                bestIndex = i;
+            }
+        }
+
+        if (bestIndex < 0)
+            return null;
+
+        Table.Save(board, vectors[bestIndex], depth, GameConstants.EXACT_VALUE, moves[bestIndex]);
+
+        AIMove move = EncodedMove.ToAIMove(moves[bestIndex]);
+        move.setScore(bestVal);
+        return move;
+    }
+
+    // Search the root moves from the given index on, taking the next one until none are left.
+    private void SearchRootMoves(Searcher searcher, AIBoard board, int[] moves, long[] vectors, AtomicInteger next,
+                                 int colour, int depth) {
+        for (int i = next.getAndIncrement(); i < moves.length; i = next.getAndIncrement()) {
+            vectors[i] = SearchRootMove(searcher, board, moves[i], colour, depth);
         }
-        return bestMove;
     }
 
-    private double[] MinimaxN(AIBoard board, int depth, int colour) {
+    // Search a root move and return the vector of the position it leads to, or PRUNED if another root
+    // move is already known to be at least as good for the colour to move.
+    private long SearchRootMove(Searcher searcher, AIBoard board, int move, int colour, int depth) {
+        int best = RootBest.get();
+        int bound = (Pruning && best >= 0) ? MAX_SUM - best : NO_BOUND;
 
-        if (depth == 0 || board.isGameOver() == 0)
-            return Evaluate(board.GetMaterialValue());
+        board.makeMove(move);
+        searcher.Context.Ply++;
+        long vector = searcher.MinimaxN(board, depth - 1, (colour + 1) % 4, bound);
+        searcher.Context.Ply--;
+        board.unmakeMove();
 
-        ArrayList<AIMove> possMoves = new ArrayList<>();
-        validMoves.generateMoves(board, possMoves, colour);
+        if (ScoreVectorTable.Score(vector, (colour + 1) % 4) >= bound)
+            return PRUNED;
 
-        if (possMoves.size() == 0) {
-            // The current player may have lost all its pieces or none of its pieces may move (i.e. pawns blocked).
-            // In this case, the player can be ignored, and will return whatever board is optimal for the next
-            // depth.
-            return MinimaxN(board, depth - 1, (colour + 1) % 4);
+        // Raise the best score at the root, unless another thread has raised it higher in the meantime.
+        int score = ScoreVectorTable.Score(vector, colour);
+        while (score > best && !RootBest.compareAndSet(best, score)) {
+            best = RootBest.get();
         }
+        return vector;
+    }
+
+    @Override
+    public void Cancel() {
+        Stop = true;
+    }
+
+    // The line starting with the given move that the search expects, followed through the best moves
+    // kept in the table for up to the given number of plies.
+    List<AIMove> PrincipalVariation(AIBoard board, AIMove first, int depth) {
+        List<AIMove> line = new ArrayList<>();
+        AIMoveGenerator moveGenerator = new AIMoveGenerator();
+        int[] moves = new int[GameConstants.MAX_MOVES];
+        int move = EncodedMove.FromAIMove(first);
+
+        while (move != EncodedMove.NONE && line.size() < depth) {
+            line.add(EncodedMove.ToAIMove(move));
+            board.makeMove(move);
 
-        double bestVal = -1000000;
-        double[] returnEval = null;
-
-        for (AIMove listMove : possMoves) {
-            AIBoard newBoard = board.clone();
-            newBoard.ApplyMove(listMove);
-            double[] value = MinimaxN(newBoard, depth - 1, (colour + 1) % 4);
-            if (value[colour] > bestVal) {
-                bestVal = value[colour];
-                returnEval = value;
-            } else if (value[colour] == bestVal) {
-                if (sum(value) < sum(returnEval)) {
-                    bestVal = value[colour];
-                    returnEval = value;
+            int packedMove = ScoreVectorTable.EntryMove(Table.Find(board));
+            move = EncodedMove.NONE;
+
+            if (packedMove != 0) {
+                // A colour without moves is passed over, so take the colour of the piece on the source square.
+                int colour = board.FindColourPieceInSquare(TranspositionTable.PackedSource(packedMove));
+                int count = (colour < 0) ? 0 : moveGenerator.generateMoves(board, moves, 0, colour);
+
+                for (int i = 0; i < count; i++) {
+                    if (TranspositionTable.PackMove(moves[i]) == packedMove) {
+                        move = moves[i];
+                        break;
+                    }
                 }
             }
         }
-        return returnEval;
+
+        for (int i = 0; i < line.size(); i++) {
+            board.unmakeMove();
+        }
+        return line;
     }
 
-    private double sum(double[] array) {
-        double total = 0;
+    // The vector of the board: each colour's share of all the material, in thousandths.
+    static long Evaluate(AIBoard board) {
+        int total = 0;
 
-        for (double element : array) {
-            total += element;
+        for (int colour = 0; colour < 4; colour++) {
+            total += board.GetMaterialValue(colour);
         }
-        return total;
+
+        long vector = 0;
+
+        for (int colour = 0; colour < 4; colour++) {
+            long share = (total == 0) ? 0 : (long) MAX_SUM * board.GetMaterialValue(colour) / total;
+            vector |= share << (colour * ScoreVectorTable.SCORE_BITS);
+        }
+        return vector;
     }
 
-    private double[] Evaluate(int[] MaterialVal) {
-        double[] evaluated = new double[4];
+    // The move stack, move ordering and node count of one thread of the search.
+    private class Searcher {
+        final SearchContext Context = new SearchContext();
+        int NodesSearched;
+
+        // The vector of the board with the given colour to move. Once the colour's score reaches the
+        // bound the node is pruned: its parent can do no better here than with a move it has already
+        // searched, so the vector returned is only a lower bound on the colour's score.
+        long MinimaxN(AIBoard board, int depth, int colour, int bound) {
+            NodesSearched++;
+
+            if (Stop)
+                return 0;
+
+            if (depth == 0 || board.isGameOver() == 0)
+                return Evaluate(board);
+
+            long entry = Table.Find(board);
+
+            if (entry != 0 && ScoreVectorTable.EntryDepth(entry) >= depth) {
+                long vector = ScoreVectorTable.EntryVector(entry);
+
+                if (ScoreVectorTable.EntryFlag(entry) == GameConstants.EXACT_VALUE
+                        || ScoreVectorTable.Score(vector, colour) >= bound)
+                    return vector;
+            }
+
+            int start = Context.GenerateMoves(board, colour);
+            int end = Context.MoveCount;
+
+            if (start == end) {
+                // The current player may have lost all its pieces or none of its pieces may move (i.e. pawns blocked).
+                // In this case, the player can be ignored, and will return whatever board is optimal for the next
+                // depth.
+                Context.Release(start);
+                return MinimaxN(board, depth - 1, (colour + 1) % 4, NO_BOUND);
+            }
+
+            // Without an alpha-beta window to fall outside of, the order of the moves only matters to the
+            // pruning, so it is enough to try the best move of an earlier search first.
+            int packedMove = ScoreVectorTable.EntryMove(entry);
+
+            for (int i = start; i < end && packedMove != 0; i++) {
+                if (TranspositionTable.PackMove(Context.Moves[i]) == packedMove) {
+                    int move = Context.Moves[i];
+                    Context.Moves[i] = Context.Moves[start];
+                    Context.Moves[start] = move;
+                    break;
+                }
+            }
+
+            long best = 0;
+            int bestVal = -1;
+            int bestMove = EncodedMove.NONE;
+
+            for (int i = start; i < end; i++) {
+                int listMove = Context.Moves[i];
+                int childBound = (Pruning && bestVal >= 0) ? MAX_SUM - bestVal : NO_BOUND;
+
+                board.makeMove(listMove);
+                Context.Ply++;
+                long vector = MinimaxN(board, depth - 1, (colour + 1) % 4, childBound);
+                Context.Ply--;
+                board.unmakeMove();
+
+                if (Stop) {
+                    Context.Release(start);
+                    return 0;
+                }
+
+                int score = ScoreVectorTable.Score(vector, colour);
+                if (score > bestVal) {
+                    best = vector;
+                    bestVal = score;
+                    bestMove = listMove;
+                }
+
+                if (Pruning && bestVal >= bound) {
+                    // Shallow pruning.
+                    Context.Ordering.Cutoff(listMove, depth, Context.Ply);
+                    Table.Save(board, best, depth, GameConstants.LOWER_BOUND, bestMove);
+                    Context.Release(start);
+                    return best;
+                }
+
+                // Immediate pruning: nothing can be worth more to the colour than this.
+                if (Pruning && bestVal >= MAX_SUM)
+                    break;
+            }
+            Context.Release(start);
 
-        for (int i = 0; i < 4; i++) {
-            double[] others = new double[]{(MaterialVal[(i + 1) % 4]), MaterialVal[(i + 2) % 4], MaterialVal[(i + 3) % 4]};
-            evaluated[i] = MaterialVal[i] - (1 / 3) * sum(others);
+            Table.Save(board, best, depth, GameConstants.EXACT_VALUE, bestMove);
+            return best;
         }
-        return evaluated;
     }
 }
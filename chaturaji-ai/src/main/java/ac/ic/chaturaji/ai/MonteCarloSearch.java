@@ -0,0 +1,424 @@
+package ac.ic.chaturaji.ai;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Monte Carlo tree search with UCT. Each playout walks down the tree, at every node taking the child
+ * with the best upper confidence bound for the colour to move there, adds one new node, and plays the
+ * game on from it with AIMoveGenerator and AIBoard.ApplyMove for up to PLAYOUT_MOVES moves. Playout
+ * moves are random, except that most of the time a colour takes the most valuable piece it can. Each
+ * colour's reward is its share of the points scored during the playout, counted as AIPlayer.setPoints
+ * counts them, and of the material left at its end, which says more than the points of a playout too
+ * short to score many. Every node on the path adds up the reward vector, so that each colour judges
+ * the moves by its own rewards, as in MaxN.
+ *
+ * Several threads may grow the same tree (tree parallelism). A node's statistics are changed under
+ * the lock of its parent, and each playout adds a virtual loss to the nodes on its path until it is
+ * scored, so that the other threads spread out to other lines meanwhile.
+ *
+ * The search stops on the time or node limit, counting playouts as nodes, or after DEFAULT_PLAYOUTS
+ * playouts if neither is set. The engine keeps its tree between moves: the next search starts from
+ * the node of the position it is given if the tree reached it, so the playouts already spent on the
+ * opponents' replies are not thrown away.
+ *
+ * @author dg3213
+ */
+public class MonteCarloSearch implements SearchEngine {
+    // Playouts per search when the limits set neither a time nor a node budget.
+    static final int DEFAULT_PLAYOUTS = 20000;
+
+    // Weight of the exploration term of UCT. Rewards lie between 0 and 1.
+    static final double EXPLORATION = 0.7;
+
+    // Visits, each with a reward of 0, that a playout adds to the nodes on its path until it is scored.
+    static final int VIRTUAL_LOSS = 1;
+
+    // Moves a playout plays before it is scored as it stands.
+    static final int PLAYOUT_MOVES = 16;
+
+    // Chance that a playout move takes the most valuable piece it can rather than a random move.
+    static final double CAPTURE_CHANCE = 0.8;
+
+    // Weight of a point scored against the material left on the board, in GameConstants.PieceValues.
+    static final int POINT_VALUE = 100;
+
+    // Plies below the old root searched for the position of the next search.
+    static final int REUSE_PLIES = 8;
+
+    // Rough size of a node with its lists of moves and children, in bytes.
+    private static final int NODE_BYTES = 256;
+
+    // Playouts run on daemon threads shared by all engines; idle threads are discarded after a minute.
+    private static final ExecutorService Workers = Executors.newCachedThreadPool(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "mcts-worker");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+
+    private Node Root;
+    private int ReusedVisits;
+
+    private final AtomicInteger Playouts = new AtomicInteger();
+    private volatile boolean Stop;
+    private long Deadline;
+    private int PlayoutLimit;
+
+    public int getPlayouts() {
+        return Playouts.get();
+    }
+
+    // Each playout adds at most one node, so the visits of the root bound the size of the tree kept.
+    @Override
+    public long getTableBytes() {
+        Node root = Root;
+        return (root == null) ? 0 : (long) root.Visits * NODE_BYTES;
+    }
+
+    // Visits the root of the last search had already been given by the searches before it.
+    public int getReusedVisits() {
+        return ReusedVisits;
+    }
+
+    @Override
+    public SearchResult Search(final AIBoard board, SearchLimits limits) {
+        long start = System.currentTimeMillis();
+
+        Playouts.set(0);
+        Stop = false;
+        Deadline = (limits.getMoveTime() > 0) ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(limits.getMoveTime()) : 0;
+        PlayoutLimit = (limits.getNodes() > 0 || limits.getMoveTime() > 0) ? limits.getNodes() : DEFAULT_PLAYOUTS;
+
+        Root = FindRoot(board);
+        ReusedVisits = Root.Visits;
+
+        List<Future<?>> running = new ArrayList<>();
+        for (int i = 1; i < limits.getThreads(); i++) {
+            running.add(Workers.submit(new Runnable() {
+                @Override
+                public void run() {
+                    new Worker().Run(board);
+                }
+            }));
+        }
+
+        try {
+            new Worker().Run(board);
+        } finally {
+            Stop = true;
+            for (Future<?> future : running) {
+                try {
+                    future.get();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    throw new RuntimeException(e.getCause());
+                }
+            }
+        }
+
+        return Result(start);
+    }
+
+    @Override
+    public void Cancel() {
+        Stop = true;
+    }
+
+    // The node of the board in the tree kept from the last search, or a new tree.
+    private Node FindRoot(AIBoard board) {
+        if (Root != null) {
+            List<Node> layer = new ArrayList<>();
+            layer.add(Root);
+
+            for (int ply = 0; ply <= REUSE_PLIES && !layer.isEmpty(); ply++) {
+                List<Node> next = new ArrayList<>();
+
+                for (Node node : layer) {
+                    synchronized (node) {
+                        if (node.Colour < 0)
+                            continue;
+
+                        if (node.Key == board.ZobristKey() && node.Colour == board.getCurrentPlayer())
+                            return node;
+
+                        next.addAll(node.Children);
+                    }
+                }
+                layer = next;
+            }
+        }
+        return new Node(EncodedMove.NONE);
+    }
+
+    // The most visited move at the root, with its share of the rewards in thousandths as its score,
+    // and the line of most visited moves below it.
+    private SearchResult Result(long start) {
+        List<AIMove> principalVariation = new ArrayList<>();
+        Node node = Root;
+        Node best = null;
+        double score = 0;
+
+        while (node != null && principalVariation.size() < GameConstants.MAX_PLY) {
+            Node next = null;
+
+            synchronized (node) {
+                for (Node child : node.Children) {
+                    if (child.Visits > 0 && (next == null || child.Visits > next.Visits))
+                        next = child;
+                }
+                if (next != null && node == Root)
+                    score = next.Rewards[Root.Colour] / next.Visits;
+            }
+
+            if (next == null)
+                break;
+
+            if (best == null)
+                best = next;
+            principalVariation.add(EncodedMove.ToAIMove(next.Move));
+            node = next;
+        }
+
+        AIMove move = null;
+        if (best != null) {
+            move = principalVariation.get(0);
+            move.setScore((int) (score * 1000));
+        }
+
+        return new SearchResult(move, (move == null) ? 0 : move.getScore(), principalVariation,
+                principalVariation.size(), getPlayouts(), System.currentTimeMillis() - start);
+    }
+
+    private static final class Node {
+        // The move that led here.
+        final int Move;
+
+        // Colour to move and Zobrist key of the position, once the node has been reached; -1 before.
+        int Colour = -1;
+        long Key;
+        boolean Terminal;
+
+        // Moves of the colour to move that have no child yet.
+        int[] Untried;
+        int UntriedCount;
+        final List<Node> Children = new ArrayList<>();
+
+        // Changed under the lock of the parent, or of the node itself for the root.
+        int Visits;
+        final double[] Rewards = new double[4];
+
+        Node(int move) {
+            Move = move;
+        }
+    }
+
+    // The state of one thread growing the tree.
+    private class Worker {
+        final AIMoveGenerator MoveGenerator = new AIMoveGenerator();
+        final int[] Moves = new int[GameConstants.MAX_MOVES];
+        final List<Node> Path = new ArrayList<>();
+        final ThreadLocalRandom Random = ThreadLocalRandom.current();
+
+        // Points scored during the current playout and the kings each colour has captured, as a bit per colour.
+        final int[] Points = new int[4];
+        final int[] KingsCaptured = new int[4];
+        int StaleMateCount;
+
+        void Run(AIBoard board) {
+            while (!Stop) {
+                Playout(board.clone());
+
+                int playouts = Playouts.incrementAndGet();
+                if ((PlayoutLimit > 0 && playouts >= PlayoutLimit) || (Deadline != 0 && System.nanoTime() > Deadline))
+                    Stop = true;
+            }
+        }
+
+        void Playout(AIBoard board) {
+            Arrays.fill(Points, 0);
+            Arrays.fill(KingsCaptured, 0);
+            StaleMateCount = 0;
+            Path.clear();
+
+            Node node = Root;
+
+            synchronized (Root) {
+                Root.Visits += VIRTUAL_LOSS;
+            }
+            Path.add(Root);
+
+            // Walk down the tree to a node that has not been reached before, or the end of the game.
+            while (true) {
+                Node child;
+                boolean added = false;
+
+                synchronized (node) {
+                    Enter(node, board);
+
+                    if (node.Terminal)
+                        break;
+
+                    if (node.UntriedCount > 0) {
+                        int i = Random.nextInt(node.UntriedCount);
+                        child = new Node(node.Untried[i]);
+                        node.Untried[i] = node.Untried[--node.UntriedCount];
+                        node.Children.add(child);
+                        added = true;
+                    } else {
+                        child = Select(node);
+                    }
+                    child.Visits += VIRTUAL_LOSS;
+                }
+
+                Play(board, child.Move);
+                Path.add(child);
+                node = child;
+
+                if (added) {
+                    synchronized (child) {
+                        Enter(child, board);
+                    }
+                    break;
+                }
+            }
+
+            // Then play the game on at random.
+            for (int ply = 0; ply < PLAYOUT_MOVES && board.isGameOver() > 1
+                    && StaleMateCount < AI.NUMBER_OF_MOVES_WITH_NO_PIECE_CAPTURED_FOR_STALEMATE; ply++) {
+                int count = MoveGenerator.generateMoves(board, Moves, 0, board.getCurrentPlayer());
+
+                if (count == 0) {
+                    board.NextPlayer();
+                    continue;
+                }
+                Play(board, ChooseMove(count));
+            }
+
+            Update(board);
+        }
+
+        // Bring the board to the colour to move at the node, which is found, with the node's moves, when
+        // the node is first reached. The colours without moves in between are passed over.
+        void Enter(Node node, AIBoard board) {
+            if (node.Colour >= 0) {
+                while (board.getCurrentPlayer() != node.Colour) {
+                    board.NextPlayer();
+                }
+                return;
+            }
+
+            int count = 0;
+
+            for (int i = 0; i < 4 && board.isGameOver() > 1; i++) {
+                count = MoveGenerator.generateMoves(board, Moves, 0, board.getCurrentPlayer());
+                if (count > 0)
+                    break;
+                board.NextPlayer();
+            }
+
+            node.Untried = Arrays.copyOf(Moves, count);
+            node.UntriedCount = count;
+            node.Terminal = count == 0;
+            node.Key = board.ZobristKey();
+            node.Colour = board.getCurrentPlayer();
+        }
+
+        // The child with the greatest upper confidence bound for the colour to move at the node.
+        Node Select(Node node) {
+            double logVisits = Math.log(Math.max(1, node.Visits));
+            Node best = null;
+            double bestValue = Double.NEGATIVE_INFINITY;
+
+            for (Node child : node.Children) {
+                double value = child.Rewards[node.Colour] / child.Visits
+                        + EXPLORATION * Math.sqrt(logVisits / child.Visits);
+
+                if (value > bestValue) {
+                    best = child;
+                    bestValue = value;
+                }
+            }
+            return best;
+        }
+
+        // The capture of the most valuable piece there is with CAPTURE_CHANCE, and otherwise a random move.
+        int ChooseMove(int count) {
+            if (Random.nextDouble() < CAPTURE_CHANCE) {
+                int best = -1;
+                int bestPoints = 0;
+
+                for (int i = 0; i < count; i++) {
+                    int points = AIPlayer.CapturePoints(EncodedMove.Captured(Moves[i]), EncodedMove.IsTriumph(Moves[i]), false);
+                    if (points > bestPoints) {
+                        best = i;
+                        bestPoints = points;
+                    }
+                }
+                if (best >= 0)
+                    return Moves[best];
+            }
+            return Moves[Random.nextInt(count)];
+        }
+
+        // Make the move, counting the points it scores.
+        void Play(AIBoard board, int move) {
+            int colour = EncodedMove.Piece(move) % 4;
+            int captured = EncodedMove.Captured(move);
+            boolean thirdKing = false;
+
+            if (captured != GameConstants.EMPTY_SQUARE && captured / 4 == GameConstants.KING / 4) {
+                KingsCaptured[colour] |= 1 << (captured % 4);
+                thirdKing = Integer.bitCount(KingsCaptured[colour]) == 3
+                        && board.getBitBoard(GameConstants.KING + colour) != 0;
+            }
+            Points[colour] += AIPlayer.CapturePoints(captured, EncodedMove.IsTriumph(move), thirdKing);
+
+            if (EncodedMove.IsCapture(move) || EncodedMove.IsTriumph(move))
+                StaleMateCount = 0;
+            else
+                StaleMateCount++;
+
+            board.ApplyMove(move);
+        }
+
+        // Add the reward vector of the playout ending on the board to every node on the path, taking off
+        // the virtual loss.
+        void Update(AIBoard board) {
+            double[] reward = new double[4];
+            double total = 0;
+
+            for (int colour = 0; colour < 4; colour++) {
+                reward[colour] = POINT_VALUE * Points[colour] + board.GetMaterialValue(colour);
+                total += reward[colour];
+            }
+            for (int colour = 0; colour < 4; colour++) {
+                reward[colour] = (total == 0) ? 0.25 : reward[colour] / total;
+            }
+
+            for (int i = 0; i < Path.size(); i++) {
+                Node node = Path.get(i);
+                Node lock = (i == 0) ? node : Path.get(i - 1);
+
+                synchronized (lock) {
+                    node.Visits += 1 - VIRTUAL_LOSS;
+                    for (int colour = 0; colour < 4; colour++) {
+                        node.Rewards[colour] += reward[colour];
+                    }
+                }
+            }
+        }
+    }
+}
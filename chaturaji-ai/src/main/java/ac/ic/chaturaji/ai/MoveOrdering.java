@@ -0,0 +1,153 @@
+package ac.ic.chaturaji.ai;
+
+/**
+ * Sorts the moves of a node so that the ones most likely to cause a cutoff are searched first:
+ * the best move stored in the transposition table, then captures that do not lose material by
+ * static exchange evaluation (most valuable victim, least valuable attacker), then the killer moves
+ * that caused a cutoff at the same ply, then the losing captures and finally the quiet moves in
+ * order of their history score.
+ *
+ * @author dg3213
+ */
+public class MoveOrdering {
+    private static final int TT_MOVE_SCORE = 1000000;
+    private static final int CAPTURE_SCORE = 100000;
+    private static final int FIRST_KILLER_SCORE = 90000;
+    private static final int SECOND_KILLER_SCORE = 80000;
+    private static final int LOSING_CAPTURE_SCORE = 70000;
+
+    // History scores are halved once any of them reaches this, keeping them below the killers.
+    private static final int MAX_HISTORY = 60000;
+
+    // Static exchange evaluation of the captures, also used to prune the quiescence search.
+    final StaticExchange Exchange = new StaticExchange();
+
+    // Two killer moves per ply, encoded as by EncodedMove.
+    private final int Killers[][];
+
+    // How often a quiet move of each piece to each square has caused a cutoff, weighted by depth.
+    private final int History[][];
+
+    private int Scores[];
+
+    public MoveOrdering() {
+        Killers = new int[GameConstants.MAX_PLY][2];
+        History = new int[GameConstants.ALL_PIECES][64];
+        Scores = new int[64];
+    }
+
+    // Forget the killers and history of a previous search.
+    public void Clear() {
+        for (int ply = 0; ply < GameConstants.MAX_PLY; ply++) {
+            Killers[ply][0] = 0;
+            Killers[ply][1] = 0;
+        }
+        for (int piece = 0; piece < GameConstants.ALL_PIECES; piece++) {
+            for (int square = 0; square < 64; square++) {
+                History[piece][square] = 0;
+            }
+        }
+    }
+
+    // Sort moves[start] to moves[end - 1]. The ttMove is packed as by TranspositionTable.PackMove.
+    public void OrderMoves(AIBoard board, int[] moves, int start, int end, int ttMove, int ply) {
+        Sort(board, moves, null, 0, start, end, ttMove, ply);
+    }
+
+    // As OrderMoves, for the captures of the quiescence search, which has no TT move. The static exchange
+    // balance of each capture for the given colour (see StaticExchange.Balance) is left in balances at
+    // the index of the move, so that the search need not evaluate the exchange again.
+    public void OrderCaptures(AIBoard board, int[] moves, int[] balances, int start, int end, int colour, int ply) {
+        Sort(board, moves, balances, colour, start, end, 0, ply);
+    }
+
+    private void Sort(AIBoard board, int[] moves, int[] balances, int colour, int start, int end, int ttMove, int ply) {
+        int size = end - start;
+
+        if (Scores.length < size)
+            Scores = new int[size * 2];
+
+        for (int i = 0; i < size; i++) {
+            Scores[i] = ScoreMove(board, moves[start + i], ttMove, ply);
+
+            // ScoreMove has just evaluated the exchange of every capture but the TT move.
+            if (balances != null)
+                balances[start + i] = EncodedMove.IsCapture(moves[start + i]) ? Exchange.Balance(colour) : 0;
+        }
+
+        // Insertion sort: the lists are short and mostly need only a few moves brought forward.
+        for (int i = 1; i < size; i++) {
+            int score = Scores[i];
+            int move = moves[start + i];
+            int balance = (balances != null) ? balances[start + i] : 0;
+            int j = i - 1;
+
+            while (j >= 0 && Scores[j] < score) {
+                Scores[j + 1] = Scores[j];
+                moves[start + j + 1] = moves[start + j];
+                if (balances != null)
+                    balances[start + j + 1] = balances[start + j];
+                j--;
+            }
+            Scores[j + 1] = score;
+            moves[start + j + 1] = move;
+            if (balances != null)
+                balances[start + j + 1] = balance;
+        }
+    }
+
+    // Remember a quiet move that caused a cutoff.
+    public void Cutoff(int move, int depth, int ply) {
+        if (EncodedMove.IsCapture(move))
+            return;
+
+        if (ply < GameConstants.MAX_PLY && Killers[ply][0] != move) {
+            Killers[ply][1] = Killers[ply][0];
+            Killers[ply][0] = move;
+        }
+
+        int movedPiece = EncodedMove.Piece(move);
+        int destination = EncodedMove.Destination(move);
+
+        History[movedPiece][destination] += depth * depth;
+
+        if (History[movedPiece][destination] >= MAX_HISTORY) {
+            for (int piece = 0; piece < GameConstants.ALL_PIECES; piece++) {
+                for (int square = 0; square < 64; square++) {
+                    History[piece][square] /= 2;
+                }
+            }
+        }
+    }
+
+    private int ScoreMove(AIBoard board, int move, int ttMove, int ply) {
+        if (TranspositionTable.PackMove(move) == ttMove)
+            return TT_MOVE_SCORE;
+
+        if (EncodedMove.IsCapture(move)) {
+            int exchange = Exchange.Evaluate(board, move);
+
+            // A capture that loses material is only tried after the killers, the more it loses the later.
+            if (exchange < 0)
+                return LOSING_CAPTURE_SCORE + exchange / 10;
+
+            return CAPTURE_SCORE + 10 * PieceValue(EncodedMove.Captured(move)) - PieceValue(EncodedMove.Piece(move)) / 10;
+        }
+
+        if (ply < GameConstants.MAX_PLY) {
+            if (move == Killers[ply][0])
+                return FIRST_KILLER_SCORE;
+            if (move == Killers[ply][1])
+                return SECOND_KILLER_SCORE;
+        }
+
+        return History[EncodedMove.Piece(move)][EncodedMove.Destination(move)];
+    }
+
+    public static int PieceValue(int piece) {
+        if (piece < 0 || piece >= GameConstants.ALL_PIECES)
+            return 0;
+
+        return GameConstants.PieceValues[piece / 4];
+    }
+}
@@ -0,0 +1,96 @@
+package ac.ic.chaturaji.ai;
+
+import java.util.Arrays;
+
+/**
+ * Pawn structure scores of all four colours, keyed by the board's pawn key. The pawns move far less
+ * often than the other pieces, so most positions reached in a search share their pawn structure with
+ * one already evaluated.
+ *
+ * Each slot takes two longs: the pawn key and an entry packing the score of each colour into 15 bits,
+ * with a valid bit so that an empty slot never matches the key of a board without pawns. A position
+ * maps to a single slot and a new entry always replaces the old one.
+ *
+ * @author dg3213
+ */
+public class PawnHashTable {
+    public static final int DEFAULT_SIZE_MB = 1;
+
+    private static final int SLOT_LONGS = 2;
+
+    // Layout of an entry
+    private static final int SCORE_BITS = 15;
+    private static final int SCORE_MASK = (1 << SCORE_BITS) - 1;
+    private static final int SCORE_OFFSET = 1 << (SCORE_BITS - 1);
+    private static final long VALID = 1L << (4 * SCORE_BITS);
+
+    private final long Table[];
+    private final int SlotMask;
+
+    private long Hits;
+    private long Misses;
+
+    public PawnHashTable() {
+        this(DEFAULT_SIZE_MB);
+    }
+
+    public PawnHashTable(int sizeMB) {
+        int slots = TranspositionTable.Slots(sizeMB, SLOT_LONGS);
+
+        Table = new long[slots * SLOT_LONGS];
+        SlotMask = slots - 1;
+    }
+
+    // The entry stored for the pawn key, or 0 if there is none. Read the scores with Score.
+    public long Find(long pawnKey) {
+        int slot = ((int) pawnKey & SlotMask) * SLOT_LONGS;
+        long entry = Table[slot + 1];
+
+        if (Table[slot] == pawnKey && (entry & VALID) != 0) {
+            Hits++;
+            return entry;
+        }
+
+        Misses++;
+        return 0;
+    }
+
+    // Save the pawn scores of the four colours, indexed by colour, and return the entry.
+    public long Save(long pawnKey, int[] scores) {
+        int slot = ((int) pawnKey & SlotMask) * SLOT_LONGS;
+        long entry = VALID;
+
+        for (int colour = 0; colour < 4; colour++) {
+            int score = Math.max(-SCORE_OFFSET, Math.min(SCORE_OFFSET - 1, scores[colour]));
+            entry |= (long) ((score + SCORE_OFFSET) & SCORE_MASK) << (colour * SCORE_BITS);
+        }
+
+        Table[slot] = pawnKey;
+        Table[slot + 1] = entry;
+        return entry;
+    }
+
+    // The score of the given colour in an entry returned by Find or Save.
+    public static int Score(long entry, int colour) {
+        return ((int) (entry >>> (colour * SCORE_BITS)) & SCORE_MASK) - SCORE_OFFSET;
+    }
+
+    public long Hits() {
+        return Hits;
+    }
+
+    public long Misses() {
+        return Misses;
+    }
+
+    // Memory taken by the table's entries, in bytes.
+    public long Bytes() {
+        return Table.length * 8L;
+    }
+
+    public void Clear() {
+        Arrays.fill(Table, 0);
+        Hits = 0;
+        Misses = 0;
+    }
+}
@@ -0,0 +1,158 @@
+package ac.ic.chaturaji.ai;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Counts the move sequences of a given length from a position, walking the tree with AIMoveGenerator
+ * and AIBoard.makeMove/unmakeMove exactly as the search does. The counts from known positions catch
+ * any change in the moves generated, and the time taken measures the speed of the generator and board.
+ *
+ * A colour without any moves is passed over, as in the search, and the pass counts as a ply.
+ *
+ * Run from the command line with: java ac.ic.chaturaji.ai.Perft [depth] [threads] [divide]
+ *
+ * @author dg3213
+ */
+public class Perft {
+    private final SearchContext Context;
+
+    public Perft() {
+        Context = new SearchContext();
+    }
+
+    // Number of move sequences of the given length from the board, starting with the board's current player.
+    public long perft(AIBoard board, int depth) {
+        Context.Reset();
+        return perft(board, depth, board.getCurrentPlayer());
+    }
+
+    // The perft count below each root move, keyed by its source and destination squares.
+    public Map<String, Long> divide(AIBoard board, int depth) {
+        Map<String, Long> counts = new LinkedHashMap<>();
+        int colour = board.getCurrentPlayer();
+
+        Context.Reset();
+        int start = Context.GenerateMoves(board, colour);
+        int end = Context.MoveCount;
+
+        for (int i = start; i < end; i++) {
+            int move = Context.Moves[i];
+
+            board.makeMove(move);
+            counts.put(MoveName(move), perft(board, depth - 1, (colour + 1) % 4));
+            board.unmakeMove();
+        }
+        Context.Release(start);
+        return counts;
+    }
+
+    // Perft with the root moves shared out between the given number of threads.
+    public static long parallelPerft(AIBoard board, final int depth, int threads) {
+        if (threads <= 1 || depth <= 1)
+            return new Perft().perft(board, depth);
+
+        final int colour = board.getCurrentPlayer();
+        int[] moves = new int[GameConstants.MAX_MOVES];
+        int count = new AIMoveGenerator().generateMoves(board, moves, 0, colour);
+
+        if (count == 0)
+            return new Perft().perft(board, depth);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<Long>> results = new ArrayList<>();
+
+        try {
+            for (int i = 0; i < count; i++) {
+                final AIBoard child = board.clone();
+                child.makeMove(moves[i]);
+
+                results.add(executor.submit(new Callable<Long>() {
+                    @Override
+                    public Long call() {
+                        Perft perft = new Perft();
+                        return perft.perft(child, depth - 1, (colour + 1) % 4);
+                    }
+                }));
+            }
+
+            long nodes = 0;
+            for (Future<Long> result : results) {
+                nodes += result.get();
+            }
+            return nodes;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Perft interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Perft failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private long perft(AIBoard board, int depth, int colour) {
+        if (depth == 0)
+            return 1;
+
+        int start = Context.GenerateMoves(board, colour);
+        int end = Context.MoveCount;
+
+        if (start == end) {
+            Context.Release(start);
+            return perft(board, depth - 1, (colour + 1) % 4);
+        }
+
+        // The moves at the last ply need not be made to be counted.
+        if (depth == 1) {
+            Context.Release(start);
+            return end - start;
+        }
+
+        long nodes = 0;
+
+        for (int i = start; i < end; i++) {
+            board.makeMove(Context.Moves[i]);
+            nodes += perft(board, depth - 1, (colour + 1) % 4);
+            board.unmakeMove();
+        }
+        Context.Release(start);
+        return nodes;
+    }
+
+    private static String MoveName(int move) {
+        return EncodedMove.Source(move) + "-" + EncodedMove.Destination(move);
+    }
+
+    public static void main(String[] args) {
+        int depth = (args.length > 0) ? Integer.parseInt(args[0]) : 5;
+        int threads = (args.length > 1) ? Integer.parseInt(args[1]) : 1;
+        boolean divide = args.length > 2 && args[2].equals("divide");
+
+        AIBoard board = new AIBoard();
+        long start = System.nanoTime();
+        long nodes;
+
+        if (divide) {
+            nodes = 0;
+            for (Map.Entry<String, Long> entry : new Perft().divide(board, depth).entrySet()) {
+                System.out.println(entry.getKey() + ": " + entry.getValue());
+                nodes += entry.getValue();
+            }
+        } else {
+            nodes = parallelPerft(board, depth, threads);
+        }
+
+        long elapsed = Math.max(1, System.nanoTime() - start);
+
+        System.out.println("Perft(" + depth + ") = " + nodes + " in " + elapsed / 1000000 + "ms, "
+                + (nodes * 1000000000L / elapsed) + " nodes/s");
+    }
+}
@@ -1,2437 +1,126 @@
 package ac.ic.chaturaji.ai;
 
 /**
+ * Bitboards of the squares each piece attacks from every square of the board, built once when the
+ * class is loaded. Square n is bit n, with rows of eight squares (the row is n / 8, the column n % 8).
+ *
+ * The king, knight and boat masks do not depend on the other pieces. The elephant slides along its
+ * row and column until it meets a piece, so its attacks are found from the rays in each direction
+ * and the occupied squares. Pawns move differently for each colour and have separate masks for
+ * the forward step and for the diagonal captures.
+ *
  * @author dg3213
  */
 public class PieceMoves {
-    public static int KnightMoves[][];
-    public static int KingMoves[][];
-    public static int BoatMoves[][];
-    public static int ElephantMoves[][][];
+    public static final long KingAttacks[] = new long[64];
+    public static final long KnightAttacks[] = new long[64];
+    public static final long BoatAttacks[] = new long[64];
+
+    // Elephant rays: every square from the given one to the edge of the board, per direction.
+    public static final int NORTH = 0;
+    public static final int SOUTH = 1;
+    public static final int EAST = 2;
+    public static final int WEST = 3;
+    public static final long ElephantRays[][] = new long[4][64];
+
+    // Indexed by colour, then square.
+    public static final long PawnPushes[][] = new long[4][64];
+    public static final long PawnCaptures[][] = new long[4][64];
+
+    // The reverse of PawnCaptures: the squares from which a pawn of the colour attacks the square.
+    public static final long PawnAttackers[][] = new long[4][64];
+
+    // Row and column steps of each piece.
+    private static final int KING_STEPS[][] = {{-1, -1}, {-1, 0}, {-1, 1}, {0, -1}, {0, 1}, {1, -1}, {1, 0}, {1, 1}};
+    private static final int KNIGHT_STEPS[][] = {{-2, -1}, {-2, 1}, {-1, -2}, {-1, 2}, {1, -2}, {1, 2}, {2, -1}, {2, 1}};
+    private static final int BOAT_STEPS[][] = {{-2, -2}, {-2, 2}, {2, -2}, {2, 2}};
+    private static final int ELEPHANT_STEPS[][] = {{1, 0}, {-1, 0}, {0, 1}, {0, -1}};
+
+    // Forward step of each colour's pawns: yellow moves along the rows, blue up the columns,
+    // red back along the rows and green down the columns.
+    private static final int PAWN_STEPS[][] = {{0, 1}, {1, 0}, {0, -1}, {-1, 0}};
 
     static {
-        KnightMoves = new int[64][];
-        KnightMoves[0] = new int[2];
-        KnightMoves[0][0] = 10;
-        KnightMoves[0][1] = 17;
-        KnightMoves[1] = new int[3];
-        KnightMoves[1][0] = 16;
-        KnightMoves[1][1] = 18;
-        KnightMoves[1][2] = 11;
-        KnightMoves[2] = new int[4];
-        KnightMoves[2][0] = 8;
-        KnightMoves[2][1] = 12;
-        KnightMoves[2][2] = 17;
-        KnightMoves[2][3] = 19;
-        KnightMoves[3] = new int[4];
-        KnightMoves[3][0] = 9;
-        KnightMoves[3][1] = 13;
-        KnightMoves[3][2] = 18;
-        KnightMoves[3][3] = 20;
-        KnightMoves[4] = new int[4];
-        KnightMoves[4][0] = 10;
-        KnightMoves[4][1] = 14;
-        KnightMoves[4][2] = 21;
-        KnightMoves[4][3] = 19;
-        KnightMoves[5] = new int[4];
-        KnightMoves[5][0] = 11;
-        KnightMoves[5][1] = 15;
-        KnightMoves[5][2] = 22;
-        KnightMoves[5][3] = 20;
-        KnightMoves[6] = new int[3];
-        KnightMoves[6][0] = 12;
-        KnightMoves[6][1] = 21;
-        KnightMoves[6][2] = 23;
-        KnightMoves[7] = new int[2];
-        KnightMoves[7][0] = 13;
-        KnightMoves[7][1] = 22;
-
-        KnightMoves[8] = new int[3];
-        KnightMoves[8][0] = 2;
-        KnightMoves[8][1] = 18;
-        KnightMoves[8][2] = 25;
-        KnightMoves[9] = new int[4];
-        KnightMoves[9][0] = 3;
-        KnightMoves[9][1] = 19;
-        KnightMoves[9][2] = 24;
-        KnightMoves[9][3] = 26;
-        KnightMoves[10] = new int[6];
-        KnightMoves[10][0] = 0;
-        KnightMoves[10][1] = 4;
-        KnightMoves[10][2] = 20;
-        KnightMoves[10][3] = 27;
-        KnightMoves[10][4] = 25;
-        KnightMoves[10][5] = 16;
-        KnightMoves[11] = new int[6];
-        KnightMoves[11][0] = 1;
-        KnightMoves[11][1] = 5;
-        KnightMoves[11][2] = 21;
-        KnightMoves[11][3] = 28;
-        KnightMoves[11][4] = 26;
-        KnightMoves[11][5] = 17;
-        KnightMoves[12] = new int[6];
-        KnightMoves[12][0] = 2;
-        KnightMoves[12][1] = 6;
-        KnightMoves[12][2] = 22;
-        KnightMoves[12][3] = 29;
-        KnightMoves[12][4] = 27;
-        KnightMoves[12][5] = 18;
-        KnightMoves[13] = new int[6];
-        KnightMoves[13][0] = 3;
-        KnightMoves[13][1] = 7;
-        KnightMoves[13][2] = 23;
-        KnightMoves[13][3] = 30;
-        KnightMoves[13][4] = 28;
-        KnightMoves[13][5] = 19;
-        KnightMoves[14] = new int[4];
-        KnightMoves[14][0] = 31;
-        KnightMoves[14][1] = 29;
-        KnightMoves[14][2] = 20;
-        KnightMoves[14][3] = 4;
-        KnightMoves[15] = new int[3];
-        KnightMoves[15][0] = 5;
-        KnightMoves[15][1] = 21;
-        KnightMoves[15][2] = 30;
-
-        KnightMoves[16] = new int[4];
-        KnightMoves[16][0] = 1;
-        KnightMoves[16][1] = 10;
-        KnightMoves[16][2] = 26;
-        KnightMoves[16][3] = 33;
-        KnightMoves[17] = new int[6];
-        KnightMoves[17][0] = 0;
-        KnightMoves[17][1] = 2;
-        KnightMoves[17][2] = 11;
-        KnightMoves[17][3] = 27;
-        KnightMoves[17][4] = 34;
-        KnightMoves[17][5] = 32;
-        KnightMoves[18] = new int[8];
-        KnightMoves[18][0] = 1;
-        KnightMoves[18][1] = 3;
-        KnightMoves[18][2] = 12;
-        KnightMoves[18][3] = 28;
-        KnightMoves[18][4] = 35;
-        KnightMoves[18][5] = 33;
-        KnightMoves[18][6] = 24;
-        KnightMoves[18][7] = 8;
-        KnightMoves[19] = new int[8];
-        KnightMoves[19][0] = 2;
-        KnightMoves[19][1] = 4;
-        KnightMoves[19][2] = 13;
-        KnightMoves[19][3] = 29;
-        KnightMoves[19][4] = 36;
-        KnightMoves[19][5] = 34;
-        KnightMoves[19][6] = 25;
-        KnightMoves[19][7] = 9;
-        KnightMoves[20] = new int[8];
-        KnightMoves[20][0] = 3;
-        KnightMoves[20][1] = 5;
-        KnightMoves[20][2] = 14;
-        KnightMoves[20][3] = 30;
-        KnightMoves[20][4] = 37;
-        KnightMoves[20][5] = 35;
-        KnightMoves[20][6] = 26;
-        KnightMoves[20][7] = 10;
-        KnightMoves[21] = new int[8];
-        KnightMoves[21][0] = 4;
-        KnightMoves[21][1] = 6;
-        KnightMoves[21][2] = 15;
-        KnightMoves[21][3] = 31;
-        KnightMoves[21][4] = 38;
-        KnightMoves[21][5] = 36;
-        KnightMoves[21][6] = 27;
-        KnightMoves[21][7] = 11;
-        KnightMoves[22] = new int[6];
-        KnightMoves[22][0] = 5;
-        KnightMoves[22][1] = 7;
-        KnightMoves[22][2] = 39;
-        KnightMoves[22][3] = 37;
-        KnightMoves[22][4] = 28;
-        KnightMoves[22][5] = 12;
-        KnightMoves[23] = new int[4];
-        KnightMoves[23][0] = 6;
-        KnightMoves[23][1] = 38;
-        KnightMoves[23][2] = 29;
-        KnightMoves[23][3] = 13;
-
-        KnightMoves[24] = new int[4];
-        KnightMoves[24][0] = 9;
-        KnightMoves[24][1] = 18;
-        KnightMoves[24][2] = 34;
-        KnightMoves[24][3] = 41;
-        KnightMoves[25] = new int[6];
-        KnightMoves[25][0] = 8;
-        KnightMoves[25][1] = 10;
-        KnightMoves[25][2] = 19;
-        KnightMoves[25][3] = 35;
-        KnightMoves[25][4] = 42;
-        KnightMoves[25][5] = 40;
-        KnightMoves[26] = new int[8];
-        KnightMoves[26][0] = 9;
-        KnightMoves[26][1] = 11;
-        KnightMoves[26][2] = 20;
-        KnightMoves[26][3] = 36;
-        KnightMoves[26][4] = 43;
-        KnightMoves[26][5] = 41;
-        KnightMoves[26][6] = 32;
-        KnightMoves[26][7] = 16;
-        KnightMoves[27] = new int[8];
-        KnightMoves[27][0] = 10;
-        KnightMoves[27][1] = 12;
-        KnightMoves[27][2] = 21;
-        KnightMoves[27][3] = 37;
-        KnightMoves[27][4] = 44;
-        KnightMoves[27][5] = 42;
-        KnightMoves[27][6] = 33;
-        KnightMoves[27][7] = 17;
-        KnightMoves[28] = new int[8];
-        KnightMoves[28][0] = 11;
-        KnightMoves[28][1] = 13;
-        KnightMoves[28][2] = 22;
-        KnightMoves[28][3] = 38;
-        KnightMoves[28][4] = 45;
-        KnightMoves[28][5] = 43;
-        KnightMoves[28][6] = 34;
-        KnightMoves[28][7] = 18;
-        KnightMoves[29] = new int[8];
-        KnightMoves[29][0] = 12;
-        KnightMoves[29][1] = 14;
-        KnightMoves[29][2] = 23;
-        KnightMoves[29][3] = 39;
-        KnightMoves[29][4] = 46;
-        KnightMoves[29][5] = 44;
-        KnightMoves[29][6] = 35;
-        KnightMoves[29][7] = 19;
-        KnightMoves[30] = new int[6];
-        KnightMoves[30][0] = 13;
-        KnightMoves[30][1] = 15;
-        KnightMoves[30][2] = 47;
-        KnightMoves[30][3] = 45;
-        KnightMoves[30][4] = 36;
-        KnightMoves[30][5] = 20;
-        KnightMoves[31] = new int[4];
-        KnightMoves[31][0] = 14;
-        KnightMoves[31][1] = 46;
-        KnightMoves[31][2] = 37;
-        KnightMoves[31][3] = 21;
-
-        KnightMoves[32] = new int[4];
-        KnightMoves[32][0] = 17;
-        KnightMoves[32][1] = 26;
-        KnightMoves[32][2] = 42;
-        KnightMoves[32][3] = 49;
-        KnightMoves[33] = new int[6];
-        KnightMoves[33][0] = 16;
-        KnightMoves[33][1] = 18;
-        KnightMoves[33][2] = 27;
-        KnightMoves[33][3] = 43;
-        KnightMoves[33][4] = 50;
-        KnightMoves[33][5] = 48;
-        KnightMoves[34] = new int[8];
-        KnightMoves[34][0] = 17;
-        KnightMoves[34][1] = 19;
-        KnightMoves[34][2] = 28;
-        KnightMoves[34][3] = 44;
-        KnightMoves[34][4] = 51;
-        KnightMoves[34][5] = 49;
-        KnightMoves[34][6] = 40;
-        KnightMoves[34][7] = 24;
-        KnightMoves[35] = new int[8];
-        KnightMoves[35][0] = 18;
-        KnightMoves[35][1] = 20;
-        KnightMoves[35][2] = 29;
-        KnightMoves[35][3] = 45;
-        KnightMoves[35][4] = 52;
-        KnightMoves[35][5] = 50;
-        KnightMoves[35][6] = 41;
-        KnightMoves[35][7] = 25;
-        KnightMoves[36] = new int[8];
-        KnightMoves[36][0] = 19;
-        KnightMoves[36][1] = 21;
-        KnightMoves[36][2] = 30;
-        KnightMoves[36][3] = 46;
-        KnightMoves[36][4] = 53;
-        KnightMoves[36][5] = 51;
-        KnightMoves[36][6] = 42;
-        KnightMoves[36][7] = 26;
-        KnightMoves[37] = new int[8];
-        KnightMoves[37][0] = 20;
-        KnightMoves[37][1] = 22;
-        KnightMoves[37][2] = 31;
-        KnightMoves[37][3] = 47;
-        KnightMoves[37][4] = 54;
-        KnightMoves[37][5] = 52;
-        KnightMoves[37][6] = 43;
-        KnightMoves[37][7] = 27;
-        KnightMoves[38] = new int[6];
-        KnightMoves[38][0] = 21;
-        KnightMoves[38][1] = 23;
-        KnightMoves[38][2] = 55;
-        KnightMoves[38][3] = 53;
-        KnightMoves[38][4] = 44;
-        KnightMoves[38][5] = 28;
-        KnightMoves[39] = new int[4];
-        KnightMoves[39][0] = 22;
-        KnightMoves[39][1] = 54;
-        KnightMoves[39][2] = 45;
-        KnightMoves[39][3] = 29;
-
-        KnightMoves[40] = new int[4];
-        KnightMoves[40][0] = 25;
-        KnightMoves[40][1] = 34;
-        KnightMoves[40][2] = 50;
-        KnightMoves[40][3] = 57;
-        KnightMoves[41] = new int[6];
-        KnightMoves[41][0] = 26;
-        KnightMoves[41][1] = 24;
-        KnightMoves[41][2] = 35;
-        KnightMoves[41][3] = 51;
-        KnightMoves[41][4] = 58;
-        KnightMoves[41][5] = 56;
-        KnightMoves[42] = new int[8];
-        KnightMoves[42][0] = 25;
-        KnightMoves[42][1] = 27;
-        KnightMoves[42][2] = 36;
-        KnightMoves[42][3] = 52;
-        KnightMoves[42][4] = 59;
-        KnightMoves[42][5] = 57;
-        KnightMoves[42][6] = 48;
-        KnightMoves[42][7] = 32;
-        KnightMoves[43] = new int[8];
-        KnightMoves[43][0] = 26;
-        KnightMoves[43][1] = 28;
-        KnightMoves[43][2] = 37;
-        KnightMoves[43][3] = 53;
-        KnightMoves[43][4] = 60;
-        KnightMoves[43][5] = 58;
-        KnightMoves[43][6] = 49;
-        KnightMoves[43][7] = 33;
-        KnightMoves[44] = new int[8];
-        KnightMoves[44][0] = 27;
-        KnightMoves[44][1] = 29;
-        KnightMoves[44][2] = 38;
-        KnightMoves[44][3] = 54;
-        KnightMoves[44][4] = 61;
-        KnightMoves[44][5] = 59;
-        KnightMoves[44][6] = 50;
-        KnightMoves[44][7] = 34;
-        KnightMoves[45] = new int[8];
-        KnightMoves[45][0] = 28;
-        KnightMoves[45][1] = 30;
-        KnightMoves[45][2] = 39;
-        KnightMoves[45][3] = 55;
-        KnightMoves[45][4] = 62;
-        KnightMoves[45][5] = 60;
-        KnightMoves[45][6] = 51;
-        KnightMoves[45][7] = 35;
-        KnightMoves[46] = new int[6];
-        KnightMoves[46][0] = 29;
-        KnightMoves[46][1] = 31;
-        KnightMoves[46][2] = 63;
-        KnightMoves[46][3] = 61;
-        KnightMoves[46][4] = 52;
-        KnightMoves[46][5] = 36;
-        KnightMoves[47] = new int[4];
-        KnightMoves[47][0] = 30;
-        KnightMoves[47][1] = 62;
-        KnightMoves[47][2] = 53;
-        KnightMoves[47][3] = 37;
-
-        KnightMoves[48] = new int[3];
-        KnightMoves[48][0] = 33;
-        KnightMoves[48][1] = 42;
-        KnightMoves[48][2] = 58;
-        KnightMoves[49] = new int[4];
-        KnightMoves[49][0] = 32;
-        KnightMoves[49][1] = 34;
-        KnightMoves[49][2] = 43;
-        KnightMoves[49][3] = 59;
-        KnightMoves[50] = new int[6];
-        KnightMoves[50][0] = 40;
-        KnightMoves[50][1] = 33;
-        KnightMoves[50][2] = 35;
-        KnightMoves[50][3] = 44;
-        KnightMoves[50][4] = 60;
-        KnightMoves[50][5] = 56;
-        KnightMoves[51] = new int[6];
-        KnightMoves[51][0] = 41;
-        KnightMoves[51][1] = 34;
-        KnightMoves[51][2] = 36;
-        KnightMoves[51][3] = 45;
-        KnightMoves[51][4] = 61;
-        KnightMoves[51][5] = 57;
-        KnightMoves[52] = new int[6];
-        KnightMoves[52][0] = 42;
-        KnightMoves[52][1] = 35;
-        KnightMoves[52][2] = 37;
-        KnightMoves[52][3] = 46;
-        KnightMoves[52][4] = 62;
-        KnightMoves[52][5] = 58;
-        KnightMoves[53] = new int[6];
-        KnightMoves[53][0] = 43;
-        KnightMoves[53][1] = 36;
-        KnightMoves[53][2] = 38;
-        KnightMoves[53][3] = 47;
-        KnightMoves[53][4] = 63;
-        KnightMoves[53][5] = 59;
-        KnightMoves[54] = new int[4];
-        KnightMoves[54][0] = 39;
-        KnightMoves[54][1] = 60;
-        KnightMoves[54][2] = 44;
-        KnightMoves[54][3] = 37;
-        KnightMoves[55] = new int[3];
-        KnightMoves[55][0] = 38;
-        KnightMoves[55][1] = 45;
-        KnightMoves[55][2] = 61;
-
-        KnightMoves[56] = new int[2];
-        KnightMoves[56][0] = 41;
-        KnightMoves[56][1] = 50;
-        KnightMoves[57] = new int[3];
-        KnightMoves[57][0] = 40;
-        KnightMoves[57][1] = 42;
-        KnightMoves[57][2] = 51;
-        KnightMoves[58] = new int[4];
-        KnightMoves[58][0] = 48;
-        KnightMoves[58][1] = 41;
-        KnightMoves[58][2] = 43;
-        KnightMoves[58][3] = 52;
-        KnightMoves[59] = new int[4];
-        KnightMoves[59][0] = 49;
-        KnightMoves[59][1] = 42;
-        KnightMoves[59][2] = 44;
-        KnightMoves[59][3] = 53;
-        KnightMoves[60] = new int[4];
-        KnightMoves[60][0] = 50;
-        KnightMoves[60][1] = 43;
-        KnightMoves[60][2] = 45;
-        KnightMoves[60][3] = 54;
-        KnightMoves[61] = new int[4];
-        KnightMoves[61][0] = 51;
-        KnightMoves[61][1] = 44;
-        KnightMoves[61][2] = 46;
-        KnightMoves[61][3] = 55;
-        KnightMoves[62] = new int[3];
-        KnightMoves[62][0] = 52;
-        KnightMoves[62][1] = 45;
-        KnightMoves[62][2] = 47;
-        KnightMoves[63] = new int[2];
-        KnightMoves[63][0] = 53;
-        KnightMoves[63][1] = 46;
-
-        KingMoves = new int[64][];
-        KingMoves[0] = new int[3];
-        KingMoves[0][0] = 1;
-        KingMoves[0][1] = 8;
-        KingMoves[0][2] = 9;
-        KingMoves[1] = new int[5];
-        KingMoves[1][0] = 0;
-        KingMoves[1][1] = 2;
-        KingMoves[1][2] = 8;
-        KingMoves[1][3] = 9;
-        KingMoves[1][4] = 10;
-        KingMoves[2] = new int[5];
-        KingMoves[2][0] = 1;
-        KingMoves[2][1] = 3;
-        KingMoves[2][2] = 9;
-        KingMoves[2][3] = 10;
-        KingMoves[2][4] = 11;
-        KingMoves[3] = new int[5];
-        KingMoves[3][0] = 2;
-        KingMoves[3][1] = 4;
-        KingMoves[3][2] = 10;
-        KingMoves[3][3] = 11;
-        KingMoves[3][4] = 12;
-        KingMoves[4] = new int[5];
-        KingMoves[4][0] = 3;
-        KingMoves[4][1] = 5;
-        KingMoves[4][2] = 11;
-        KingMoves[4][3] = 12;
-        KingMoves[4][4] = 13;
-        KingMoves[5] = new int[5];
-        KingMoves[5][0] = 4;
-        KingMoves[5][1] = 6;
-        KingMoves[5][2] = 12;
-        KingMoves[5][3] = 13;
-        KingMoves[5][4] = 14;
-        KingMoves[6] = new int[5];
-        KingMoves[6][0] = 5;
-        KingMoves[6][1] = 7;
-        KingMoves[6][2] = 13;
-        KingMoves[6][3] = 14;
-        KingMoves[6][4] = 15;
-        KingMoves[7] = new int[3];
-        KingMoves[7][0] = 6;
-        KingMoves[7][1] = 14;
-        KingMoves[7][2] = 15;
-
-        KingMoves[8] = new int[5];
-        KingMoves[8][0] = 0;
-        KingMoves[8][1] = 1;
-        KingMoves[8][2] = 9;
-        KingMoves[8][3] = 17;
-        KingMoves[8][4] = 16;
-        KingMoves[9] = new int[8];
-        KingMoves[9][0] = 0;
-        KingMoves[9][1] = 1;
-        KingMoves[9][2] = 2;
-        KingMoves[9][3] = 8;
-        KingMoves[9][4] = 10;
-        KingMoves[9][5] = 16;
-        KingMoves[9][6] = 17;
-        KingMoves[9][7] = 18;
-        KingMoves[10] = new int[8];
-        KingMoves[10][0] = 1;
-        KingMoves[10][1] = 2;
-        KingMoves[10][2] = 3;
-        KingMoves[10][3] = 9;
-        KingMoves[10][4] = 11;
-        KingMoves[10][5] = 17;
-        KingMoves[10][6] = 18;
-        KingMoves[10][7] = 19;
-        KingMoves[11] = new int[8];
-        KingMoves[11][0] = 2;
-        KingMoves[11][1] = 3;
-        KingMoves[11][2] = 4;
-        KingMoves[11][3] = 10;
-        KingMoves[11][4] = 12;
-        KingMoves[11][5] = 18;
-        KingMoves[11][6] = 19;
-        KingMoves[11][7] = 20;
-        KingMoves[12] = new int[8];
-        KingMoves[12][0] = 3;
-        KingMoves[12][1] = 4;
-        KingMoves[12][2] = 5;
-        KingMoves[12][3] = 11;
-        KingMoves[12][4] = 13;
-        KingMoves[12][5] = 19;
-        KingMoves[12][6] = 20;
-        KingMoves[12][7] = 21;
-        KingMoves[13] = new int[8];
-        KingMoves[13][0] = 4;
-        KingMoves[13][1] = 5;
-        KingMoves[13][2] = 6;
-        KingMoves[13][3] = 12;
-        KingMoves[13][4] = 14;
-        KingMoves[13][5] = 20;
-        KingMoves[13][6] = 21;
-        KingMoves[13][7] = 22;
-        KingMoves[14] = new int[8];
-        KingMoves[14][0] = 5;
-        KingMoves[14][1] = 6;
-        KingMoves[14][2] = 7;
-        KingMoves[14][3] = 13;
-        KingMoves[14][4] = 15;
-        KingMoves[14][5] = 21;
-        KingMoves[14][6] = 22;
-        KingMoves[14][7] = 23;
-        KingMoves[15] = new int[5];
-        KingMoves[15][0] = 6;
-        KingMoves[15][1] = 7;
-        KingMoves[15][2] = 14;
-        KingMoves[15][3] = 22;
-        KingMoves[15][4] = 23;
-
-        KingMoves[16] = new int[5];
-        KingMoves[16][0] = 9;
-        KingMoves[16][1] = 8;
-        KingMoves[16][2] = 17;
-        KingMoves[16][3] = 24;
-        KingMoves[16][4] = 25;
-        KingMoves[17] = new int[8];
-        KingMoves[17][0] = 8;
-        KingMoves[17][1] = 9;
-        KingMoves[17][2] = 10;
-        KingMoves[17][3] = 16;
-        KingMoves[17][4] = 18;
-        KingMoves[17][5] = 24;
-        KingMoves[17][6] = 25;
-        KingMoves[17][7] = 26;
-        KingMoves[18] = new int[8];
-        KingMoves[18][0] = 9;
-        KingMoves[18][1] = 10;
-        KingMoves[18][2] = 11;
-        KingMoves[18][3] = 17;
-        KingMoves[18][4] = 19;
-        KingMoves[18][5] = 25;
-        KingMoves[18][6] = 26;
-        KingMoves[18][7] = 27;
-        KingMoves[19] = new int[8];
-        KingMoves[19][0] = 10;
-        KingMoves[19][1] = 11;
-        KingMoves[19][2] = 12;
-        KingMoves[19][3] = 18;
-        KingMoves[19][4] = 20;
-        KingMoves[19][5] = 26;
-        KingMoves[19][6] = 27;
-        KingMoves[19][7] = 28;
-        KingMoves[20] = new int[8];
-        KingMoves[20][0] = 11;
-        KingMoves[20][1] = 12;
-        KingMoves[20][2] = 13;
-        KingMoves[20][3] = 19;
-        KingMoves[20][4] = 21;
-        KingMoves[20][5] = 27;
-        KingMoves[20][6] = 28;
-        KingMoves[20][7] = 29;
-        KingMoves[21] = new int[8];
-        KingMoves[21][0] = 12;
-        KingMoves[21][1] = 13;
-        KingMoves[21][2] = 14;
-        KingMoves[21][3] = 20;
-        KingMoves[21][4] = 22;
-        KingMoves[21][5] = 28;
-        KingMoves[21][6] = 29;
-        KingMoves[21][7] = 30;
-        KingMoves[22] = new int[8];
-        KingMoves[22][0] = 13;
-        KingMoves[22][1] = 14;
-        KingMoves[22][2] = 15;
-        KingMoves[22][3] = 21;
-        KingMoves[22][4] = 23;
-        KingMoves[22][5] = 29;
-        KingMoves[22][6] = 30;
-        KingMoves[22][7] = 31;
-        KingMoves[23] = new int[5];
-        KingMoves[23][0] = 14;
-        KingMoves[23][1] = 15;
-        KingMoves[23][2] = 22;
-        KingMoves[23][3] = 30;
-        KingMoves[23][4] = 31;
-
-        KingMoves[24] = new int[5];
-        KingMoves[24][0] = 16;
-        KingMoves[24][1] = 17;
-        KingMoves[24][2] = 25;
-        KingMoves[24][3] = 32;
-        KingMoves[24][4] = 33;
-        KingMoves[25] = new int[8];
-        KingMoves[25][0] = 16;
-        KingMoves[25][1] = 17;
-        KingMoves[25][2] = 18;
-        KingMoves[25][3] = 24;
-        KingMoves[25][4] = 26;
-        KingMoves[25][5] = 32;
-        KingMoves[25][6] = 33;
-        KingMoves[25][7] = 34;
-        KingMoves[26] = new int[8];
-        KingMoves[26][0] = 17;
-        KingMoves[26][1] = 18;
-        KingMoves[26][2] = 19;
-        KingMoves[26][3] = 25;
-        KingMoves[26][4] = 27;
-        KingMoves[26][5] = 33;
-        KingMoves[26][6] = 34;
-        KingMoves[26][7] = 35;
-        KingMoves[27] = new int[8];
-        KingMoves[27][0] = 18;
-        KingMoves[27][1] = 19;
-        KingMoves[27][2] = 20;
-        KingMoves[27][3] = 26;
-        KingMoves[27][4] = 28;
-        KingMoves[27][5] = 34;
-        KingMoves[27][6] = 35;
-        KingMoves[27][7] = 36;
-        KingMoves[28] = new int[8];
-        KingMoves[28][0] = 19;
-        KingMoves[28][1] = 20;
-        KingMoves[28][2] = 21;
-        KingMoves[28][3] = 27;
-        KingMoves[28][4] = 29;
-        KingMoves[28][5] = 35;
-        KingMoves[28][6] = 36;
-        KingMoves[28][7] = 37;
-        KingMoves[29] = new int[8];
-        KingMoves[29][0] = 20;
-        KingMoves[29][1] = 21;
-        KingMoves[29][2] = 22;
-        KingMoves[29][3] = 28;
-        KingMoves[29][4] = 30;
-        KingMoves[29][5] = 36;
-        KingMoves[29][6] = 37;
-        KingMoves[29][7] = 38;
-        KingMoves[30] = new int[8];
-        KingMoves[30][0] = 21;
-        KingMoves[30][1] = 22;
-        KingMoves[30][2] = 23;
-        KingMoves[30][3] = 29;
-        KingMoves[30][4] = 31;
-        KingMoves[30][5] = 37;
-        KingMoves[30][6] = 38;
-        KingMoves[30][7] = 39;
-        KingMoves[31] = new int[5];
-        KingMoves[31][0] = 22;
-        KingMoves[31][1] = 23;
-        KingMoves[31][2] = 30;
-        KingMoves[31][3] = 38;
-        KingMoves[31][4] = 39;
-
-        KingMoves[32] = new int[5];
-        KingMoves[32][0] = 24;
-        KingMoves[32][1] = 25;
-        KingMoves[32][2] = 33;
-        KingMoves[32][3] = 41;
-        KingMoves[32][4] = 40;
-        KingMoves[33] = new int[8];
-        KingMoves[33][0] = 24;
-        KingMoves[33][1] = 25;
-        KingMoves[33][2] = 26;
-        KingMoves[33][3] = 32;
-        KingMoves[33][4] = 34;
-        KingMoves[33][5] = 40;
-        KingMoves[33][6] = 41;
-        KingMoves[33][7] = 42;
-        KingMoves[34] = new int[8];
-        KingMoves[34][0] = 25;
-        KingMoves[34][1] = 26;
-        KingMoves[34][2] = 27;
-        KingMoves[34][3] = 33;
-        KingMoves[34][4] = 35;
-        KingMoves[34][5] = 41;
-        KingMoves[34][6] = 42;
-        KingMoves[34][7] = 43;
-        KingMoves[35] = new int[8];
-        KingMoves[35][0] = 26;
-        KingMoves[35][1] = 27;
-        KingMoves[35][2] = 28;
-        KingMoves[35][3] = 34;
-        KingMoves[35][4] = 36;
-        KingMoves[35][5] = 42;
-        KingMoves[35][6] = 43;
-        KingMoves[35][7] = 44;
-        KingMoves[36] = new int[8];
-        KingMoves[36][0] = 27;
-        KingMoves[36][1] = 28;
-        KingMoves[36][2] = 29;
-        KingMoves[36][3] = 35;
-        KingMoves[36][4] = 37;
-        KingMoves[36][5] = 43;
-        KingMoves[36][6] = 44;
-        KingMoves[36][7] = 45;
-        KingMoves[37] = new int[8];
-        KingMoves[37][0] = 28;
-        KingMoves[37][1] = 29;
-        KingMoves[37][2] = 30;
-        KingMoves[37][3] = 36;
-        KingMoves[37][4] = 38;
-        KingMoves[37][5] = 44;
-        KingMoves[37][6] = 45;
-        KingMoves[37][7] = 46;
-        KingMoves[38] = new int[8];
-        KingMoves[38][0] = 29;
-        KingMoves[38][1] = 30;
-        KingMoves[38][2] = 31;
-        KingMoves[38][3] = 37;
-        KingMoves[38][4] = 39;
-        KingMoves[38][5] = 45;
-        KingMoves[38][6] = 46;
-        KingMoves[38][7] = 47;
-        KingMoves[39] = new int[5];
-        KingMoves[39][0] = 30;
-        KingMoves[39][1] = 31;
-        KingMoves[39][2] = 38;
-        KingMoves[39][3] = 46;
-        KingMoves[39][4] = 47;
-
-        KingMoves[40] = new int[5];
-        KingMoves[40][0] = 32;
-        KingMoves[40][1] = 33;
-        KingMoves[40][2] = 41;
-        KingMoves[40][3] = 48;
-        KingMoves[40][4] = 49;
-        KingMoves[41] = new int[8];
-        KingMoves[41][0] = 32;
-        KingMoves[41][1] = 33;
-        KingMoves[41][2] = 34;
-        KingMoves[41][3] = 40;
-        KingMoves[41][4] = 42;
-        KingMoves[41][5] = 48;
-        KingMoves[41][6] = 49;
-        KingMoves[41][7] = 50;
-        KingMoves[42] = new int[8];
-        KingMoves[42][0] = 33;
-        KingMoves[42][1] = 34;
-        KingMoves[42][2] = 35;
-        KingMoves[42][3] = 41;
-        KingMoves[42][4] = 43;
-        KingMoves[42][5] = 49;
-        KingMoves[42][6] = 50;
-        KingMoves[42][7] = 51;
-        KingMoves[43] = new int[8];
-        KingMoves[43][0] = 34;
-        KingMoves[43][1] = 35;
-        KingMoves[43][2] = 36;
-        KingMoves[43][3] = 42;
-        KingMoves[43][4] = 44;
-        KingMoves[43][5] = 50;
-        KingMoves[43][6] = 51;
-        KingMoves[43][7] = 52;
-        KingMoves[44] = new int[8];
-        KingMoves[44][0] = 35;
-        KingMoves[44][1] = 36;
-        KingMoves[44][2] = 37;
-        KingMoves[44][3] = 43;
-        KingMoves[44][4] = 45;
-        KingMoves[44][5] = 51;
-        KingMoves[44][6] = 52;
-        KingMoves[44][7] = 53;
-        KingMoves[45] = new int[8];
-        KingMoves[45][0] = 36;
-        KingMoves[45][1] = 37;
-        KingMoves[45][2] = 38;
-        KingMoves[45][3] = 44;
-        KingMoves[45][4] = 46;
-        KingMoves[45][5] = 52;
-        KingMoves[45][6] = 53;
-        KingMoves[45][7] = 54;
-        KingMoves[46] = new int[8];
-        KingMoves[46][0] = 37;
-        KingMoves[46][1] = 38;
-        KingMoves[46][2] = 39;
-        KingMoves[46][3] = 45;
-        KingMoves[46][4] = 47;
-        KingMoves[46][5] = 53;
-        KingMoves[46][6] = 54;
-        KingMoves[46][7] = 55;
-        KingMoves[47] = new int[5];
-        KingMoves[47][0] = 38;
-        KingMoves[47][1] = 39;
-        KingMoves[47][2] = 46;
-        KingMoves[47][3] = 54;
-        KingMoves[47][4] = 55;
-
-        KingMoves[48] = new int[5];
-        KingMoves[48][0] = 40;
-        KingMoves[48][1] = 41;
-        KingMoves[48][2] = 49;
-        KingMoves[48][3] = 56;
-        KingMoves[48][4] = 57;
-        KingMoves[49] = new int[8];
-        KingMoves[49][0] = 40;
-        KingMoves[49][1] = 41;
-        KingMoves[49][2] = 42;
-        KingMoves[49][3] = 48;
-        KingMoves[49][4] = 50;
-        KingMoves[49][5] = 56;
-        KingMoves[49][6] = 57;
-        KingMoves[49][7] = 58;
-        KingMoves[50] = new int[8];
-        KingMoves[50][0] = 41;
-        KingMoves[50][1] = 42;
-        KingMoves[50][2] = 43;
-        KingMoves[50][3] = 49;
-        KingMoves[50][4] = 51;
-        KingMoves[50][5] = 57;
-        KingMoves[50][6] = 58;
-        KingMoves[50][7] = 59;
-        KingMoves[51] = new int[8];
-        KingMoves[51][0] = 42;
-        KingMoves[51][1] = 43;
-        KingMoves[51][2] = 44;
-        KingMoves[51][3] = 50;
-        KingMoves[51][4] = 52;
-        KingMoves[51][5] = 58;
-        KingMoves[51][6] = 59;
-        KingMoves[51][7] = 60;
-        KingMoves[52] = new int[8];
-        KingMoves[52][0] = 43;
-        KingMoves[52][1] = 44;
-        KingMoves[52][2] = 45;
-        KingMoves[52][3] = 51;
-        KingMoves[52][4] = 53;
-        KingMoves[52][5] = 59;
-        KingMoves[52][6] = 60;
-        KingMoves[52][7] = 61;
-        KingMoves[53] = new int[8];
-        KingMoves[53][0] = 44;
-        KingMoves[53][1] = 45;
-        KingMoves[53][2] = 46;
-        KingMoves[53][3] = 52;
-        KingMoves[53][4] = 54;
-        KingMoves[53][5] = 60;
-        KingMoves[53][6] = 61;
-        KingMoves[53][7] = 62;
-        KingMoves[54] = new int[8];
-        KingMoves[54][0] = 45;
-        KingMoves[54][1] = 46;
-        KingMoves[54][2] = 47;
-        KingMoves[54][3] = 53;
-        KingMoves[54][4] = 55;
-        KingMoves[54][5] = 61;
-        KingMoves[54][6] = 62;
-        KingMoves[54][7] = 63;
-        KingMoves[55] = new int[5];
-        KingMoves[55][0] = 46;
-        KingMoves[55][1] = 47;
-        KingMoves[55][2] = 54;
-        KingMoves[55][3] = 62;
-        KingMoves[55][4] = 63;
-
-        KingMoves[56] = new int[3];
-        KingMoves[56][0] = 48;
-        KingMoves[56][1] = 49;
-        KingMoves[56][2] = 57;
-        KingMoves[57] = new int[5];
-        KingMoves[57][0] = 48;
-        KingMoves[57][1] = 49;
-        KingMoves[57][2] = 50;
-        KingMoves[57][3] = 56;
-        KingMoves[57][4] = 58;
-        KingMoves[58] = new int[5];
-        KingMoves[58][0] = 49;
-        KingMoves[58][1] = 50;
-        KingMoves[58][2] = 51;
-        KingMoves[58][3] = 57;
-        KingMoves[58][4] = 59;
-        KingMoves[59] = new int[5];
-        KingMoves[59][0] = 50;
-        KingMoves[59][1] = 51;
-        KingMoves[59][2] = 52;
-        KingMoves[59][3] = 58;
-        KingMoves[59][4] = 60;
-        KingMoves[60] = new int[5];
-        KingMoves[60][0] = 51;
-        KingMoves[60][1] = 52;
-        KingMoves[60][2] = 53;
-        KingMoves[60][3] = 59;
-        KingMoves[60][4] = 61;
-        KingMoves[61] = new int[5];
-        KingMoves[61][0] = 52;
-        KingMoves[61][1] = 53;
-        KingMoves[61][2] = 54;
-        KingMoves[61][3] = 60;
-        KingMoves[61][4] = 62;
-        KingMoves[62] = new int[5];
-        KingMoves[62][0] = 53;
-        KingMoves[62][1] = 54;
-        KingMoves[62][2] = 55;
-        KingMoves[62][3] = 61;
-        KingMoves[62][4] = 63;
-        KingMoves[63] = new int[3];
-        KingMoves[63][0] = 54;
-        KingMoves[63][1] = 55;
-        KingMoves[63][2] = 62;
-
-        BoatMoves = new int[64][];
-        BoatMoves[0] = new int[1];
-        BoatMoves[0][0] = 18;
-
-        BoatMoves[1] = new int[1];
-        BoatMoves[1][0] = 19;
-
-        BoatMoves[2] = new int[2];
-        BoatMoves[2][0] = 20;
-        BoatMoves[2][1] = 16;
-
-        BoatMoves[3] = new int[2];
-        BoatMoves[3][0] = 21;
-        BoatMoves[3][1] = 17;
-
-        BoatMoves[4] = new int[2];
-        BoatMoves[4][0] = 22;
-        BoatMoves[4][1] = 18;
-
-        BoatMoves[5] = new int[2];
-        BoatMoves[5][0] = 23;
-        BoatMoves[5][1] = 19;
-
-        BoatMoves[6] = new int[1];
-        BoatMoves[6][0] = 20;
-
-        BoatMoves[7] = new int[1];
-        BoatMoves[7][0] = 21;
-
-        BoatMoves[8] = new int[1];
-        BoatMoves[8][0] = 26;
-
-        BoatMoves[9] = new int[1];
-        BoatMoves[9][0] = 27;
-
-        BoatMoves[10] = new int[2];
-        BoatMoves[10][0] = 28;
-        BoatMoves[10][1] = 24;
-
-        BoatMoves[11] = new int[2];
-        BoatMoves[11][0] = 29;
-        BoatMoves[11][1] = 25;
-
-        BoatMoves[12] = new int[2];
-        BoatMoves[12][0] = 30;
-        BoatMoves[12][1] = 26;
-
-        BoatMoves[13] = new int[2];
-        BoatMoves[13][0] = 31;
-        BoatMoves[13][1] = 27;
-
-        BoatMoves[14] = new int[1];
-        BoatMoves[14][0] = 28;
-
-        BoatMoves[15] = new int[1];
-        BoatMoves[15][0] = 29;
-
-        BoatMoves[16] = new int[2];
-        BoatMoves[16][0] = 2;
-        BoatMoves[16][1] = 34;
-
-        BoatMoves[17] = new int[2];
-        BoatMoves[17][0] = 3;
-        BoatMoves[17][1] = 35;
-
-        BoatMoves[18] = new int[4];
-        BoatMoves[18][0] = 0;
-        BoatMoves[18][1] = 4;
-        BoatMoves[18][2] = 32;
-        BoatMoves[18][3] = 36;
-
-        BoatMoves[19] = new int[4];
-        BoatMoves[19][0] = 1;
-        BoatMoves[19][1] = 5;
-        BoatMoves[19][2] = 33;
-        BoatMoves[19][3] = 37;
-
-        BoatMoves[20] = new int[4];
-        BoatMoves[20][0] = 2;
-        BoatMoves[20][1] = 6;
-        BoatMoves[20][2] = 34;
-        BoatMoves[20][3] = 38;
-
-        BoatMoves[21] = new int[4];
-        BoatMoves[21][0] = 3;
-        BoatMoves[21][1] = 7;
-        BoatMoves[21][2] = 35;
-        BoatMoves[21][3] = 39;
-
-        BoatMoves[22] = new int[2];
-        BoatMoves[22][0] = 28;
-        BoatMoves[22][1] = 24;
-
-        BoatMoves[23] = new int[2];
-        BoatMoves[23][0] = 28;
-        BoatMoves[23][1] = 24;
-
-        BoatMoves[24] = new int[2];
-        BoatMoves[24][0] = 10;
-        BoatMoves[24][1] = 42;
-
-        BoatMoves[25] = new int[2];
-        BoatMoves[25][0] = 11;
-        BoatMoves[25][1] = 43;
-
-        BoatMoves[26] = new int[4];
-        BoatMoves[26][0] = 8;
-        BoatMoves[26][1] = 12;
-        BoatMoves[26][2] = 40;
-        BoatMoves[26][3] = 44;
-
-        BoatMoves[27] = new int[4];
-        BoatMoves[27][0] = 9;
-        BoatMoves[27][1] = 13;
-        BoatMoves[27][2] = 41;
-        BoatMoves[27][3] = 45;
-
-        BoatMoves[28] = new int[4];
-        BoatMoves[28][0] = 10;
-        BoatMoves[28][1] = 14;
-        BoatMoves[28][2] = 42;
-        BoatMoves[28][3] = 46;
-
-        BoatMoves[29] = new int[4];
-        BoatMoves[29][0] = 11;
-        BoatMoves[29][1] = 15;
-        BoatMoves[29][2] = 43;
-        BoatMoves[29][3] = 47;
-
-        BoatMoves[30] = new int[2];
-        BoatMoves[30][0] = 28;
-        BoatMoves[30][1] = 24;
-
-        BoatMoves[31] = new int[2];
-        BoatMoves[31][0] = 28;
-        BoatMoves[31][1] = 24;
-
-        BoatMoves[32] = new int[2];
-        BoatMoves[32][0] = 18;
-        BoatMoves[32][1] = 50;
-
-        BoatMoves[33] = new int[2];
-        BoatMoves[33][0] = 19;
-        BoatMoves[33][1] = 51;
-
-        BoatMoves[34] = new int[4];
-        BoatMoves[34][0] = 16;
-        BoatMoves[34][1] = 20;
-        BoatMoves[34][2] = 48;
-        BoatMoves[34][3] = 52;
-
-        BoatMoves[35] = new int[4];
-        BoatMoves[35][0] = 17;
-        BoatMoves[35][1] = 21;
-        BoatMoves[35][2] = 49;
-        BoatMoves[35][3] = 53;
-
-        BoatMoves[36] = new int[4];
-        BoatMoves[36][0] = 18;
-        BoatMoves[36][1] = 22;
-        BoatMoves[36][2] = 50;
-        BoatMoves[36][3] = 54;
-
-        BoatMoves[37] = new int[4];
-        BoatMoves[37][0] = 19;
-        BoatMoves[37][1] = 23;
-        BoatMoves[37][2] = 51;
-        BoatMoves[37][3] = 55;
-
-        BoatMoves[38] = new int[2];
-        BoatMoves[38][0] = 20;
-        BoatMoves[38][1] = 52;
-
-        BoatMoves[39] = new int[2];
-        BoatMoves[39][0] = 21;
-        BoatMoves[39][1] = 53;
-
-        BoatMoves[40] = new int[2];
-        BoatMoves[40][0] = 26;
-        BoatMoves[40][1] = 58;
-
-        BoatMoves[41] = new int[2];
-        BoatMoves[41][0] = 27;
-        BoatMoves[41][1] = 59;
-
-        BoatMoves[42] = new int[4];
-        BoatMoves[42][0] = 24;
-        BoatMoves[42][1] = 28;
-        BoatMoves[42][2] = 56;
-        BoatMoves[42][3] = 60;
-
-        BoatMoves[43] = new int[4];
-        BoatMoves[43][0] = 25;
-        BoatMoves[43][1] = 29;
-        BoatMoves[43][2] = 57;
-        BoatMoves[43][3] = 61;
-
-        BoatMoves[44] = new int[4];
-        BoatMoves[44][0] = 26;
-        BoatMoves[44][1] = 30;
-        BoatMoves[44][2] = 58;
-        BoatMoves[44][3] = 62;
-
-        BoatMoves[45] = new int[4];
-        BoatMoves[45][0] = 27;
-        BoatMoves[45][1] = 31;
-        BoatMoves[45][2] = 59;
-        BoatMoves[45][3] = 63;
-
-        BoatMoves[46] = new int[2];
-        BoatMoves[46][0] = 28;
-        BoatMoves[46][1] = 60;
-
-        BoatMoves[47] = new int[2];
-        BoatMoves[47][0] = 29;
-        BoatMoves[47][1] = 61;
-
-        BoatMoves[48] = new int[1];
-        BoatMoves[48][0] = 34;
-
-        BoatMoves[49] = new int[1];
-        BoatMoves[49][0] = 35;
-
-        BoatMoves[50] = new int[2];
-        BoatMoves[50][0] = 32;
-        BoatMoves[50][1] = 36;
-
-        BoatMoves[51] = new int[2];
-        BoatMoves[51][0] = 33;
-        BoatMoves[51][1] = 37;
-
-        BoatMoves[52] = new int[2];
-        BoatMoves[52][0] = 34;
-        BoatMoves[52][1] = 38;
-
-        BoatMoves[53] = new int[2];
-        BoatMoves[53][0] = 35;
-        BoatMoves[53][1] = 39;
-
-        BoatMoves[54] = new int[1];
-        BoatMoves[54][0] = 36;
-
-        BoatMoves[55] = new int[1];
-        BoatMoves[55][0] = 37;
-
-        BoatMoves[56] = new int[1];
-        BoatMoves[56][0] = 42;
-
-        BoatMoves[57] = new int[1];
-        BoatMoves[57][0] = 43;
-
-        BoatMoves[58] = new int[2];
-        BoatMoves[58][0] = 40;
-        BoatMoves[58][1] = 44;
-
-        BoatMoves[59] = new int[2];
-        BoatMoves[59][0] = 41;
-        BoatMoves[59][1] = 45;
-
-        BoatMoves[60] = new int[2];
-        BoatMoves[60][0] = 42;
-        BoatMoves[60][1] = 56;
-
-        BoatMoves[61] = new int[2];
-        BoatMoves[61][0] = 43;
-        BoatMoves[61][1] = 57;
-
-        BoatMoves[62] = new int[1];
-        BoatMoves[62][0] = 44;
-
-        BoatMoves[63] = new int[1];
-        BoatMoves[63][0] = 45;
-
-        ElephantMoves = new int[64][][];
-        ElephantMoves[0] = new int[2][];
-        ElephantMoves[0][0] = new int[7];
-        ElephantMoves[0][1] = new int[7];
-        ElephantMoves[0][0][0] = 1;
-        ElephantMoves[0][0][1] = 2;
-        ElephantMoves[0][0][2] = 3;
-        ElephantMoves[0][0][3] = 4;
-        ElephantMoves[0][0][4] = 5;
-        ElephantMoves[0][0][5] = 6;
-        ElephantMoves[0][0][6] = 7;
-        ElephantMoves[0][1][0] = 8;
-        ElephantMoves[0][1][1] = 16;
-        ElephantMoves[0][1][2] = 24;
-        ElephantMoves[0][1][3] = 32;
-        ElephantMoves[0][1][4] = 40;
-        ElephantMoves[0][1][5] = 48;
-        ElephantMoves[0][1][6] = 56;
-
-        ElephantMoves[1] = new int[3][];
-        ElephantMoves[1][0] = new int[1];
-        ElephantMoves[1][1] = new int[6];
-        ElephantMoves[1][2] = new int[7];
-        ElephantMoves[1][0][0] = 0;
-        ElephantMoves[1][1][0] = 2;
-        ElephantMoves[1][1][1] = 3;
-        ElephantMoves[1][1][2] = 4;
-        ElephantMoves[1][1][3] = 5;
-        ElephantMoves[1][1][4] = 6;
-        ElephantMoves[1][1][5] = 7;
-        ElephantMoves[1][2][0] = 9;
-        ElephantMoves[1][2][1] = 17;
-        ElephantMoves[1][2][2] = 25;
-        ElephantMoves[1][2][3] = 33;
-        ElephantMoves[1][2][4] = 41;
-        ElephantMoves[1][2][5] = 49;
-        ElephantMoves[1][2][6] = 57;
-
-        ElephantMoves[2] = new int[3][];
-        ElephantMoves[2][0] = new int[2];
-        ElephantMoves[2][1] = new int[5];
-        ElephantMoves[2][2] = new int[7];
-        ElephantMoves[2][0][0] = 1;
-        ElephantMoves[2][0][1] = 0;
-        ElephantMoves[2][1][0] = 3;
-        ElephantMoves[2][1][1] = 4;
-        ElephantMoves[2][1][2] = 5;
-        ElephantMoves[2][1][3] = 6;
-        ElephantMoves[2][1][4] = 7;
-        ElephantMoves[2][2][0] = 10;
-        ElephantMoves[2][2][1] = 18;
-        ElephantMoves[2][2][2] = 26;
-        ElephantMoves[2][2][3] = 34;
-        ElephantMoves[2][2][4] = 42;
-        ElephantMoves[2][2][5] = 50;
-        ElephantMoves[2][2][6] = 58;
-
-        ElephantMoves[3] = new int[3][];
-        ElephantMoves[3][0] = new int[3];
-        ElephantMoves[3][1] = new int[4];
-        ElephantMoves[3][2] = new int[7];
-        ElephantMoves[3][0][0] = 2;
-        ElephantMoves[3][0][1] = 1;
-        ElephantMoves[3][0][2] = 0;
-        ElephantMoves[3][1][0] = 4;
-        ElephantMoves[3][1][1] = 5;
-        ElephantMoves[3][1][2] = 6;
-        ElephantMoves[3][1][3] = 7;
-        ElephantMoves[3][2][0] = 11;
-        ElephantMoves[3][2][1] = 19;
-        ElephantMoves[3][2][2] = 27;
-        ElephantMoves[3][2][3] = 35;
-        ElephantMoves[3][2][4] = 43;
-        ElephantMoves[3][2][5] = 51;
-        ElephantMoves[3][2][6] = 59;
-
-        ElephantMoves[4] = new int[3][];
-        ElephantMoves[4][0] = new int[4];
-        ElephantMoves[4][1] = new int[3];
-        ElephantMoves[4][2] = new int[7];
-        ElephantMoves[4][0][0] = 3;
-        ElephantMoves[4][0][1] = 2;
-        ElephantMoves[4][0][2] = 1;
-        ElephantMoves[4][0][3] = 0;
-        ElephantMoves[4][1][0] = 5;
-        ElephantMoves[4][1][1] = 6;
-        ElephantMoves[4][1][2] = 7;
-        ElephantMoves[4][2][0] = 12;
-        ElephantMoves[4][2][1] = 20;
-        ElephantMoves[4][2][2] = 28;
-        ElephantMoves[4][2][3] = 36;
-        ElephantMoves[4][2][4] = 44;
-        ElephantMoves[4][2][5] = 52;
-        ElephantMoves[4][2][6] = 60;
-
-        ElephantMoves[5] = new int[3][];
-        ElephantMoves[5][0] = new int[5];
-        ElephantMoves[5][1] = new int[2];
-        ElephantMoves[5][2] = new int[7];
-        ElephantMoves[5][0][0] = 4;
-        ElephantMoves[5][0][1] = 3;
-        ElephantMoves[5][0][2] = 2;
-        ElephantMoves[5][0][3] = 1;
-        ElephantMoves[5][0][4] = 0;
-        ElephantMoves[5][1][0] = 6;
-        ElephantMoves[5][1][1] = 7;
-        ElephantMoves[5][2][0] = 13;
-        ElephantMoves[5][2][1] = 21;
-        ElephantMoves[5][2][2] = 29;
-        ElephantMoves[5][2][3] = 37;
-        ElephantMoves[5][2][4] = 45;
-        ElephantMoves[5][2][5] = 53;
-        ElephantMoves[5][2][6] = 61;
-
-        ElephantMoves[6] = new int[3][];
-        ElephantMoves[6][0] = new int[6];
-        ElephantMoves[6][1] = new int[1];
-        ElephantMoves[6][2] = new int[7];
-        ElephantMoves[6][0][0] = 5;
-        ElephantMoves[6][0][1] = 4;
-        ElephantMoves[6][0][2] = 3;
-        ElephantMoves[6][0][3] = 2;
-        ElephantMoves[6][0][4] = 1;
-        ElephantMoves[6][0][5] = 0;
-        ElephantMoves[6][1][0] = 7;
-        ElephantMoves[6][2][0] = 14;
-        ElephantMoves[6][2][1] = 22;
-        ElephantMoves[6][2][2] = 30;
-        ElephantMoves[6][2][3] = 38;
-        ElephantMoves[6][2][4] = 46;
-        ElephantMoves[6][2][5] = 54;
-        ElephantMoves[6][2][6] = 62;
-
-        ElephantMoves[7] = new int[2][];
-        ElephantMoves[7][0] = new int[7];
-        ElephantMoves[7][1] = new int[7];
-        ElephantMoves[7][0][0] = 6;
-        ElephantMoves[7][0][1] = 5;
-        ElephantMoves[7][0][2] = 4;
-        ElephantMoves[7][0][3] = 3;
-        ElephantMoves[7][0][4] = 2;
-        ElephantMoves[7][0][5] = 1;
-        ElephantMoves[7][0][6] = 0;
-        ElephantMoves[7][1][0] = 15;
-        ElephantMoves[7][1][1] = 23;
-        ElephantMoves[7][1][2] = 31;
-        ElephantMoves[7][1][3] = 39;
-        ElephantMoves[7][1][4] = 47;
-        ElephantMoves[7][1][5] = 55;
-        ElephantMoves[7][1][6] = 63;
-
-        ElephantMoves[8] = new int[3][];
-        ElephantMoves[8][0] = new int[7];
-        ElephantMoves[8][1] = new int[1];
-        ElephantMoves[8][2] = new int[6];
-        ElephantMoves[8][0][0] = 9;
-        ElephantMoves[8][0][1] = 10;
-        ElephantMoves[8][0][2] = 11;
-        ElephantMoves[8][0][3] = 12;
-        ElephantMoves[8][0][4] = 13;
-        ElephantMoves[8][0][5] = 14;
-        ElephantMoves[8][0][6] = 15;
-        ElephantMoves[8][1][0] = 0;
-        ElephantMoves[8][2][0] = 16;
-        ElephantMoves[8][2][1] = 24;
-        ElephantMoves[8][2][2] = 32;
-        ElephantMoves[8][2][3] = 40;
-        ElephantMoves[8][2][4] = 48;
-        ElephantMoves[8][2][5] = 56;
-
-        ElephantMoves[9] = new int[4][];
-        ElephantMoves[9][0] = new int[1];
-        ElephantMoves[9][1] = new int[6];
-        ElephantMoves[9][2] = new int[1];
-        ElephantMoves[9][3] = new int[6];
-        ElephantMoves[9][0][0] = 8;
-        ElephantMoves[9][1][0] = 10;
-        ElephantMoves[9][1][1] = 11;
-        ElephantMoves[9][1][2] = 12;
-        ElephantMoves[9][1][3] = 13;
-        ElephantMoves[9][1][4] = 14;
-        ElephantMoves[9][1][5] = 15;
-        ElephantMoves[9][2][0] = 1;
-        ElephantMoves[9][3][0] = 17;
-        ElephantMoves[9][3][1] = 25;
-        ElephantMoves[9][3][2] = 33;
-        ElephantMoves[9][3][3] = 41;
-        ElephantMoves[9][3][4] = 49;
-        ElephantMoves[9][3][5] = 57;
-
-        ElephantMoves[10] = new int[4][];
-        ElephantMoves[10][0] = new int[2];
-        ElephantMoves[10][1] = new int[5];
-        ElephantMoves[10][2] = new int[1];
-        ElephantMoves[10][3] = new int[6];
-        ElephantMoves[10][0][0] = 9;
-        ElephantMoves[10][0][1] = 8;
-        ElephantMoves[10][1][0] = 11;
-        ElephantMoves[10][1][1] = 12;
-        ElephantMoves[10][1][2] = 13;
-        ElephantMoves[10][1][3] = 14;
-        ElephantMoves[10][1][4] = 15;
-        ElephantMoves[10][2][0] = 2;
-        ElephantMoves[10][3][0] = 18;
-        ElephantMoves[10][3][1] = 26;
-        ElephantMoves[10][3][2] = 34;
-        ElephantMoves[10][3][3] = 42;
-        ElephantMoves[10][3][4] = 50;
-        ElephantMoves[10][3][5] = 58;
-
-        ElephantMoves[11] = new int[4][];
-        ElephantMoves[11][0] = new int[3];
-        ElephantMoves[11][1] = new int[4];
-        ElephantMoves[11][2] = new int[1];
-        ElephantMoves[11][3] = new int[6];
-        ElephantMoves[11][0][0] = 10;
-        ElephantMoves[11][0][1] = 9;
-        ElephantMoves[11][0][2] = 8;
-        ElephantMoves[11][1][0] = 12;
-        ElephantMoves[11][1][1] = 13;
-        ElephantMoves[11][1][2] = 14;
-        ElephantMoves[11][1][3] = 15;
-        ElephantMoves[11][2][0] = 3;
-        ElephantMoves[11][3][0] = 19;
-        ElephantMoves[11][3][1] = 27;
-        ElephantMoves[11][3][2] = 35;
-        ElephantMoves[11][3][3] = 43;
-        ElephantMoves[11][3][4] = 51;
-        ElephantMoves[11][3][5] = 59;
-
-        ElephantMoves[12] = new int[4][];
-        ElephantMoves[12][0] = new int[4];
-        ElephantMoves[12][1] = new int[3];
-        ElephantMoves[12][2] = new int[1];
-        ElephantMoves[12][3] = new int[6];
-        ElephantMoves[12][0][0] = 11;
-        ElephantMoves[12][0][1] = 10;
-        ElephantMoves[12][0][2] = 9;
-        ElephantMoves[12][0][3] = 8;
-        ElephantMoves[12][1][0] = 13;
-        ElephantMoves[12][1][1] = 14;
-        ElephantMoves[12][1][2] = 15;
-        ElephantMoves[12][2][0] = 4;
-        ElephantMoves[12][3][0] = 20;
-        ElephantMoves[12][3][1] = 28;
-        ElephantMoves[12][3][2] = 36;
-        ElephantMoves[12][3][3] = 44;
-        ElephantMoves[12][3][4] = 52;
-        ElephantMoves[12][3][5] = 60;
-
-        ElephantMoves[13] = new int[4][];
-        ElephantMoves[13][0] = new int[5];
-        ElephantMoves[13][1] = new int[2];
-        ElephantMoves[13][2] = new int[1];
-        ElephantMoves[13][3] = new int[6];
-        ElephantMoves[13][0][0] = 12;
-        ElephantMoves[13][0][1] = 11;
-        ElephantMoves[13][0][2] = 10;
-        ElephantMoves[13][0][3] = 9;
-        ElephantMoves[13][0][4] = 8;
-        ElephantMoves[13][1][0] = 14;
-        ElephantMoves[13][1][1] = 15;
-        ElephantMoves[13][2][0] = 5;
-        ElephantMoves[13][3][0] = 21;
-        ElephantMoves[13][3][1] = 29;
-        ElephantMoves[13][3][2] = 37;
-        ElephantMoves[13][3][3] = 45;
-        ElephantMoves[13][3][4] = 53;
-        ElephantMoves[13][3][5] = 61;
-
-        ElephantMoves[14] = new int[4][];
-        ElephantMoves[14][0] = new int[6];
-        ElephantMoves[14][1] = new int[1];
-        ElephantMoves[14][2] = new int[1];
-        ElephantMoves[14][3] = new int[6];
-        ElephantMoves[14][0][0] = 13;
-        ElephantMoves[14][0][1] = 12;
-        ElephantMoves[14][0][2] = 11;
-        ElephantMoves[14][0][3] = 10;
-        ElephantMoves[14][0][4] = 9;
-        ElephantMoves[14][0][5] = 8;
-        ElephantMoves[14][1][0] = 15;
-        ElephantMoves[14][2][0] = 6;
-        ElephantMoves[14][3][0] = 22;
-        ElephantMoves[14][3][1] = 30;
-        ElephantMoves[14][3][2] = 38;
-        ElephantMoves[14][3][3] = 46;
-        ElephantMoves[14][3][4] = 54;
-        ElephantMoves[14][3][5] = 62;
-
-        ElephantMoves[15] = new int[3][];
-        ElephantMoves[15][0] = new int[7];
-        ElephantMoves[15][1] = new int[1];
-        ElephantMoves[15][2] = new int[6];
-        ElephantMoves[15][0][0] = 14;
-        ElephantMoves[15][0][1] = 13;
-        ElephantMoves[15][0][2] = 12;
-        ElephantMoves[15][0][3] = 11;
-        ElephantMoves[15][0][4] = 10;
-        ElephantMoves[15][0][5] = 9;
-        ElephantMoves[15][0][6] = 8;
-        ElephantMoves[15][1][0] = 7;
-        ElephantMoves[15][2][0] = 23;
-        ElephantMoves[15][2][1] = 31;
-        ElephantMoves[15][2][2] = 39;
-        ElephantMoves[15][2][3] = 47;
-        ElephantMoves[15][2][4] = 55;
-        ElephantMoves[15][2][5] = 63;
-
-        ElephantMoves[16] = new int[3][];
-        ElephantMoves[16][0] = new int[2];
-        ElephantMoves[16][1] = new int[5];
-        ElephantMoves[16][2] = new int[7];
-        ElephantMoves[16][0][0] = 8;
-        ElephantMoves[16][0][1] = 0;
-        ElephantMoves[16][1][0] = 24;
-        ElephantMoves[16][1][1] = 32;
-        ElephantMoves[16][1][2] = 40;
-        ElephantMoves[16][1][3] = 48;
-        ElephantMoves[16][1][4] = 56;
-        ElephantMoves[16][2][0] = 17;
-        ElephantMoves[16][2][1] = 18;
-        ElephantMoves[16][2][2] = 19;
-        ElephantMoves[16][2][3] = 20;
-        ElephantMoves[16][2][4] = 21;
-        ElephantMoves[16][2][5] = 22;
-        ElephantMoves[16][2][6] = 23;
-
-        ElephantMoves[17] = new int[4][];
-        ElephantMoves[17][0] = new int[1];
-        ElephantMoves[17][1] = new int[6];
-        ElephantMoves[17][2] = new int[2];
-        ElephantMoves[17][3] = new int[5];
-        ElephantMoves[17][0][0] = 16;
-        ElephantMoves[17][1][0] = 18;
-        ElephantMoves[17][1][1] = 19;
-        ElephantMoves[17][1][2] = 20;
-        ElephantMoves[17][1][3] = 21;
-        ElephantMoves[17][1][4] = 22;
-        ElephantMoves[17][1][5] = 23;
-        ElephantMoves[17][2][0] = 9;
-        ElephantMoves[17][2][1] = 1;
-        ElephantMoves[17][3][0] = 25;
-        ElephantMoves[17][3][1] = 33;
-        ElephantMoves[17][3][2] = 41;
-        ElephantMoves[17][3][3] = 49;
-        ElephantMoves[17][3][4] = 57;
-
-        ElephantMoves[18] = new int[4][];
-        ElephantMoves[18][0] = new int[2];
-        ElephantMoves[18][1] = new int[5];
-        ElephantMoves[18][2] = new int[2];
-        ElephantMoves[18][3] = new int[5];
-        ElephantMoves[18][0][0] = 17;
-        ElephantMoves[18][0][1] = 16;
-        ElephantMoves[18][1][0] = 19;
-        ElephantMoves[18][1][1] = 20;
-        ElephantMoves[18][1][2] = 21;
-        ElephantMoves[18][1][3] = 22;
-        ElephantMoves[18][1][4] = 23;
-        ElephantMoves[18][2][0] = 10;
-        ElephantMoves[18][2][1] = 2;
-        ElephantMoves[18][3][0] = 26;
-        ElephantMoves[18][3][1] = 34;
-        ElephantMoves[18][3][2] = 42;
-        ElephantMoves[18][3][3] = 50;
-        ElephantMoves[18][3][4] = 58;
-
-        ElephantMoves[19] = new int[4][];
-        ElephantMoves[19][0] = new int[3];
-        ElephantMoves[19][1] = new int[4];
-        ElephantMoves[19][2] = new int[2];
-        ElephantMoves[19][3] = new int[5];
-        ElephantMoves[19][0][0] = 18;
-        ElephantMoves[19][0][1] = 17;
-        ElephantMoves[19][0][2] = 16;
-        ElephantMoves[19][1][0] = 20;
-        ElephantMoves[19][1][1] = 21;
-        ElephantMoves[19][1][2] = 22;
-        ElephantMoves[19][1][3] = 23;
-        ElephantMoves[19][2][0] = 11;
-        ElephantMoves[19][2][1] = 3;
-        ElephantMoves[19][3][0] = 27;
-        ElephantMoves[19][3][1] = 35;
-        ElephantMoves[19][3][2] = 43;
-        ElephantMoves[19][3][3] = 51;
-        ElephantMoves[19][3][4] = 59;
-
-        ElephantMoves[20] = new int[4][];
-        ElephantMoves[20][0] = new int[4];
-        ElephantMoves[20][1] = new int[3];
-        ElephantMoves[20][2] = new int[2];
-        ElephantMoves[20][3] = new int[5];
-        ElephantMoves[20][0][0] = 19;
-        ElephantMoves[20][0][1] = 18;
-        ElephantMoves[20][0][2] = 17;
-        ElephantMoves[20][0][3] = 16;
-        ElephantMoves[20][1][0] = 21;
-        ElephantMoves[20][1][1] = 22;
-        ElephantMoves[20][1][2] = 23;
-        ElephantMoves[20][2][0] = 12;
-        ElephantMoves[20][2][1] = 4;
-        ElephantMoves[20][3][0] = 28;
-        ElephantMoves[20][3][1] = 36;
-        ElephantMoves[20][3][2] = 44;
-        ElephantMoves[20][3][3] = 52;
-        ElephantMoves[20][3][4] = 60;
-
-        ElephantMoves[21] = new int[4][];
-        ElephantMoves[21][0] = new int[5];
-        ElephantMoves[21][1] = new int[2];
-        ElephantMoves[21][2] = new int[2];
-        ElephantMoves[21][3] = new int[5];
-        ElephantMoves[21][0][0] = 20;
-        ElephantMoves[21][0][1] = 19;
-        ElephantMoves[21][0][2] = 18;
-        ElephantMoves[21][0][3] = 17;
-        ElephantMoves[21][0][4] = 16;
-        ElephantMoves[21][1][0] = 22;
-        ElephantMoves[21][1][1] = 23;
-        ElephantMoves[21][2][0] = 13;
-        ElephantMoves[21][2][1] = 5;
-        ElephantMoves[21][3][0] = 29;
-        ElephantMoves[21][3][1] = 37;
-        ElephantMoves[21][3][2] = 45;
-        ElephantMoves[21][3][3] = 53;
-        ElephantMoves[21][3][4] = 61;
-
-        ElephantMoves[22] = new int[4][];
-        ElephantMoves[22][0] = new int[6];
-        ElephantMoves[22][1] = new int[1];
-        ElephantMoves[22][2] = new int[2];
-        ElephantMoves[22][3] = new int[5];
-        ElephantMoves[22][0][0] = 21;
-        ElephantMoves[22][0][1] = 20;
-        ElephantMoves[22][0][2] = 19;
-        ElephantMoves[22][0][3] = 18;
-        ElephantMoves[22][0][4] = 17;
-        ElephantMoves[22][0][5] = 16;
-        ElephantMoves[22][1][0] = 23;
-        ElephantMoves[22][2][0] = 14;
-        ElephantMoves[22][2][1] = 6;
-        ElephantMoves[22][3][0] = 30;
-        ElephantMoves[22][3][1] = 38;
-        ElephantMoves[22][3][2] = 46;
-        ElephantMoves[22][3][3] = 54;
-        ElephantMoves[22][3][4] = 62;
-
-        ElephantMoves[23] = new int[3][];
-        ElephantMoves[23][0] = new int[7];
-        ElephantMoves[23][1] = new int[2];
-        ElephantMoves[23][2] = new int[5];
-        ElephantMoves[23][0][0] = 22;
-        ElephantMoves[23][0][1] = 21;
-        ElephantMoves[23][0][2] = 20;
-        ElephantMoves[23][0][3] = 19;
-        ElephantMoves[23][0][4] = 18;
-        ElephantMoves[23][0][5] = 17;
-        ElephantMoves[23][0][6] = 16;
-        ElephantMoves[23][1][0] = 15;
-        ElephantMoves[23][1][1] = 7;
-        ElephantMoves[23][2][0] = 31;
-        ElephantMoves[23][2][1] = 39;
-        ElephantMoves[23][2][2] = 47;
-        ElephantMoves[23][2][3] = 55;
-        ElephantMoves[23][2][4] = 63;
-
-        ElephantMoves[24] = new int[3][];
-        ElephantMoves[24][0] = new int[3];
-        ElephantMoves[24][1] = new int[4];
-        ElephantMoves[24][2] = new int[7];
-        ElephantMoves[24][0][0] = 16;
-        ElephantMoves[24][0][1] = 8;
-        ElephantMoves[24][0][2] = 8;
-        ElephantMoves[24][1][0] = 32;
-        ElephantMoves[24][1][1] = 40;
-        ElephantMoves[24][1][2] = 48;
-        ElephantMoves[24][1][3] = 56;
-        ElephantMoves[24][2][0] = 25;
-        ElephantMoves[24][2][1] = 26;
-        ElephantMoves[24][2][2] = 27;
-        ElephantMoves[24][2][3] = 28;
-        ElephantMoves[24][2][4] = 29;
-        ElephantMoves[24][2][5] = 30;
-        ElephantMoves[24][2][6] = 31;
-
-        ElephantMoves[25] = new int[4][];
-        ElephantMoves[25][0] = new int[1];
-        ElephantMoves[25][1] = new int[6];
-        ElephantMoves[25][2] = new int[3];
-        ElephantMoves[25][3] = new int[4];
-        ElephantMoves[25][0][0] = 24;
-        ElephantMoves[25][1][0] = 26;
-        ElephantMoves[25][1][1] = 27;
-        ElephantMoves[25][1][2] = 28;
-        ElephantMoves[25][1][3] = 29;
-        ElephantMoves[25][1][4] = 30;
-        ElephantMoves[25][1][5] = 31;
-        ElephantMoves[25][2][0] = 17;
-        ElephantMoves[25][2][1] = 9;
-        ElephantMoves[25][2][2] = 1;
-        ElephantMoves[25][3][0] = 33;
-        ElephantMoves[25][3][1] = 41;
-        ElephantMoves[25][3][2] = 49;
-        ElephantMoves[25][3][3] = 57;
-
-        ElephantMoves[26] = new int[4][];
-        ElephantMoves[26][0] = new int[2];
-        ElephantMoves[26][1] = new int[5];
-        ElephantMoves[26][2] = new int[3];
-        ElephantMoves[26][3] = new int[4];
-        ElephantMoves[26][0][0] = 25;
-        ElephantMoves[26][0][1] = 24;
-        ElephantMoves[26][1][0] = 27;
-        ElephantMoves[26][1][1] = 28;
-        ElephantMoves[26][1][2] = 29;
-        ElephantMoves[26][1][3] = 30;
-        ElephantMoves[26][1][4] = 31;
-        ElephantMoves[26][2][0] = 18;
-        ElephantMoves[26][2][1] = 10;
-        ElephantMoves[26][2][2] = 2;
-        ElephantMoves[26][3][0] = 34;
-        ElephantMoves[26][3][1] = 42;
-        ElephantMoves[26][3][2] = 50;
-        ElephantMoves[26][3][3] = 58;
-
-        ElephantMoves[27] = new int[4][];
-        ElephantMoves[27][0] = new int[3];
-        ElephantMoves[27][1] = new int[4];
-        ElephantMoves[27][2] = new int[3];
-        ElephantMoves[27][3] = new int[4];
-        ElephantMoves[27][0][0] = 26;
-        ElephantMoves[27][0][1] = 25;
-        ElephantMoves[27][0][2] = 24;
-        ElephantMoves[27][1][0] = 28;
-        ElephantMoves[27][1][1] = 29;
-        ElephantMoves[27][1][2] = 30;
-        ElephantMoves[27][1][3] = 31;
-        ElephantMoves[27][2][0] = 19;
-        ElephantMoves[27][2][1] = 11;
-        ElephantMoves[27][2][2] = 3;
-        ElephantMoves[27][3][0] = 35;
-        ElephantMoves[27][3][1] = 43;
-        ElephantMoves[27][3][2] = 51;
-        ElephantMoves[27][3][3] = 59;
-
-        ElephantMoves[28] = new int[4][];
-        ElephantMoves[28][0] = new int[4];
-        ElephantMoves[28][1] = new int[3];
-        ElephantMoves[28][2] = new int[3];
-        ElephantMoves[28][3] = new int[4];
-        ElephantMoves[28][0][0] = 27;
-        ElephantMoves[28][0][1] = 26;
-        ElephantMoves[28][0][2] = 25;
-        ElephantMoves[28][0][3] = 24;
-        ElephantMoves[28][1][0] = 29;
-        ElephantMoves[28][1][1] = 30;
-        ElephantMoves[28][1][2] = 31;
-        ElephantMoves[28][2][0] = 20;
-        ElephantMoves[28][2][1] = 12;
-        ElephantMoves[28][2][2] = 4;
-        ElephantMoves[28][3][0] = 36;
-        ElephantMoves[28][3][1] = 44;
-        ElephantMoves[28][3][2] = 52;
-        ElephantMoves[28][3][3] = 60;
-
-        ElephantMoves[29] = new int[4][];
-        ElephantMoves[29][0] = new int[5];
-        ElephantMoves[29][1] = new int[2];
-        ElephantMoves[29][2] = new int[3];
-        ElephantMoves[29][3] = new int[4];
-        ElephantMoves[29][0][0] = 28;
-        ElephantMoves[29][0][1] = 27;
-        ElephantMoves[29][0][2] = 26;
-        ElephantMoves[29][0][3] = 25;
-        ElephantMoves[29][0][4] = 24;
-        ElephantMoves[29][1][0] = 30;
-        ElephantMoves[29][1][1] = 31;
-        ElephantMoves[29][2][0] = 21;
-        ElephantMoves[29][2][1] = 13;
-        ElephantMoves[29][2][2] = 5;
-        ElephantMoves[29][3][0] = 37;
-        ElephantMoves[29][3][1] = 45;
-        ElephantMoves[29][3][2] = 53;
-        ElephantMoves[29][3][3] = 61;
-
-        ElephantMoves[30] = new int[4][];
-        ElephantMoves[30][0] = new int[6];
-        ElephantMoves[30][1] = new int[1];
-        ElephantMoves[30][2] = new int[3];
-        ElephantMoves[30][3] = new int[4];
-        ElephantMoves[30][0][0] = 29;
-        ElephantMoves[30][0][1] = 28;
-        ElephantMoves[30][0][2] = 27;
-        ElephantMoves[30][0][3] = 26;
-        ElephantMoves[30][0][4] = 25;
-        ElephantMoves[30][0][5] = 24;
-        ElephantMoves[30][1][0] = 31;
-        ElephantMoves[30][2][0] = 22;
-        ElephantMoves[30][2][1] = 14;
-        ElephantMoves[30][2][2] = 6;
-        ElephantMoves[30][3][0] = 38;
-        ElephantMoves[30][3][1] = 46;
-        ElephantMoves[30][3][2] = 54;
-        ElephantMoves[30][3][3] = 62;
-
-        ElephantMoves[31] = new int[3][];
-        ElephantMoves[31][0] = new int[7];
-        ElephantMoves[31][1] = new int[3];
-        ElephantMoves[31][2] = new int[4];
-        ElephantMoves[31][0][0] = 30;
-        ElephantMoves[31][0][1] = 29;
-        ElephantMoves[31][0][2] = 28;
-        ElephantMoves[31][0][3] = 27;
-        ElephantMoves[31][0][4] = 26;
-        ElephantMoves[31][0][5] = 25;
-        ElephantMoves[31][0][6] = 24;
-        ElephantMoves[31][1][0] = 23;
-        ElephantMoves[31][1][1] = 15;
-        ElephantMoves[31][1][2] = 7;
-        ElephantMoves[31][2][0] = 39;
-        ElephantMoves[31][2][1] = 47;
-        ElephantMoves[31][2][2] = 55;
-        ElephantMoves[31][2][3] = 63;
-
-        ElephantMoves[32] = new int[3][];
-        ElephantMoves[32][0] = new int[7];
-        ElephantMoves[32][1] = new int[3];
-        ElephantMoves[32][2] = new int[4];
-        ElephantMoves[32][0][0] = 33;
-        ElephantMoves[32][0][1] = 34;
-        ElephantMoves[32][0][2] = 35;
-        ElephantMoves[32][0][3] = 36;
-        ElephantMoves[32][0][4] = 37;
-        ElephantMoves[32][0][5] = 38;
-        ElephantMoves[32][0][6] = 39;
-        ElephantMoves[32][1][0] = 40;
-        ElephantMoves[32][1][1] = 48;
-        ElephantMoves[32][1][2] = 56;
-        ElephantMoves[32][2][0] = 24;
-        ElephantMoves[32][2][1] = 16;
-        ElephantMoves[32][2][2] = 8;
-        ElephantMoves[32][2][3] = 0;
-
-        ElephantMoves[33] = new int[4][];
-        ElephantMoves[33][0] = new int[1];
-        ElephantMoves[33][1] = new int[6];
-        ElephantMoves[33][2] = new int[4];
-        ElephantMoves[33][3] = new int[3];
-        ElephantMoves[33][0][0] = 32;
-        ElephantMoves[33][1][0] = 34;
-        ElephantMoves[33][1][1] = 35;
-        ElephantMoves[33][1][2] = 36;
-        ElephantMoves[33][1][3] = 37;
-        ElephantMoves[33][1][4] = 38;
-        ElephantMoves[33][1][5] = 39;
-        ElephantMoves[33][2][0] = 25;
-        ElephantMoves[33][2][1] = 17;
-        ElephantMoves[33][2][2] = 9;
-        ElephantMoves[33][2][3] = 1;
-        ElephantMoves[33][3][0] = 41;
-        ElephantMoves[33][3][1] = 49;
-        ElephantMoves[33][3][2] = 57;
-
-        ElephantMoves[34] = new int[4][];
-        ElephantMoves[34][0] = new int[2];
-        ElephantMoves[34][1] = new int[5];
-        ElephantMoves[34][2] = new int[4];
-        ElephantMoves[34][3] = new int[3];
-        ElephantMoves[34][0][0] = 33;
-        ElephantMoves[34][0][1] = 32;
-        ElephantMoves[34][1][0] = 35;
-        ElephantMoves[34][1][1] = 36;
-        ElephantMoves[34][1][2] = 37;
-        ElephantMoves[34][1][3] = 38;
-        ElephantMoves[34][1][4] = 39;
-        ElephantMoves[34][2][0] = 26;
-        ElephantMoves[34][2][1] = 18;
-        ElephantMoves[34][2][2] = 10;
-        ElephantMoves[34][2][3] = 2;
-        ElephantMoves[34][3][0] = 42;
-        ElephantMoves[34][3][1] = 50;
-        ElephantMoves[34][3][2] = 58;
-
-        ElephantMoves[35] = new int[4][];
-        ElephantMoves[35][0] = new int[3];
-        ElephantMoves[35][1] = new int[4];
-        ElephantMoves[35][2] = new int[4];
-        ElephantMoves[35][3] = new int[3];
-        ElephantMoves[35][0][0] = 34;
-        ElephantMoves[35][0][1] = 33;
-        ElephantMoves[35][0][2] = 32;
-        ElephantMoves[35][1][0] = 36;
-        ElephantMoves[35][1][1] = 37;
-        ElephantMoves[35][1][2] = 38;
-        ElephantMoves[35][1][3] = 39;
-        ElephantMoves[35][2][0] = 27;
-        ElephantMoves[35][2][1] = 19;
-        ElephantMoves[35][2][2] = 11;
-        ElephantMoves[35][2][3] = 3;
-        ElephantMoves[35][3][0] = 43;
-        ElephantMoves[35][3][1] = 51;
-        ElephantMoves[35][3][2] = 59;
-
-        ElephantMoves[36] = new int[4][];
-        ElephantMoves[36][0] = new int[4];
-        ElephantMoves[36][1] = new int[3];
-        ElephantMoves[36][2] = new int[4];
-        ElephantMoves[36][3] = new int[3];
-        ElephantMoves[36][0][0] = 35;
-        ElephantMoves[36][0][1] = 34;
-        ElephantMoves[36][0][2] = 33;
-        ElephantMoves[36][0][3] = 32;
-        ElephantMoves[36][1][0] = 37;
-        ElephantMoves[36][1][1] = 38;
-        ElephantMoves[36][1][2] = 39;
-        ElephantMoves[36][2][0] = 28;
-        ElephantMoves[36][2][1] = 20;
-        ElephantMoves[36][2][2] = 12;
-        ElephantMoves[36][2][3] = 4;
-        ElephantMoves[36][3][0] = 44;
-        ElephantMoves[36][3][1] = 52;
-        ElephantMoves[36][3][2] = 60;
-
-        ElephantMoves[37] = new int[4][];
-        ElephantMoves[37][0] = new int[5];
-        ElephantMoves[37][1] = new int[2];
-        ElephantMoves[37][2] = new int[4];
-        ElephantMoves[37][3] = new int[3];
-        ElephantMoves[37][0][0] = 36;
-        ElephantMoves[37][0][1] = 35;
-        ElephantMoves[37][0][2] = 34;
-        ElephantMoves[37][0][3] = 33;
-        ElephantMoves[37][0][4] = 32;
-        ElephantMoves[37][1][0] = 38;
-        ElephantMoves[37][1][1] = 39;
-        ElephantMoves[37][2][0] = 29;
-        ElephantMoves[37][2][1] = 21;
-        ElephantMoves[37][2][2] = 13;
-        ElephantMoves[37][2][3] = 5;
-        ElephantMoves[37][3][0] = 45;
-        ElephantMoves[37][3][1] = 53;
-        ElephantMoves[37][3][2] = 61;
-
-        ElephantMoves[38] = new int[4][];
-        ElephantMoves[38][0] = new int[6];
-        ElephantMoves[38][1] = new int[1];
-        ElephantMoves[38][2] = new int[4];
-        ElephantMoves[38][3] = new int[3];
-        ElephantMoves[38][0][0] = 37;
-        ElephantMoves[38][0][1] = 36;
-        ElephantMoves[38][0][2] = 35;
-        ElephantMoves[38][0][3] = 34;
-        ElephantMoves[38][0][4] = 33;
-        ElephantMoves[38][0][5] = 32;
-        ElephantMoves[38][1][0] = 39;
-        ElephantMoves[38][2][0] = 30;
-        ElephantMoves[38][2][1] = 22;
-        ElephantMoves[38][2][2] = 14;
-        ElephantMoves[38][2][3] = 6;
-        ElephantMoves[38][3][0] = 46;
-        ElephantMoves[38][3][1] = 54;
-        ElephantMoves[38][3][2] = 62;
-
-        ElephantMoves[39] = new int[3][];
-        ElephantMoves[39][0] = new int[7];
-        ElephantMoves[39][1] = new int[4];
-        ElephantMoves[39][2] = new int[3];
-        ElephantMoves[39][0][0] = 38;
-        ElephantMoves[39][0][1] = 37;
-        ElephantMoves[39][0][2] = 36;
-        ElephantMoves[39][0][3] = 35;
-        ElephantMoves[39][0][4] = 34;
-        ElephantMoves[39][0][5] = 33;
-        ElephantMoves[39][0][6] = 32;
-        ElephantMoves[39][1][0] = 31;
-        ElephantMoves[39][1][1] = 23;
-        ElephantMoves[39][1][2] = 15;
-        ElephantMoves[39][1][3] = 7;
-        ElephantMoves[39][2][0] = 47;
-        ElephantMoves[39][2][1] = 55;
-        ElephantMoves[39][2][2] = 63;
-
-        ElephantMoves[40] = new int[3][];
-        ElephantMoves[40][0] = new int[7];
-        ElephantMoves[40][1] = new int[5];
-        ElephantMoves[40][2] = new int[2];
-        ElephantMoves[40][0][0] = 41;
-        ElephantMoves[40][0][1] = 42;
-        ElephantMoves[40][0][2] = 43;
-        ElephantMoves[40][0][3] = 44;
-        ElephantMoves[40][0][4] = 45;
-        ElephantMoves[40][0][5] = 46;
-        ElephantMoves[40][0][6] = 47;
-        ElephantMoves[40][1][0] = 32;
-        ElephantMoves[40][1][1] = 24;
-        ElephantMoves[40][1][2] = 16;
-        ElephantMoves[40][1][3] = 8;
-        ElephantMoves[40][1][4] = 0;
-        ElephantMoves[40][2][0] = 48;
-        ElephantMoves[40][2][1] = 56;
-
-        ElephantMoves[41] = new int[4][];
-        ElephantMoves[41][0] = new int[1];
-        ElephantMoves[41][1] = new int[6];
-        ElephantMoves[41][2] = new int[5];
-        ElephantMoves[41][3] = new int[2];
-        ElephantMoves[41][0][0] = 40;
-        ElephantMoves[41][1][0] = 42;
-        ElephantMoves[41][1][1] = 43;
-        ElephantMoves[41][1][2] = 44;
-        ElephantMoves[41][1][3] = 45;
-        ElephantMoves[41][1][4] = 46;
-        ElephantMoves[41][1][5] = 47;
-        ElephantMoves[41][2][0] = 33;
-        ElephantMoves[41][2][1] = 25;
-        ElephantMoves[41][2][2] = 17;
-        ElephantMoves[41][2][3] = 9;
-        ElephantMoves[41][2][4] = 1;
-        ElephantMoves[41][3][0] = 49;
-        ElephantMoves[41][3][1] = 57;
-
-        ElephantMoves[42] = new int[4][];
-        ElephantMoves[42][0] = new int[2];
-        ElephantMoves[42][1] = new int[5];
-        ElephantMoves[42][2] = new int[5];
-        ElephantMoves[42][3] = new int[2];
-        ElephantMoves[42][0][0] = 41;
-        ElephantMoves[42][0][1] = 40;
-        ElephantMoves[42][1][0] = 43;
-        ElephantMoves[42][1][1] = 44;
-        ElephantMoves[42][1][2] = 45;
-        ElephantMoves[42][1][3] = 46;
-        ElephantMoves[42][1][4] = 47;
-        ElephantMoves[42][2][0] = 34;
-        ElephantMoves[42][2][1] = 26;
-        ElephantMoves[42][2][2] = 18;
-        ElephantMoves[42][2][3] = 10;
-        ElephantMoves[42][2][4] = 2;
-        ElephantMoves[42][3][0] = 50;
-        ElephantMoves[42][3][1] = 58;
-
-        ElephantMoves[43] = new int[4][];
-        ElephantMoves[43][0] = new int[3];
-        ElephantMoves[43][1] = new int[4];
-        ElephantMoves[43][2] = new int[5];
-        ElephantMoves[43][3] = new int[2];
-        ElephantMoves[43][0][0] = 42;
-        ElephantMoves[43][0][1] = 41;
-        ElephantMoves[43][0][2] = 40;
-        ElephantMoves[43][1][0] = 44;
-        ElephantMoves[43][1][1] = 45;
-        ElephantMoves[43][1][2] = 46;
-        ElephantMoves[43][1][3] = 47;
-        ElephantMoves[43][2][0] = 35;
-        ElephantMoves[43][2][1] = 27;
-        ElephantMoves[43][2][2] = 19;
-        ElephantMoves[43][2][3] = 11;
-        ElephantMoves[43][2][4] = 3;
-        ElephantMoves[43][3][0] = 51;
-        ElephantMoves[43][3][1] = 59;
-
-        ElephantMoves[44] = new int[4][];
-        ElephantMoves[44][0] = new int[4];
-        ElephantMoves[44][1] = new int[3];
-        ElephantMoves[44][2] = new int[5];
-        ElephantMoves[44][3] = new int[2];
-        ElephantMoves[44][0][0] = 43;
-        ElephantMoves[44][0][1] = 42;
-        ElephantMoves[44][0][2] = 41;
-        ElephantMoves[44][0][3] = 40;
-        ElephantMoves[44][1][0] = 45;
-        ElephantMoves[44][1][1] = 46;
-        ElephantMoves[44][1][2] = 47;
-        ElephantMoves[44][2][0] = 36;
-        ElephantMoves[44][2][1] = 28;
-        ElephantMoves[44][2][2] = 20;
-        ElephantMoves[44][2][3] = 12;
-        ElephantMoves[44][2][4] = 4;
-        ElephantMoves[44][3][0] = 52;
-        ElephantMoves[44][3][1] = 60;
-
-        ElephantMoves[45] = new int[4][];
-        ElephantMoves[45][0] = new int[5];
-        ElephantMoves[45][1] = new int[2];
-        ElephantMoves[45][2] = new int[5];
-        ElephantMoves[45][3] = new int[2];
-        ElephantMoves[45][0][0] = 44;
-        ElephantMoves[45][0][1] = 43;
-        ElephantMoves[45][0][2] = 42;
-        ElephantMoves[45][0][3] = 41;
-        ElephantMoves[45][0][4] = 40;
-        ElephantMoves[45][1][0] = 46;
-        ElephantMoves[45][1][1] = 47;
-        ElephantMoves[45][2][0] = 37;
-        ElephantMoves[45][2][1] = 29;
-        ElephantMoves[45][2][2] = 21;
-        ElephantMoves[45][2][3] = 13;
-        ElephantMoves[45][2][4] = 5;
-        ElephantMoves[45][3][0] = 53;
-        ElephantMoves[45][3][1] = 61;
-
-        ElephantMoves[46] = new int[4][];
-        ElephantMoves[46][0] = new int[6];
-        ElephantMoves[46][1] = new int[1];
-        ElephantMoves[46][2] = new int[5];
-        ElephantMoves[46][3] = new int[2];
-        ElephantMoves[46][0][0] = 45;
-        ElephantMoves[46][0][1] = 44;
-        ElephantMoves[46][0][2] = 43;
-        ElephantMoves[46][0][3] = 42;
-        ElephantMoves[46][0][4] = 41;
-        ElephantMoves[46][0][5] = 40;
-        ElephantMoves[46][1][0] = 47;
-        ElephantMoves[46][2][0] = 38;
-        ElephantMoves[46][2][1] = 30;
-        ElephantMoves[46][2][2] = 22;
-        ElephantMoves[46][2][3] = 14;
-        ElephantMoves[46][2][4] = 6;
-        ElephantMoves[46][3][0] = 54;
-        ElephantMoves[46][3][1] = 62;
-
-        ElephantMoves[47] = new int[3][];
-        ElephantMoves[47][0] = new int[7];
-        ElephantMoves[47][1] = new int[5];
-        ElephantMoves[47][2] = new int[2];
-        ElephantMoves[47][0][0] = 46;
-        ElephantMoves[47][0][1] = 45;
-        ElephantMoves[47][0][2] = 44;
-        ElephantMoves[47][0][3] = 43;
-        ElephantMoves[47][0][4] = 42;
-        ElephantMoves[47][0][5] = 41;
-        ElephantMoves[47][0][6] = 40;
-        ElephantMoves[47][1][0] = 39;
-        ElephantMoves[47][1][1] = 31;
-        ElephantMoves[47][1][2] = 23;
-        ElephantMoves[47][1][3] = 15;
-        ElephantMoves[47][1][4] = 7;
-        ElephantMoves[47][2][0] = 55;
-        ElephantMoves[47][2][1] = 63;
-
-        ElephantMoves[48] = new int[3][];
-        ElephantMoves[48][0] = new int[7];
-        ElephantMoves[48][1] = new int[6];
-        ElephantMoves[48][2] = new int[1];
-        ElephantMoves[48][0][0] = 49;
-        ElephantMoves[48][0][1] = 50;
-        ElephantMoves[48][0][2] = 51;
-        ElephantMoves[48][0][3] = 52;
-        ElephantMoves[48][0][4] = 53;
-        ElephantMoves[48][0][5] = 54;
-        ElephantMoves[48][0][6] = 55;
-        ElephantMoves[48][1][0] = 40;
-        ElephantMoves[48][1][1] = 32;
-        ElephantMoves[48][1][2] = 24;
-        ElephantMoves[48][1][3] = 16;
-        ElephantMoves[48][1][4] = 8;
-        ElephantMoves[48][1][5] = 0;
-        ElephantMoves[48][2][0] = 56;
-
-        ElephantMoves[49] = new int[4][];
-        ElephantMoves[49][0] = new int[1];
-        ElephantMoves[49][1] = new int[6];
-        ElephantMoves[49][2] = new int[6];
-        ElephantMoves[49][3] = new int[1];
-        ElephantMoves[49][0][0] = 48;
-        ElephantMoves[49][1][0] = 50;
-        ElephantMoves[49][1][1] = 51;
-        ElephantMoves[49][1][2] = 52;
-        ElephantMoves[49][1][3] = 53;
-        ElephantMoves[49][1][4] = 54;
-        ElephantMoves[49][1][5] = 55;
-        ElephantMoves[49][2][0] = 41;
-        ElephantMoves[49][2][1] = 33;
-        ElephantMoves[49][2][2] = 25;
-        ElephantMoves[49][2][3] = 17;
-        ElephantMoves[49][2][4] = 9;
-        ElephantMoves[49][2][5] = 1;
-        ElephantMoves[49][3][0] = 57;
-
-        ElephantMoves[50] = new int[4][];
-        ElephantMoves[50][0] = new int[2];
-        ElephantMoves[50][1] = new int[5];
-        ElephantMoves[50][2] = new int[6];
-        ElephantMoves[50][3] = new int[1];
-        ElephantMoves[50][0][0] = 49;
-        ElephantMoves[50][0][1] = 48;
-        ElephantMoves[50][1][0] = 51;
-        ElephantMoves[50][1][1] = 52;
-        ElephantMoves[50][1][2] = 53;
-        ElephantMoves[50][1][3] = 54;
-        ElephantMoves[50][1][4] = 55;
-        ElephantMoves[50][2][0] = 42;
-        ElephantMoves[50][2][1] = 34;
-        ElephantMoves[50][2][2] = 26;
-        ElephantMoves[50][2][3] = 18;
-        ElephantMoves[50][2][4] = 10;
-        ElephantMoves[50][2][5] = 2;
-        ElephantMoves[50][3][0] = 58;
-
-        ElephantMoves[51] = new int[4][];
-        ElephantMoves[51][0] = new int[3];
-        ElephantMoves[51][1] = new int[4];
-        ElephantMoves[51][2] = new int[6];
-        ElephantMoves[51][3] = new int[1];
-        ElephantMoves[51][0][0] = 50;
-        ElephantMoves[51][0][1] = 49;
-        ElephantMoves[51][0][2] = 48;
-        ElephantMoves[51][1][0] = 52;
-        ElephantMoves[51][1][1] = 53;
-        ElephantMoves[51][1][2] = 54;
-        ElephantMoves[51][1][3] = 55;
-        ElephantMoves[51][2][0] = 43;
-        ElephantMoves[51][2][1] = 35;
-        ElephantMoves[51][2][2] = 27;
-        ElephantMoves[51][2][3] = 19;
-        ElephantMoves[51][2][4] = 11;
-        ElephantMoves[51][2][5] = 3;
-        ElephantMoves[51][3][0] = 59;
-
-        ElephantMoves[52] = new int[4][];
-        ElephantMoves[52][0] = new int[4];
-        ElephantMoves[52][1] = new int[3];
-        ElephantMoves[52][2] = new int[6];
-        ElephantMoves[52][3] = new int[1];
-        ElephantMoves[52][0][0] = 51;
-        ElephantMoves[52][0][1] = 50;
-        ElephantMoves[52][0][2] = 49;
-        ElephantMoves[52][0][3] = 48;
-        ElephantMoves[52][1][0] = 53;
-        ElephantMoves[52][1][1] = 54;
-        ElephantMoves[52][1][2] = 55;
-        ElephantMoves[52][2][0] = 44;
-        ElephantMoves[52][2][1] = 36;
-        ElephantMoves[52][2][2] = 28;
-        ElephantMoves[52][2][3] = 20;
-        ElephantMoves[52][2][4] = 12;
-        ElephantMoves[52][2][5] = 4;
-        ElephantMoves[52][3][0] = 60;
-
-        ElephantMoves[53] = new int[4][];
-        ElephantMoves[53][0] = new int[5];
-        ElephantMoves[53][1] = new int[2];
-        ElephantMoves[53][2] = new int[6];
-        ElephantMoves[53][3] = new int[1];
-        ElephantMoves[53][0][0] = 52;
-        ElephantMoves[53][0][1] = 51;
-        ElephantMoves[53][0][2] = 50;
-        ElephantMoves[53][0][3] = 49;
-        ElephantMoves[53][0][4] = 48;
-        ElephantMoves[53][1][0] = 54;
-        ElephantMoves[53][1][1] = 55;
-        ElephantMoves[53][2][0] = 45;
-        ElephantMoves[53][2][1] = 37;
-        ElephantMoves[53][2][2] = 29;
-        ElephantMoves[53][2][3] = 21;
-        ElephantMoves[53][2][4] = 13;
-        ElephantMoves[53][2][5] = 5;
-        ElephantMoves[53][3][0] = 61;
-
-        ElephantMoves[54] = new int[4][];
-        ElephantMoves[54][0] = new int[6];
-        ElephantMoves[54][1] = new int[1];
-        ElephantMoves[54][2] = new int[6];
-        ElephantMoves[54][3] = new int[1];
-        ElephantMoves[54][0][0] = 53;
-        ElephantMoves[54][0][1] = 52;
-        ElephantMoves[54][0][2] = 51;
-        ElephantMoves[54][0][3] = 50;
-        ElephantMoves[54][0][4] = 49;
-        ElephantMoves[54][0][5] = 48;
-        ElephantMoves[54][1][0] = 55;
-        ElephantMoves[54][2][0] = 46;
-        ElephantMoves[54][2][1] = 38;
-        ElephantMoves[54][2][2] = 30;
-        ElephantMoves[54][2][3] = 22;
-        ElephantMoves[54][2][4] = 14;
-        ElephantMoves[54][2][5] = 6;
-        ElephantMoves[54][3][0] = 62;
-
-        ElephantMoves[55] = new int[3][];
-        ElephantMoves[55][0] = new int[7];
-        ElephantMoves[55][1] = new int[6];
-        ElephantMoves[55][2] = new int[1];
-        ElephantMoves[55][0][0] = 54;
-        ElephantMoves[55][0][1] = 53;
-        ElephantMoves[55][0][2] = 52;
-        ElephantMoves[55][0][3] = 51;
-        ElephantMoves[55][0][4] = 50;
-        ElephantMoves[55][0][5] = 49;
-        ElephantMoves[55][0][6] = 48;
-        ElephantMoves[55][1][0] = 47;
-        ElephantMoves[55][1][1] = 39;
-        ElephantMoves[55][1][2] = 31;
-        ElephantMoves[55][1][3] = 23;
-        ElephantMoves[55][1][4] = 15;
-        ElephantMoves[55][1][5] = 7;
-        ElephantMoves[55][2][0] = 63;
-
-        ElephantMoves[56] = new int[2][];
-        ElephantMoves[56][0] = new int[7];
-        ElephantMoves[56][1] = new int[7];
-        ElephantMoves[56][0][0] = 57;
-        ElephantMoves[56][0][1] = 58;
-        ElephantMoves[56][0][2] = 59;
-        ElephantMoves[56][0][3] = 60;
-        ElephantMoves[56][0][4] = 61;
-        ElephantMoves[56][0][5] = 62;
-        ElephantMoves[56][0][6] = 63;
-        ElephantMoves[56][1][0] = 48;
-        ElephantMoves[56][1][1] = 40;
-        ElephantMoves[56][1][2] = 32;
-        ElephantMoves[56][1][3] = 24;
-        ElephantMoves[56][1][4] = 16;
-        ElephantMoves[56][1][5] = 8;
-        ElephantMoves[56][1][6] = 0;
-
-        ElephantMoves[57] = new int[3][];
-        ElephantMoves[57][0] = new int[1];
-        ElephantMoves[57][1] = new int[6];
-        ElephantMoves[57][2] = new int[7];
-        ElephantMoves[57][0][0] = 56;
-        ElephantMoves[57][1][0] = 58;
-        ElephantMoves[57][1][1] = 59;
-        ElephantMoves[57][1][2] = 60;
-        ElephantMoves[57][1][3] = 61;
-        ElephantMoves[57][1][4] = 62;
-        ElephantMoves[57][1][5] = 63;
-        ElephantMoves[57][2][0] = 49;
-        ElephantMoves[57][2][1] = 41;
-        ElephantMoves[57][2][2] = 33;
-        ElephantMoves[57][2][3] = 25;
-        ElephantMoves[57][2][4] = 17;
-        ElephantMoves[57][2][5] = 9;
-        ElephantMoves[57][2][6] = 1;
-
-        ElephantMoves[58] = new int[3][];
-        ElephantMoves[58][0] = new int[2];
-        ElephantMoves[58][1] = new int[5];
-        ElephantMoves[58][2] = new int[7];
-        ElephantMoves[58][0][0] = 57;
-        ElephantMoves[58][0][1] = 56;
-        ElephantMoves[58][1][0] = 59;
-        ElephantMoves[58][1][1] = 60;
-        ElephantMoves[58][1][2] = 61;
-        ElephantMoves[58][1][3] = 62;
-        ElephantMoves[58][1][4] = 63;
-        ElephantMoves[58][2][0] = 50;
-        ElephantMoves[58][2][1] = 42;
-        ElephantMoves[58][2][2] = 34;
-        ElephantMoves[58][2][3] = 26;
-        ElephantMoves[58][2][4] = 18;
-        ElephantMoves[58][2][5] = 10;
-        ElephantMoves[58][2][6] = 2;
+        for (int square = 0; square < 64; square++) {
+            int row = square / 8;
+            int col = square % 8;
+
+            KingAttacks[square] = Steps(row, col, KING_STEPS);
+            KnightAttacks[square] = Steps(row, col, KNIGHT_STEPS);
+            BoatAttacks[square] = Steps(row, col, BOAT_STEPS);
+
+            for (int direction = 0; direction < 4; direction++) {
+                int[] step = ELEPHANT_STEPS[direction];
+
+                for (int r = row + step[0], c = col + step[1]; OnBoard(r, c); r += step[0], c += step[1]) {
+                    ElephantRays[direction][square] |= Bit(r, c);
+                }
+            }
+
+            for (int colour = 0; colour < 4; colour++) {
+                int[] forward = PAWN_STEPS[colour];
+                int r = row + forward[0];
+                int c = col + forward[1];
+
+                // A pawn on its last row or column cannot move any further.
+                if (!OnBoard(r, c))
+                    continue;
+
+                PawnPushes[colour][square] = Bit(r, c);
+
+                // Captures are one step forward and one to either side.
+                if (forward[0] == 0) {
+                    PawnCaptures[colour][square] = (OnBoard(r - 1, c) ? Bit(r - 1, c) : 0) | (OnBoard(r + 1, c) ? Bit(r + 1, c) : 0);
+                } else {
+                    PawnCaptures[colour][square] = (OnBoard(r, c - 1) ? Bit(r, c - 1) : 0) | (OnBoard(r, c + 1) ? Bit(r, c + 1) : 0);
+                }
+            }
+        }
+
+        for (int colour = 0; colour < 4; colour++) {
+            for (int square = 0; square < 64; square++) {
+                for (long targets = PawnCaptures[colour][square]; targets != 0; targets &= targets - 1) {
+                    PawnAttackers[colour][Long.numberOfTrailingZeros(targets)] |= 1L << square;
+                }
+            }
+        }
+    }
 
-        ElephantMoves[59] = new int[3][];
-        ElephantMoves[59][0] = new int[3];
-        ElephantMoves[59][1] = new int[4];
-        ElephantMoves[59][2] = new int[7];
-        ElephantMoves[59][0][0] = 58;
-        ElephantMoves[59][0][1] = 57;
-        ElephantMoves[59][0][2] = 56;
-        ElephantMoves[59][1][0] = 60;
-        ElephantMoves[59][1][1] = 61;
-        ElephantMoves[59][1][2] = 62;
-        ElephantMoves[59][1][3] = 63;
-        ElephantMoves[59][2][0] = 51;
-        ElephantMoves[59][2][1] = 43;
-        ElephantMoves[59][2][2] = 35;
-        ElephantMoves[59][2][3] = 27;
-        ElephantMoves[59][2][4] = 19;
-        ElephantMoves[59][2][5] = 11;
-        ElephantMoves[59][2][6] = 3;
+    // The squares an elephant on the given square attacks: each ray up to and including the first
+    // occupied square. Friendly pieces still have to be removed by the caller.
+    public static long ElephantAttacks(int square, long occupied) {
+        long attacks = 0;
+
+        for (int direction = 0; direction < 4; direction++) {
+            long ray = ElephantRays[direction][square];
+            long blockers = ray & occupied;
+
+            if (blockers != 0) {
+                // North and east increase the square number, so the nearest blocker is the lowest bit.
+                int blocker = (direction == NORTH || direction == EAST) ?
+                        Long.numberOfTrailingZeros(blockers) : 63 - Long.numberOfLeadingZeros(blockers);
+                ray ^= ElephantRays[direction][blocker];
+            }
+            attacks |= ray;
+        }
+        return attacks;
+    }
 
-        ElephantMoves[60] = new int[3][];
-        ElephantMoves[60][0] = new int[4];
-        ElephantMoves[60][1] = new int[3];
-        ElephantMoves[60][2] = new int[7];
-        ElephantMoves[60][0][0] = 59;
-        ElephantMoves[60][0][1] = 58;
-        ElephantMoves[60][0][2] = 57;
-        ElephantMoves[60][0][3] = 56;
-        ElephantMoves[60][1][0] = 61;
-        ElephantMoves[60][1][1] = 62;
-        ElephantMoves[60][1][2] = 63;
-        ElephantMoves[60][2][0] = 52;
-        ElephantMoves[60][2][1] = 44;
-        ElephantMoves[60][2][2] = 36;
-        ElephantMoves[60][2][3] = 28;
-        ElephantMoves[60][2][4] = 20;
-        ElephantMoves[60][2][5] = 12;
-        ElephantMoves[60][2][6] = 4;
+    private static long Steps(int row, int col, int[][] steps) {
+        long attacks = 0;
 
-        ElephantMoves[61] = new int[3][];
-        ElephantMoves[61][0] = new int[5];
-        ElephantMoves[61][1] = new int[2];
-        ElephantMoves[61][2] = new int[7];
-        ElephantMoves[61][0][0] = 60;
-        ElephantMoves[61][0][1] = 59;
-        ElephantMoves[61][0][2] = 58;
-        ElephantMoves[61][0][3] = 57;
-        ElephantMoves[61][0][4] = 56;
-        ElephantMoves[61][1][0] = 62;
-        ElephantMoves[61][1][1] = 63;
-        ElephantMoves[61][2][0] = 53;
-        ElephantMoves[61][2][1] = 45;
-        ElephantMoves[61][2][2] = 37;
-        ElephantMoves[61][2][3] = 29;
-        ElephantMoves[61][2][4] = 21;
-        ElephantMoves[61][2][5] = 13;
-        ElephantMoves[61][2][6] = 5;
+        for (int[] step : steps) {
+            if (OnBoard(row + step[0], col + step[1]))
+                attacks |= Bit(row + step[0], col + step[1]);
+        }
+        return attacks;
+    }
 
-        ElephantMoves[62] = new int[3][];
-        ElephantMoves[62][0] = new int[6];
-        ElephantMoves[62][1] = new int[1];
-        ElephantMoves[62][2] = new int[7];
-        ElephantMoves[62][0][0] = 61;
-        ElephantMoves[62][0][1] = 60;
-        ElephantMoves[62][0][2] = 59;
-        ElephantMoves[62][0][3] = 58;
-        ElephantMoves[62][0][4] = 57;
-        ElephantMoves[62][0][5] = 56;
-        ElephantMoves[62][1][0] = 63;
-        ElephantMoves[62][2][0] = 54;
-        ElephantMoves[62][2][1] = 46;
-        ElephantMoves[62][2][2] = 38;
-        ElephantMoves[62][2][3] = 30;
-        ElephantMoves[62][2][4] = 22;
-        ElephantMoves[62][2][5] = 14;
-        ElephantMoves[62][2][6] = 6;
+    private static boolean OnBoard(int row, int col) {
+        return row >= 0 && row < 8 && col >= 0 && col < 8;
+    }
 
-        ElephantMoves[63] = new int[2][];
-        ElephantMoves[63][0] = new int[7];
-        ElephantMoves[63][1] = new int[7];
-        ElephantMoves[63][0][0] = 62;
-        ElephantMoves[63][0][1] = 61;
-        ElephantMoves[63][0][2] = 60;
-        ElephantMoves[63][0][3] = 59;
-        ElephantMoves[63][0][4] = 58;
-        ElephantMoves[63][0][5] = 57;
-        ElephantMoves[63][0][6] = 56;
-        ElephantMoves[63][1][0] = 55;
-        ElephantMoves[63][1][1] = 47;
-        ElephantMoves[63][1][2] = 39;
-        ElephantMoves[63][1][3] = 31;
-        ElephantMoves[63][1][4] = 23;
-        ElephantMoves[63][1][5] = 15;
-        ElephantMoves[63][1][6] = 7;
+    private static long Bit(int row, int col) {
+        return 1L << (row * 8 + col);
     }
-}
\ No newline at end of file
+}
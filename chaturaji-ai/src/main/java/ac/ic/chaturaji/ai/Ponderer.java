@@ -0,0 +1,226 @@
+package ac.ic.chaturaji.ai;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Searches while the human players think. Once an AI colour has moved, the line of play its search
+ * expects is followed to the next turn of an AI colour, and that position is searched in the
+ * background with the engine that colour will play with. If the humans play the expected moves the
+ * result is ready (or on its way) when the turn comes; if they do not, the search is cancelled as soon
+ * as a move leaves the line. Either way the transposition table of the engine keeps what the search
+ * stored, so the next search of the game starts warm.
+ *
+ * Pondering is off unless the system property chaturaji.ai.ponder is set to true. All the games of a
+ * Ponderer share a pool of chaturaji.ai.ponder.threads threads (by default half of the processors), each
+ * ponder searching with a single thread at the lowest priority, so that pondering uses the processors
+ * left idle by the live searches rather than competing with them.
+ *
+ * @author dg3213
+ */
+public class Ponderer {
+    // Milliseconds between requests to stop a search that is being cancelled.
+    private static final long CANCEL_POLL = 10;
+
+    protected Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final ThreadPoolExecutor Threads;
+
+    // The ponder of each game, at most one per game.
+    private final Map<String, Ponder> Ponders = new ConcurrentHashMap<>();
+
+    public static boolean Enabled() {
+        return Boolean.getBoolean("chaturaji.ai.ponder");
+    }
+
+    static int PonderThreads() {
+        return Math.max(1, Integer.getInteger("chaturaji.ai.ponder.threads", Runtime.getRuntime().availableProcessors() / 2));
+    }
+
+    public Ponderer() {
+        this(PonderThreads());
+    }
+
+    public Ponderer(int threads) {
+        Threads = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES, new LinkedBlockingQueue<Runnable>(),
+                new ThreadFactory() {
+                    @Override
+                    public Thread newThread(Runnable runnable) {
+                        Thread thread = new Thread(runnable, "ponder");
+                        thread.setDaemon(true);
+                        thread.setPriority(Thread.MIN_PRIORITY);
+                        return thread;
+                    }
+                });
+        Threads.allowCoreThreadTimeOut(true);
+    }
+
+    // Start pondering the position reached from the board by the expected moves once it is the given
+    // colour's turn, replacing any ponder of the game. The search keeps to the depth and node limits
+    // but not the time, as nobody is waiting for it. Returns false if the expected moves run out or
+    // stop making sense before the colour's turn, in which case there is nothing to ponder. Games
+    // without an id are not pondered.
+    public boolean Start(String gameId, AIBoard board, List<AIMove> expected, int colour, SearchEngine engine, SearchLimits limits) {
+        if (gameId == null)
+            return false;
+
+        Cancel(gameId);
+
+        AIBoard line = board.clone();
+        Set<Long> keys = new HashSet<>();
+        AIMoveGenerator moveGenerator = new AIMoveGenerator();
+        int[] moves = new int[GameConstants.MAX_MOVES];
+        int next = 0;
+
+        while (line.getCurrentPlayer() != colour) {
+            int player = line.getCurrentPlayer();
+
+            if (moveGenerator.generateMoves(line, moves, 0, player) == 0) {
+                // A colour without moves is passed over.
+                line.NextPlayer();
+            } else if (next < expected.size() && line.FindColourPieceInSquare(expected.get(next).getSource()) == player) {
+                line.ApplyMove(expected.get(next++));
+            } else {
+                return false;
+            }
+            keys.add(line.ZobristKey());
+        }
+
+        final Ponder ponder = new Ponder(engine, line.ZobristKey(), keys);
+        final AIBoard position = line;
+        final SearchLimits ponderLimits = new SearchLimits(limits.getDepth(), 0, limits.getNodes(), 1);
+
+        ponder.Task = new FutureTask<>(new Callable<SearchResult>() {
+            @Override
+            public SearchResult call() {
+                synchronized (ponder.Engine) {
+                    if (ponder.Cancelled)
+                        return null;
+
+                    SearchResult result = ponder.Engine.Search(position, ponderLimits);
+                    return ponder.Cancelled ? null : result;
+                }
+            }
+        });
+
+        Ponders.put(gameId, ponder);
+        Threads.execute(ponder.Task);
+        return true;
+    }
+
+    // Tell the ponder of the game about the board after a move. If the move left the expected line the
+    // ponder is cancelled.
+    public void Moved(String gameId, AIBoard board) {
+        Ponder ponder = (gameId == null) ? null : Ponders.get(gameId);
+
+        if (ponder != null && !ponder.Line.contains(board.ZobristKey())) {
+            logger.debug("Ponder miss in game " + gameId);
+            Cancel(gameId);
+        }
+    }
+
+    // Finish the ponder of the game now that its board is to be searched for real. If the ponder searched
+    // this board, wait up to the given number of milliseconds (0 for as long as it takes) for it to
+    // complete and return its result. Otherwise, or if it does not complete in time, the ponder is
+    // cancelled and null is returned.
+    public SearchResult Finish(String gameId, AIBoard board, long wait) {
+        Ponder ponder = (gameId == null) ? null : Ponders.remove(gameId);
+
+        if (ponder == null)
+            return null;
+
+        if (ponder.Key == board.ZobristKey()) {
+            try {
+                SearchResult result = (wait > 0) ? ponder.Task.get(wait, TimeUnit.MILLISECONDS) : ponder.Task.get();
+
+                if (result != null) {
+                    logger.debug("Ponder hit in game " + gameId + ": " + result);
+                    return result;
+                }
+            } catch (TimeoutException | ExecutionException e) {
+                // Search for real, from the table the ponder has filled.
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        Stop(ponder);
+        return null;
+    }
+
+    // Cancel the ponder of the game, if any, and wait until its engine is free.
+    public void Cancel(String gameId) {
+        Ponder ponder = (gameId == null) ? null : Ponders.remove(gameId);
+
+        if (ponder != null)
+            Stop(ponder);
+    }
+
+    // The limits of a search that has already spent the given milliseconds waiting for a ponder to finish.
+    public static SearchLimits Remaining(SearchLimits limits, long elapsed) {
+        if (limits.getMoveTime() == 0 || elapsed <= 0)
+            return limits;
+
+        return new SearchLimits(limits.getDepth(), Math.max(1, limits.getMoveTime() - elapsed), limits.getNodes(), limits.getThreads());
+    }
+
+    // Number of games being pondered or waiting for a thread to ponder on.
+    public int getPondering() {
+        return Ponders.size();
+    }
+
+    private void Stop(Ponder ponder) {
+        ponder.Cancelled = true;
+
+        // A ponder still waiting for a thread never runs.
+        if (Threads.remove(ponder.Task))
+            return;
+
+        // Keep asking the engine to stop, in case its search had not started yet when first asked.
+        while (!ponder.Task.isDone()) {
+            ponder.Engine.Cancel();
+
+            try {
+                ponder.Task.get(CANCEL_POLL, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // Ask again.
+            } catch (ExecutionException | CancellationException e) {
+                break;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+    }
+
+    // What is known of a game's ponder: the engine searching, the position it searches and the keys of
+    // the positions on the way to it.
+    private static class Ponder {
+        final SearchEngine Engine;
+        final long Key;
+        final Set<Long> Line;
+        volatile boolean Cancelled;
+        FutureTask<SearchResult> Task;
+
+        Ponder(SearchEngine engine, long key, Set<Long> line) {
+            Engine = engine;
+            Key = key;
+            Line = line;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package ac.ic.chaturaji.ai;
+
+import java.util.Arrays;
+
+/**
+ * Transposition table for MaxN, which scores a position for all four colours at once. A score vector
+ * packs the score of each colour into SCORE_BITS bits of a long (see Vector and Score), so that MaxN
+ * can pass vectors around without allocating.
+ *
+ * Each slot takes two longs: the Zobrist key XORed with the data word, and the data word packing the
+ * vector, the depth it was searched to, whether it is exact or only a lower bound on the score of the
+ * colour to move, and the best move. A position maps to a single slot and a new entry always replaces
+ * the old one. As in TranspositionTable, an entry torn by two threads writing at once no longer
+ * matches the key, so the root threads of MaxN share one table without locking.
+ *
+ * @author dg3213
+ */
+public class ScoreVectorTable {
+    public static final int DEFAULT_SIZE_MB = 4;
+
+    // Each colour's score must lie between 0 and SCORE_MASK.
+    public static final int SCORE_BITS = 10;
+    public static final int SCORE_MASK = (1 << SCORE_BITS) - 1;
+
+    private static final int SLOT_LONGS = 2;
+
+    // Layout of the data word
+    private static final long VECTOR_MASK = (1L << (4 * SCORE_BITS)) - 1;
+    private static final int DEPTH_SHIFT = 40;
+    private static final int DEPTH_MASK = 0x3F;
+    private static final int FLAG_SHIFT = 46;
+    private static final long VALID = 1L << 48;
+    private static final int MOVE_SHIFT = 49;
+    private static final int MOVE_MASK = 0x1FFF;
+
+    private final long Table[];
+    private final int SlotMask;
+
+    public ScoreVectorTable() {
+        this(DEFAULT_SIZE_MB);
+    }
+
+    public ScoreVectorTable(int sizeMB) {
+        int slots = TranspositionTable.Slots(sizeMB, SLOT_LONGS);
+
+        Table = new long[slots * SLOT_LONGS];
+        SlotMask = slots - 1;
+    }
+
+    // Memory taken by the table's entries, in bytes.
+    public long Bytes() {
+        return Table.length * 8L;
+    }
+
+    public void Clear() {
+        Arrays.fill(Table, 0);
+    }
+
+    // The entry stored for the board, or 0 if there is none. Read it with EntryVector, EntryDepth,
+    // EntryFlag and EntryMove.
+    public long Find(AIBoard board) {
+        long zobristKey = board.ZobristKey();
+        int slot = ((int) zobristKey & SlotMask) * SLOT_LONGS;
+
+        // Read the data word once, another thread may be writing the slot at the same time.
+        long data = Table[slot + 1];
+
+        if ((data & VALID) != 0 && (Table[slot] ^ data) == zobristKey)
+            return data;
+
+        return 0;
+    }
+
+    // Save the vector of the board with its depth and flag (GameConstants.EXACT_VALUE or LOWER_BOUND),
+    // and the best move encoded as by EncodedMove, or EncodedMove.NONE if there is none.
+    public void Save(AIBoard board, long vector, int depth, int flag, int bestMove) {
+        long zobristKey = board.ZobristKey();
+        int slot = ((int) zobristKey & SlotMask) * SLOT_LONGS;
+
+        long data = vector
+                | ((long) Math.min(depth, DEPTH_MASK) << DEPTH_SHIFT)
+                | ((long) flag << FLAG_SHIFT)
+                | VALID
+                | ((long) TranspositionTable.PackMove(bestMove) << MOVE_SHIFT);
+
+        Table[slot] = zobristKey ^ data;
+        Table[slot + 1] = data;
+    }
+
+    public static long EntryVector(long entry) {
+        return entry & VECTOR_MASK;
+    }
+
+    public static int EntryDepth(long entry) {
+        return (int) (entry >>> DEPTH_SHIFT) & DEPTH_MASK;
+    }
+
+    public static int EntryFlag(long entry) {
+        return (int) (entry >>> FLAG_SHIFT) & 3;
+    }
+
+    // The best move, packed by TranspositionTable.PackMove, or 0 if there is none.
+    public static int EntryMove(long entry) {
+        return (int) (entry >>> MOVE_SHIFT) & MOVE_MASK;
+    }
+
+    // Pack the scores of the four colours, indexed by colour, into a vector.
+    public static long Vector(int[] scores) {
+        long vector = 0;
+
+        for (int colour = 0; colour < 4; colour++) {
+            assert scores[colour] >= 0 && scores[colour] <= SCORE_MASK : scores[colour];
+            vector |= (long) scores[colour] << (colour * SCORE_BITS);
+        }
+        return vector;
+    }
+
+    // The score of the given colour in a vector.
+    public static int Score(long vector, int colour) {
+        return (int) (vector >>> (colour * SCORE_BITS)) & SCORE_MASK;
+    }
+}
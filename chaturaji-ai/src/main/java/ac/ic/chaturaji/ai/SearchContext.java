@@ -0,0 +1,83 @@
+package ac.ic.chaturaji.ai;
+
+/**
+ * Everything a single search thread needs to walk the game tree without allocating: one stack of
+ * encoded moves shared by all plies, the static exchange balances of the quiescence captures
+ * alongside it, the move ordering tables and the result of the last transposition table probe.
+ *
+ * A node generates its moves on top of the stack with GenerateMoves, searches them and hands the
+ * space back with Release before returning, so the moves of every node on the current line stay
+ * in place underneath those of its children.
+ *
+ * @author dg3213
+ */
+public class SearchContext {
+    private final AIMoveGenerator MoveGenerator;
+
+    int Moves[];
+    int MoveCount;
+
+    // Filled in by MoveOrdering.OrderCaptures, at the same indices as the captures in Moves.
+    int Balances[];
+
+    // Distance from the root of the node being searched, used to index the killer moves.
+    int Ply;
+
+    final MoveOrdering Ordering;
+
+    // Filled in by TranspositionTable.FindBoard.
+    int EntryScore;
+    int EntryFlag;
+    int EntryDepth;
+
+    public SearchContext() {
+        MoveGenerator = new AIMoveGenerator();
+        Moves = new int[GameConstants.MAX_PLY * GameConstants.MAX_MOVES];
+        Balances = new int[Moves.length];
+        Ordering = new MoveOrdering();
+    }
+
+    // Prepare for a new search from the root.
+    public void Reset() {
+        MoveCount = 0;
+        Ply = 0;
+        Ordering.Clear();
+    }
+
+    // Push the moves of the given colour and return the index of the first one; they run up to MoveCount.
+    public int GenerateMoves(AIBoard board, int colour) {
+        int start = MoveCount;
+
+        Reserve(start);
+        MoveCount = MoveGenerator.generateMoves(board, Moves, start, colour);
+        return start;
+    }
+
+    // As GenerateMoves, but only the captures.
+    public int GenerateCaptures(AIBoard board, int colour) {
+        int start = MoveCount;
+
+        Reserve(start);
+        MoveCount = MoveGenerator.generateCaptures(board, Moves, start, colour);
+        return start;
+    }
+
+    // Pop the moves pushed by the GenerateMoves call that returned 'start'.
+    public void Release(int start) {
+        MoveCount = start;
+    }
+
+    // Make room for the moves of one colour above 'start'. The stack only grows when a search goes deeper
+    // than MAX_PLY.
+    private void Reserve(int start) {
+        if (Moves.length - start < GameConstants.MAX_MOVES) {
+            int[] moves = new int[Moves.length * 2];
+            System.arraycopy(Moves, 0, moves, 0, start);
+            Moves = moves;
+
+            int[] balances = new int[Moves.length];
+            System.arraycopy(Balances, 0, balances, 0, start);
+            Balances = balances;
+        }
+    }
+}
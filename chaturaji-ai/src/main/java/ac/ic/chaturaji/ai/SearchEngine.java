@@ -0,0 +1,25 @@
+package ac.ic.chaturaji.ai;
+
+/**
+ * A search for the best move of the player to move. AlphaBeta, MTDF, BestReplySearch, MaxN and
+ * MonteCarloSearch all implement it, so that EngineProfiles can give each AI level whichever engine
+ * suits it and the engines can be played against each other (see SelfPlay in the tests).
+ *
+ * An engine may keep what it learns between searches (e.g. its transposition table), so one engine
+ * should only search for one player of one game, and only one search at a time.
+ *
+ * @author dg3213
+ */
+public interface SearchEngine {
+
+    // Search for the move of the board's current player within the given limits.
+    SearchResult Search(AIBoard board, SearchLimits limits);
+
+    // Abandon the search in progress, which returns as soon as it can with a result that should not be
+    // used. Searches started afterwards are not affected.
+    void Cancel();
+
+    // Bytes held by what the engine keeps between searches, mostly its tables, so that EngineSessions can
+    // bound the memory of the engines it keeps.
+    long getTableBytes();
+}
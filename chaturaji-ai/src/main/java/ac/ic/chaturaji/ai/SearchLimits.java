@@ -0,0 +1,54 @@
+package ac.ic.chaturaji.ai;
+
+/**
+ * How far a SearchEngine may search for a move: the greatest depth, the time and nodes it may
+ * spend and the number of threads it may search with. A time or node limit of 0 means none.
+ *
+ * The time and node limits stop a search once it has a move from a completed iteration to fall
+ * back on, so a search always returns a move if there is one. Engines ignore the limits they have
+ * no use for, e.g. the threads of a single-threaded engine.
+ *
+ * @author dg3213
+ */
+public class SearchLimits {
+    private final int depth;
+    private final long moveTime;
+    private final int nodes;
+    private final int threads;
+
+    public SearchLimits(int depth) {
+        this(depth, 0, 0, 1);
+    }
+
+    // moveTime in milliseconds.
+    public SearchLimits(int depth, long moveTime, int nodes, int threads) {
+        if (depth < 1)
+            throw new IllegalArgumentException("Search depth must be at least 1: " + depth);
+
+        this.depth = depth;
+        this.moveTime = Math.max(0, moveTime);
+        this.nodes = Math.max(0, nodes);
+        this.threads = Math.max(1, threads);
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public long getMoveTime() {
+        return moveTime;
+    }
+
+    public int getNodes() {
+        return nodes;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    @Override
+    public String toString() {
+        return "depth " + depth + ", " + moveTime + "ms, " + nodes + " nodes, " + threads + " threads";
+    }
+}
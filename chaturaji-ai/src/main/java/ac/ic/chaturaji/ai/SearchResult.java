@@ -0,0 +1,60 @@
+package ac.ic.chaturaji.ai;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * What a SearchEngine found: the best move, or null if the player has none, its score from the point
+ * of view of the player to move, the line of play the engine expects to follow it (starting with the
+ * move itself), and how much searching it took.
+ *
+ * @author dg3213
+ */
+public class SearchResult {
+    private final AIMove move;
+    private final int score;
+    private final List<AIMove> principalVariation;
+    private final int depth;
+    private final int nodes;
+    private final long time;
+
+    public SearchResult(AIMove move, int score, List<AIMove> principalVariation, int depth, int nodes, long time) {
+        this.move = move;
+        this.score = score;
+        this.principalVariation = Collections.unmodifiableList(principalVariation);
+        this.depth = depth;
+        this.nodes = nodes;
+        this.time = time;
+    }
+
+    public AIMove getMove() {
+        return move;
+    }
+
+    public int getScore() {
+        return score;
+    }
+
+    public List<AIMove> getPrincipalVariation() {
+        return principalVariation;
+    }
+
+    // Depth of the last completed iteration.
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getNodes() {
+        return nodes;
+    }
+
+    // Milliseconds the search took.
+    public long getTime() {
+        return time;
+    }
+
+    @Override
+    public String toString() {
+        return "score " + score + " at depth " + depth + " (" + nodes + " nodes) in " + time + "ms";
+    }
+}
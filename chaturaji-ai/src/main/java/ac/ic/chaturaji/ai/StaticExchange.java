@@ -0,0 +1,145 @@
+package ac.ic.chaturaji.ai;
+
+/**
+ * Static exchange evaluation: plays out the captures on the destination square of a capture, each
+ * made with the least valuable piece that can reach it, to see what the capture wins or loses once
+ * the square is fought over.
+ *
+ * With four colours the exchange is not a simple alternation. After each capture the colours come
+ * round in turn order, and each one (other than the owner of the piece on the square) may take the
+ * piece or let it be, leaving the choice to the next colour. Each colour decides for itself, so it
+ * only captures if that gains it more material than letting the piece stand. The exchange ends once
+ * every other colour has let the piece be, or after MAX_CAPTURES captures.
+ *
+ * Evaluate returns the material, by GameConstants.PieceValues, won or lost by the colour making the
+ * capture. The gain of every colour is kept until the next call for Gain and Balance.
+ *
+ * @author dg3213
+ */
+public class StaticExchange {
+    // Recaptures played out after the first capture.
+    private static final int MAX_CAPTURES = 6;
+
+    // Each capture may be followed by up to three colours letting the piece be.
+    private static final int MAX_DEPTH = 1 + 4 * (MAX_CAPTURES + 1);
+
+    // The pieces from the least valuable to the most.
+    private static final int BY_VALUE[] = {GameConstants.PAWN, GameConstants.BOAT, GameConstants.KNIGHT, GameConstants.ELEPHANT, GameConstants.KING};
+
+    private AIBoard Board;
+    private int Square;
+
+    // Gain of each colour from the exchange, per depth of the recursion, and the gain from capturing
+    // while the alternative is worked out.
+    private final int Gains[][] = new int[MAX_DEPTH + 1][4];
+    private final int CaptureGains[][] = new int[MAX_DEPTH + 1][4];
+
+    private final int Result[] = new int[4];
+
+    // The material the colour making the capture wins, or loses if negative, once the exchange is played out.
+    public int Evaluate(AIBoard board, int move) {
+        int piece = EncodedMove.Piece(move);
+        int captured = EncodedMove.Captured(move);
+        int mover = piece % 4;
+
+        for (int colour = 0; colour < 4; colour++) {
+            Result[colour] = 0;
+        }
+
+        if (captured == GameConstants.EMPTY_SQUARE)
+            return 0;
+
+        Board = board;
+        Square = EncodedMove.Destination(move);
+
+        long occupied = (board.getBitBoard(GameConstants.ALL_YELLOW_PIECES) | board.getBitBoard(GameConstants.ALL_BLUE_PIECES) |
+                board.getBitBoard(GameConstants.ALL_RED_PIECES) | board.getBitBoard(GameConstants.ALL_GREEN_PIECES))
+                & ~GameConstants.SquareBits[EncodedMove.Source(move)];
+
+        Exchange(1, (mover + 1) % 4, mover, GameConstants.PieceValues[piece / 4], occupied, 0, 0);
+
+        for (int colour = 0; colour < 4; colour++) {
+            Result[colour] = Gains[1][colour];
+        }
+        Result[mover] += GameConstants.PieceValues[captured / 4];
+        Result[captured % 4] -= GameConstants.PieceValues[captured / 4];
+
+        return Result[mover];
+    }
+
+    // The material the colour gained or lost in the last exchange evaluated.
+    public int Gain(int colour) {
+        return Result[colour];
+    }
+
+    // The colour's gain less the gains of the other three, i.e. how the exchange changes its material
+    // against the rest, as EvaluateMaterial weighs it.
+    public int Balance(int colour) {
+        return 2 * Result[colour] - Result[0] - Result[1] - Result[2] - Result[3];
+    }
+
+    // Every piece of any colour attacking the square, among the occupied squares.
+    public static long AttackersTo(AIBoard board, int square, long occupied) {
+        long attackers = (PieceMoves.KingAttacks[square] & KindBoard(board, GameConstants.KING))
+                | (PieceMoves.KnightAttacks[square] & KindBoard(board, GameConstants.KNIGHT))
+                | (PieceMoves.BoatAttacks[square] & KindBoard(board, GameConstants.BOAT))
+                | (PieceMoves.ElephantAttacks(square, occupied) & KindBoard(board, GameConstants.ELEPHANT));
+
+        for (int colour = 0; colour < 4; colour++) {
+            attackers |= PieceMoves.PawnAttackers[colour][square] & board.getBitBoard(GameConstants.PAWN + colour);
+        }
+        return attackers & occupied;
+    }
+
+    // Work out the gains of every colour from the point where it is the turn of 'turn' and the piece on
+    // the square, worth 'value', belongs to 'owner', leaving them in Gains[depth].
+    private void Exchange(int depth, int turn, int owner, int value, long occupied, int captures, int passes) {
+        int[] gains = Gains[depth];
+
+        for (int colour = 0; colour < 4; colour++) {
+            gains[colour] = 0;
+        }
+
+        // The owner's turn does not count: it cannot take its own piece.
+        if (turn == owner)
+            turn = (turn + 1) % 4;
+
+        if (passes == 3 || captures == MAX_CAPTURES || depth == MAX_DEPTH)
+            return;
+
+        int next = (turn + 1) % 4;
+        long attackers = AttackersTo(Board, Square, occupied) & Board.getBitBoard(GameConstants.ALL_PIECES + turn);
+
+        if (attackers == 0) {
+            Exchange(depth + 1, next, owner, value, occupied, captures, passes + 1);
+            System.arraycopy(Gains[depth + 1], 0, gains, 0, 4);
+            return;
+        }
+
+        // Capture with the least valuable attacker...
+        int kind = 0;
+        while ((attackers & Board.getBitBoard(BY_VALUE[kind] + turn)) == 0)
+            kind++;
+        int attacker = BY_VALUE[kind];
+
+        long from = Long.lowestOneBit(attackers & Board.getBitBoard(attacker + turn));
+        int[] captureGains = CaptureGains[depth];
+
+        Exchange(depth + 1, next, turn, GameConstants.PieceValues[attacker / 4], occupied & ~from, captures + 1, 0);
+        System.arraycopy(Gains[depth + 1], 0, captureGains, 0, 4);
+        captureGains[turn] += value;
+        captureGains[owner] -= value;
+
+        // ...unless leaving the piece for the colours after this one pays this colour better.
+        Exchange(depth + 1, next, owner, value, occupied, captures, passes + 1);
+
+        if (captureGains[turn] > Gains[depth + 1][turn])
+            System.arraycopy(captureGains, 0, gains, 0, 4);
+        else
+            System.arraycopy(Gains[depth + 1], 0, gains, 0, 4);
+    }
+
+    private static long KindBoard(AIBoard board, int kind) {
+        return board.getBitBoard(kind) | board.getBitBoard(kind + 1) | board.getBitBoard(kind + 2) | board.getBitBoard(kind + 3);
+    }
+}
@@ -1,60 +1,80 @@
 package ac.ic.chaturaji.ai;
 
+import java.util.Arrays;
+
 /**
  * Created by dg3213 on 28/03/14.
+ *
+ * The table is a single long[] so that saving a position never allocates. Each slot takes two longs:
+ * the Zobrist key and a data word packing the score, depth, bound type, age (the search's GameTimer)
+ * and best move. Scores are in centipawns and always fit the 16 bits they are given (see
+ * AlphaBeta.MAXVAL). Slots are grouped into buckets of BUCKET_SIZE and the
+ * number of buckets is a power of two, so the bucket is found by masking the low bits of the key.
+ *
+ * The table may be shared by several search threads without locking. The key is stored XORed with
+ * the data word, so an entry torn by two threads writing at once no longer matches the
+ * position's key and is simply treated as a miss.
  */
+public class TranspositionTable {
+    public static final int DEFAULT_SIZE_MB = 8;
 
-class TableEntry {
-    private long zobristKey;
-    private int depth;
-    private int flag;
-    private double eval;
-    private int time;
+    private static final int BUCKET_SIZE = 4;
+    private static final int SLOT_LONGS = 2;
+    private static final int BUCKET_LONGS = BUCKET_SIZE * SLOT_LONGS;
 
-    public TableEntry() {
-        this.flag = -1;
-    }
+    // Layout of the data word
+    private static final int MOVE_MASK = 0xFFFF;
+    private static final int DEPTH_SHIFT = 16;
+    private static final int FLAG_SHIFT = 24;
+    private static final long VALID = 1L << 26;
+    private static final int AGE_SHIFT = 32;
+    private static final int AGE_MASK = 0xFFFF;
+    private static final int SCORE_SHIFT = 48;
 
-    public TableEntry(long zobrist, int depth, int flag, double eval, int timeStamp) {
-        this.zobristKey = zobrist;
-        this.depth = depth;
-        this.flag = flag;
-        this.eval = eval;
-        this.time = timeStamp;
-    }
+    // How many plies of depth one step of age is worth when choosing which slot to replace.
+    private static final int AGE_WEIGHT = 4;
 
-    public long getZobrist() {
-        return zobristKey;
-    }
+    private final long TransTable[];
+    private final int BucketMask;
 
-    public int getFlag() {
-        return flag;
+    // Construction
+    public TranspositionTable() {
+        this(DEFAULT_SIZE_MB);
     }
 
-    public double getEval() {
-        return eval;
+    public TranspositionTable(int sizeMB) {
+        int buckets = Slots(sizeMB, BUCKET_LONGS);
+
+        TransTable = new long[buckets * BUCKET_LONGS];
+        BucketMask = buckets - 1;
     }
 
-    public int getTime() {
-        return time;
+    // Number of slots of the given number of longs that a table of sizeMB holds, which is the largest power
+    // of two that fits (at least one), so that a slot is found by masking the low bits of a key. Shared by
+    // the tables that keep their entries in a single long[].
+    static int Slots(int sizeMB, int slotLongs) {
+        long bytes = Math.max(1, sizeMB) * 1024L * 1024L;
+        long slots = Math.max(1, Long.highestOneBit(bytes / (slotLongs * 8)));
+
+        // Keep the array index within the range of an int.
+        while (slots * slotLongs > Integer.MAX_VALUE - 8)
+            slots >>= 1;
+
+        return (int) slots;
     }
 
-    public int getDepth() {
-        return depth;
+    // Number of positions the table can hold.
+    public int Capacity() {
+        return (BucketMask + 1) * BUCKET_SIZE;
     }
-}
 
-public class TranspositionTable {
-    // Make sure hash table size is prime
-    private static final int HASH_SIZE = 131303;
-    private TableEntry TransTable[];
+    // Memory taken by the table's entries, in bytes.
+    public long Bytes() {
+        return TransTable.length * 8L;
+    }
 
-    // Construction
-    public TranspositionTable() {
-        TransTable = new TableEntry[HASH_SIZE];
-        for (int i = 0; i < HASH_SIZE; i++) {
-            TransTable[i] = new TableEntry();
-        }
+    public void Clear() {
+        Arrays.fill(TransTable, 0);
     }
 
     // Check to see if there is already a stored board position within the transposition table.
@@ -62,38 +82,143 @@ public class TranspositionTable {
     // so copy the values in the table to the input parameter 'move'.
     public boolean FindBoard(AIBoard board, AIMove move) {
         long zobristKey = board.ZobristKey();
-        // Find the board's hash position in Table
-        int key = Math.abs((int) (zobristKey) % HASH_SIZE);
-        TableEntry entry = TransTable[key];
-
-        // Check flag - empty entries are set to 1. If so then then there is not yet an entry corresponding to the board position.
-        if (entry.getFlag() == -1)
-            return false;
-
-        // Also make sure that the actual board zobrist keys match - not just the hash table entries!
-        if (entry.getZobrist() != zobristKey)
-            return false;
-
-        // If we find a match then copy into the given move parameter
-        move.setScore(entry.getEval());
-        move.setEvalType(entry.getFlag());
-        move.setDepth(entry.getDepth());
-        return true;
+        int bucket = (int) zobristKey & BucketMask;
+
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int slot = (bucket * BUCKET_SIZE + i) * SLOT_LONGS;
+
+            // Read the data word once, another thread may be writing the slot at the same time.
+            long data = TransTable[slot + 1];
+
+            // Make sure that the actual board zobrist keys match - not just the buckets!
+            if ((data & VALID) != 0 && (TransTable[slot] ^ data) == zobristKey) {
+                // If we find a match then copy into the given move parameter
+                move.setScore((short) (data >>> SCORE_SHIFT));
+                move.setEvalType((int) (data >>> FLAG_SHIFT) & 3);
+                move.setDepth((byte) (data >>> DEPTH_SHIFT));
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // The same lookup for the search, which reads the entry back from its context instead of an AIMove.
+    public boolean FindBoard(AIBoard board, SearchContext context) {
+        long zobristKey = board.ZobristKey();
+        int bucket = (int) zobristKey & BucketMask;
+
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int slot = (bucket * BUCKET_SIZE + i) * SLOT_LONGS;
+            long data = TransTable[slot + 1];
+
+            if ((data & VALID) != 0 && (TransTable[slot] ^ data) == zobristKey) {
+                context.EntryScore = (short) (data >>> SCORE_SHIFT);
+                context.EntryFlag = (int) (data >>> FLAG_SHIFT) & 3;
+                context.EntryDepth = (byte) (data >>> DEPTH_SHIFT);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Return the best move stored for the board, packed by PackMove, or 0 if there is none.
+    public int FindBestMove(AIBoard board) {
+        long zobristKey = board.ZobristKey();
+        int bucket = (int) zobristKey & BucketMask;
+
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int slot = (bucket * BUCKET_SIZE + i) * SLOT_LONGS;
+            long data = TransTable[slot + 1];
+
+            if ((data & VALID) != 0 && (TransTable[slot] ^ data) == zobristKey)
+                return (int) data & MOVE_MASK;
+        }
+        return 0;
     }
 
     // Save the board using Zobrist's key as identity.
-    public boolean SaveBoard(AIBoard board, double evaluation, int flag, int depth, int timeStamp) {
+    public boolean SaveBoard(AIBoard board, int evaluation, int flag, int depth, int timeStamp) {
+        return SaveBoard(board, evaluation, flag, depth, timeStamp, EncodedMove.NONE);
+    }
+
+    public boolean SaveBoard(AIBoard board, int evaluation, int flag, int depth, int timeStamp, AIMove bestMove) {
+        return SaveBoard(board, evaluation, flag, depth, timeStamp, (bestMove == null) ? EncodedMove.NONE : EncodedMove.FromAIMove(bestMove));
+    }
+
+    // Save the board with a best move encoded as by EncodedMove, or EncodedMove.NONE if there is none.
+    public boolean SaveBoard(AIBoard board, int evaluation, int flag, int depth, int timeStamp, int bestMove) {
         long zobristKey = board.ZobristKey();
-        int key = Math.abs((int) (zobristKey) % HASH_SIZE);
+        int bucket = (int) zobristKey & BucketMask;
+        int age = timeStamp & AGE_MASK;
+        int packedMove = PackMove(bestMove);
+
+        int replace = -1;
+        int replaceValue = Integer.MAX_VALUE;
+
+        for (int i = 0; i < BUCKET_SIZE; i++) {
+            int slot = (bucket * BUCKET_SIZE + i) * SLOT_LONGS;
+            long data = TransTable[slot + 1];
+            int entryDepth = (byte) (data >>> DEPTH_SHIFT);
+            int entryAge = (int) (data >>> AGE_SHIFT) & AGE_MASK;
+
+            if ((data & VALID) != 0 && (TransTable[slot] ^ data) == zobristKey) {
+                // If there already exists a better entry for this position (i.e. of greater depth
+                // from the current search) then don't erase it!
+                if (entryDepth > depth && entryAge == age)
+                    return true;
+
+                // Keep the old best move if we have not found a new one.
+                if (packedMove == 0)
+                    packedMove = (int) data & MOVE_MASK;
+
+                replace = slot;
+                break;
+            }
+
+            // Otherwise use an empty slot, or replace the shallowest and oldest entry in the bucket.
+            int value = ((data & VALID) == 0) ? Integer.MIN_VALUE : entryDepth - AGE_WEIGHT * ((age - entryAge) & AGE_MASK);
+            if (value < replaceValue) {
+                replace = slot;
+                replaceValue = value;
+            }
+        }
 
-        // If there already exists a better move in the transposition table (i.e. of greater depth)
-        // then don't erase it!
-        if ((TransTable[key].getFlag() > 0) && (TransTable[key].getDepth() > depth) && (TransTable[key].getTime() >= timeStamp))
-            return true;
+        assert evaluation >= Short.MIN_VALUE && evaluation <= Short.MAX_VALUE : evaluation;
 
-        // If no better move found then add an entry:
-        TransTable[key] = new TableEntry(zobristKey, depth, flag, evaluation, timeStamp);
+        long data = packedMove
+                | ((long) (depth & 0xFF) << DEPTH_SHIFT)
+                | ((long) flag << FLAG_SHIFT)
+                | VALID
+                | ((long) age << AGE_SHIFT)
+                | ((long) evaluation << SCORE_SHIFT);
+
+        TransTable[replace] = zobristKey ^ data;
+        TransTable[replace + 1] = data;
 
         return true;
     }
+
+    // Moves are stored as their source and destination squares, which is enough to find
+    // them again in the move list of the same position.
+    public static int PackMove(AIMove move) {
+        if (move == null || move.getSource() < 0)
+            return 0;
+
+        return ((move.getSource() << 6) | move.getDestination()) + 1;
+    }
+
+    public static int PackMove(int move) {
+        if (move == EncodedMove.NONE)
+            return 0;
+
+        return ((EncodedMove.Source(move) << 6) | EncodedMove.Destination(move)) + 1;
+    }
+
+    public static int PackedSource(int packedMove) {
+        return (packedMove - 1) >>> 6;
+    }
+
+    public static int PackedDestination(int packedMove) {
+        return (packedMove - 1) & 63;
+    }
 }
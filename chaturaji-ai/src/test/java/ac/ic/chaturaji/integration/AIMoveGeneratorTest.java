@@ -3,6 +3,8 @@ package ac.ic.chaturaji.integration;
 import ac.ic.chaturaji.ai.AIBoard;
 import ac.ic.chaturaji.ai.AIMove;
 import ac.ic.chaturaji.ai.AIMoveGenerator;
+import ac.ic.chaturaji.ai.EncodedMove;
+import ac.ic.chaturaji.ai.GameConstants;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -40,6 +42,71 @@ public class AIMoveGeneratorTest {
         assertEquals(9, moveList.size());
     }
 
+    @Test
+    public void testGenerateEncodedMoves() {
+        ArrayList<AIMove> moveList = new ArrayList<>();
+        int[] moves = new int[GameConstants.MAX_MOVES + 5];
+
+        validMoves.generateMoves(theBoard, moveList, theBoard.getCurrentPlayer());
+        int count = validMoves.generateMoves(theBoard, moves, 5, theBoard.getCurrentPlayer());
+
+        assertEquals(5 + moveList.size(), count);
+        for (int i = 0; i < moveList.size(); i++) {
+            assertEquals(EncodedMove.FromAIMove(moveList.get(i)), moves[5 + i]);
+        }
+    }
+
+    @Test
+    public void testCountMoves() {
+        int[] moves = new int[GameConstants.MAX_MOVES];
+
+        // Every colour in every position of the boat triumph game, captures included.
+        for (int[] move : TestCases.BoatTriumphGame) {
+            for (int colour = 0; colour < 4; colour++) {
+                assertEquals(validMoves.generateMoves(theBoard, moves, 0, colour), validMoves.countMoves(theBoard, colour));
+            }
+
+            validMoves.computeMoves(theBoard);
+            theBoard.makeMove(validMoves.findMove(move[0], move[1]));
+        }
+
+        long[] gameBoards = new long[32];
+
+        for (int i = 0; i < 32; i++) {
+            gameBoards[i] = TestCases.YellowPawns[i] | TestCases.RedPawns[i];
+        }
+        theBoard = new AIBoard(gameBoards, 0);
+
+        // Pawns about to promote.
+        for (int colour = 0; colour < 4; colour++) {
+            assertEquals(validMoves.generateMoves(theBoard, moves, 0, colour), validMoves.countMoves(theBoard, colour));
+        }
+    }
+
+    @Test
+    public void testGenerateCaptures() {
+        int[] moves = new int[GameConstants.MAX_MOVES];
+        int[] captures = new int[GameConstants.MAX_MOVES];
+
+        // The captures are the moves that capture, in the same order.
+        for (int[] move : TestCases.BoatTriumphGame) {
+            for (int colour = 0; colour < 4; colour++) {
+                int count = validMoves.generateMoves(theBoard, moves, 0, colour);
+                int captureCount = validMoves.generateCaptures(theBoard, captures, 0, colour);
+                int found = 0;
+
+                for (int i = 0; i < count; i++) {
+                    if (EncodedMove.IsCapture(moves[i]))
+                        assertEquals(moves[i], captures[found++]);
+                }
+                assertEquals(found, captureCount);
+            }
+
+            validMoves.computeMoves(theBoard);
+            theBoard.makeMove(validMoves.findMove(move[0], move[1]));
+        }
+    }
+
     @Test
     public void testFindMove() {
         validMoves.computeMoves(theBoard);
@@ -1,10 +1,13 @@
 package ac.ic.chaturaji.integration;
 
 import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.EncodedMove;
+import ac.ic.chaturaji.ai.GameConstants;
 import org.junit.Test;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
 
 /**
  * @author dg3213
@@ -46,4 +49,32 @@ public class AIMoveTest {
 
         assertFalse(theMove.IsEqual(otherMove));
     }
+
+    @Test
+    public void EncodedMoveTest() {
+        int move = EncodedMove.Encode(GameConstants.BLUE_PAWN, 54, 62, GameConstants.RED_BOAT);
+        move = EncodedMove.WithTriumph(EncodedMove.WithPromotion(move, GameConstants.ELEPHANT));
+
+        AIMove theMove = EncodedMove.ToAIMove(move);
+
+        assertEquals(GameConstants.BLUE_PAWN, theMove.getPiece());
+        assertEquals(54, theMove.getSource());
+        assertEquals(62, theMove.getDestination());
+        assertEquals(GameConstants.CAPTURE, theMove.getType());
+        assertEquals(GameConstants.RED_BOAT, theMove.getCaptured());
+        assertEquals(GameConstants.ELEPHANT, theMove.getPromoType());
+        assertTrue(theMove.getTriumph());
+        assertEquals(move, EncodedMove.FromAIMove(theMove));
+    }
+
+    @Test
+    public void EncodedQuietMoveTest() {
+        int move = EncodedMove.Encode(GameConstants.YELLOW_KNIGHT, 8, 25, GameConstants.EMPTY_SQUARE);
+        AIMove theMove = EncodedMove.ToAIMove(move);
+
+        assertEquals(GameConstants.NORMAL_MOVE, theMove.getType());
+        assertEquals(-1, theMove.getPromoType());
+        assertFalse(theMove.getTriumph());
+        assertEquals(move, EncodedMove.FromAIMove(theMove));
+    }
 }
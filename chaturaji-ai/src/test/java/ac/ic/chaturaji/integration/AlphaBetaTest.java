@@ -0,0 +1,111 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.AIMoveGenerator;
+import ac.ic.chaturaji.ai.AlphaBeta;
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.MTDF;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static ac.ic.chaturaji.ai.AlphaBeta.MAXVAL;
+import static ac.ic.chaturaji.ai.AlphaBeta.MINVAL;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author dg3213
+ */
+public class AlphaBetaTest {
+    private static final int DEPTH = 5;
+
+    @Test
+    public void testIterativeDeepening() {
+        AIBoard board = new AIBoard();
+        long[] original = board.GetBitBoards().clone();
+        AlphaBeta engine = new AlphaBeta();
+
+        AIMove move = engine.Search(board, board.getCurrentPlayer(), DEPTH);
+
+        assertNotNull(move);
+        assertEquals(DEPTH, engine.getDepthReached());
+        for (int depth = 1; depth <= DEPTH; depth++) {
+            assertTrue(engine.getIterationNodes(depth) > 0);
+        }
+        assertArrayEquals(original, board.GetBitBoards());
+    }
+
+    @Test
+    public void testScoreMatchesMTDF() {
+        for (AIBoard board : positions()) {
+            AlphaBeta alphaBeta = new AlphaBeta();
+            MTDF mtdf = new MTDF();
+
+            // Without the quiescence search both find the exact minimax value of the same tree.
+            alphaBeta.setQuiescence(false);
+            mtdf.setQuiescence(false);
+
+            AIMove move = alphaBeta.Search(board, board.getCurrentPlayer(), 3);
+
+            assertNotNull(move);
+            assertEquals(mtdf.Search(board, 3).getScore(), move.getScore());
+        }
+    }
+
+    @Test
+    public void testIterativeDeepeningSearchesFewerNodes() {
+        int iterativeNodes = 0;
+        int fullWindowNodes = 0;
+
+        for (AIBoard board : positions()) {
+            long[] original = board.GetBitBoards().clone();
+            int colour = board.getCurrentPlayer();
+
+            AlphaBeta engine = new AlphaBeta();
+            assertNotNull(engine.Search(board, colour, DEPTH));
+            int iterative = engine.getNodesSearched();
+            int fullWindow = fullWindowNodes(board, colour);
+
+            assertArrayEquals(original, board.GetBitBoards());
+
+            fullWindowNodes += fullWindow;
+            iterativeNodes += iterative;
+        }
+
+        // Every iteration together costs less than one search of the last depth without the move
+        // ordering and aspiration windows the earlier iterations provide.
+        assertTrue(iterativeNodes < fullWindowNodes);
+    }
+
+    // Nodes searched by a single pass over the root moves, each with the full window.
+    private int fullWindowNodes(AIBoard board, int colour) {
+        AlphaBeta engine = new AlphaBeta();
+        engine.setPrincipalVariation(false);
+
+        int[] moves = new int[GameConstants.MAX_MOVES];
+        int count = new AIMoveGenerator().generateMoves(board, moves, 0, colour);
+
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            engine.alphaBeta(board, DEPTH - 1, MINVAL, MAXVAL, (colour + 1) % 4, colour);
+            board.unmakeMove();
+        }
+        return engine.getNodesSearched();
+    }
+
+    private List<AIBoard> positions() {
+        List<AIBoard> positions = new ArrayList<>();
+
+        positions.add(new AIBoard());
+
+        positions.add(TestCases.MiddleGame());
+        positions.add(TestCases.EndGame());
+
+        return positions;
+    }
+}
@@ -0,0 +1,204 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.AIMoveGenerator;
+import ac.ic.chaturaji.ai.AlphaBeta;
+import ac.ic.chaturaji.ai.BestReplySearch;
+import ac.ic.chaturaji.ai.EncodedMove;
+import ac.ic.chaturaji.ai.EngineProfile;
+import ac.ic.chaturaji.ai.Evaluation;
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.SearchLimits;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author dg3213
+ */
+public class BestReplySearchTest {
+
+    @Test
+    public void testScoreMatchesMinimax() {
+        AIBoard board = TestCases.MiddleGame();
+        int colour = board.getCurrentPlayer();
+        long[] original = board.GetBitBoards().clone();
+
+        BestReplySearch engine = new BestReplySearch();
+        engine.setQuiescence(false);
+        AIMove move = engine.Search(board, colour, 3);
+
+        assertEquals(Minimax(board, 3, true, colour, false, new Evaluation()), move.getScore());
+        assertArrayEquals(original, board.GetBitBoards());
+    }
+
+    @Test
+    public void testQuiescenceMatchesMinimax() {
+        // Just before the boat triumph there are captures to resolve at the leaves.
+        AIBoard[] boards = {TestCases.BoatTriumphPosition(TestCases.BoatTriumphGame.length - 1), TestCases.MiddleGame()};
+
+        for (AIBoard board : boards) {
+            int colour = board.getCurrentPlayer();
+            long[] original = board.GetBitBoards().clone();
+
+            BestReplySearch engine = new BestReplySearch();
+            engine.setQuiescencePruning(false);
+            AIMove move = engine.Search(board, colour, 2);
+
+            assertEquals(Minimax(board, 2, true, colour, true, new Evaluation()), move.getScore());
+            assertArrayEquals(original, board.GetBitBoards());
+        }
+    }
+
+    @Test
+    public void testTriumphOfALaterOpponent() {
+        // Green can take the boat triumph, and is the third opponent of yellow and the second of blue.
+        long[] bitBoards = TestCases.BoatTriumphPosition(TestCases.BoatTriumphGame.length - 1).GetBitBoards();
+        int[] triumph = TestCases.BoatTriumphGame[TestCases.BoatTriumphGame.length - 1];
+
+        for (int colour : new int[]{GameConstants.YELLOW, GameConstants.BLUE}) {
+            // At a minimising layer green moves while the board still has the first opponent to move.
+            AIBoard board = new AIBoard(bitBoards.clone(), (colour + 1) % 4);
+            int[] moves = new int[GameConstants.MAX_MOVES];
+            int count = new AIMoveGenerator().generateMoves(board, moves, 0, GameConstants.GREEN);
+            int move = EncodedMove.NONE;
+
+            for (int i = 0; i < count; i++) {
+                if (EncodedMove.Source(moves[i]) == triumph[0] && EncodedMove.Destination(moves[i]) == triumph[1])
+                    move = moves[i];
+            }
+            assertTrue(EncodedMove.IsTriumph(move));
+
+            // Green keeps its boat and takes the other three.
+            board.makeMove(move);
+            for (int boatColour = 0; boatColour < 4; boatColour++) {
+                assertEquals(boatColour == GameConstants.GREEN, board.getBitBoard(GameConstants.BOAT + boatColour) != 0);
+            }
+
+            board = new AIBoard(bitBoards.clone(), colour);
+            BestReplySearch engine = new BestReplySearch();
+            engine.setQuiescence(false);
+            assertEquals(Minimax(board, 3, true, colour, false, new Evaluation()), engine.Search(board, colour, 3).getScore());
+        }
+    }
+
+    @Test
+    public void testSearchesFewerNodesForTheSameLookahead() {
+        // Two moves of the searching colour with the replies to them take four layers of Best-Reply
+        // Search, but six plies of paranoid search.
+        for (AIBoard board : new AIBoard[]{new AIBoard(), TestCases.MiddleGame()}) {
+            int colour = board.getCurrentPlayer();
+
+            BestReplySearch bestReply = new BestReplySearch();
+            bestReply.Search(board, colour, 4);
+
+            AlphaBeta paranoid = new AlphaBeta();
+            paranoid.Search(board, colour, 6);
+
+            assertTrue(bestReply.getNodesSearched() < paranoid.getNodesSearched());
+        }
+    }
+
+    @Test
+    public void testSelfPlay() {
+        SearchLimits limits = new SearchLimits(GameConstants.MAX_PLY / 2, 0, 2000, 1);
+        SelfPlay selfPlay = new SelfPlay(new EngineProfile(EngineProfile.Engine.BEST_REPLY, limits),
+                new EngineProfile(EngineProfile.Engine.ALPHA_BETA, limits), 1);
+
+        // The first profile plays yellow and red.
+        int[] points = selfPlay.PlayGame(true, new Random(1));
+
+        assertEquals(points[0] + points[2], selfPlay.getFirst().getPoints());
+        assertEquals(points[1] + points[3], selfPlay.getSecond().getPoints());
+
+        selfPlay.Play(2);
+
+        assertEquals(3, selfPlay.getFirst().getGames());
+        assertEquals(3, selfPlay.getSecond().getGames());
+        assertEquals(3.0, selfPlay.getFirst().getWins() + selfPlay.getSecond().getWins(), 1e-9);
+        assertTrue(selfPlay.getFirst().getSearches() > 0);
+        assertTrue(selfPlay.getFirst().getDepthPerMove() >= 1);
+    }
+
+    // Plain minimax of the maximising colour against the best single reply of the other three, passing
+    // over layers without moves, with the leaves resolved by Quiesce if quiescence is set.
+    private int Minimax(AIBoard board, int depth, boolean maximising, int maximisingPlayer, boolean quiescence,
+                        Evaluation evaluation) {
+        if (board.isGameOver() == 0 || (depth == 0 && !quiescence))
+            return evaluation.EvaluateScore(maximisingPlayer, board);
+
+        if (depth == 0)
+            return Quiesce(board, Integer.MIN_VALUE, Integer.MAX_VALUE, maximising, maximisingPlayer, evaluation);
+
+        int[] moves = new int[3 * GameConstants.MAX_MOVES];
+        int count = 0;
+        AIMoveGenerator generator = new AIMoveGenerator();
+
+        if (maximising) {
+            count = generator.generateMoves(board, moves, 0, maximisingPlayer);
+        } else {
+            for (int i = 1; i < 4; i++) {
+                count = generator.generateMoves(board, moves, count, (maximisingPlayer + i) % 4);
+            }
+        }
+
+        if (count == 0)
+            return Minimax(board, depth - 1, !maximising, maximisingPlayer, quiescence, evaluation);
+
+        int best = maximising ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            int score = Minimax(board, depth - 1, !maximising, maximisingPlayer, quiescence, evaluation);
+            board.unmakeMove();
+
+            best = maximising ? Math.max(best, score) : Math.min(best, score);
+        }
+        return best;
+    }
+
+    // The captures searched until none are left, the colour to move being free to stand on the score of
+    // the board instead. The captures of the three opponents again make up a single layer. Searching every
+    // capture is out of the question, so this prunes with alpha-beta, which keeps the score exact within the
+    // window.
+    private int Quiesce(AIBoard board, int alpha, int beta, boolean maximising, int maximisingPlayer, Evaluation evaluation) {
+        int best = evaluation.EvaluateScore(maximisingPlayer, board);
+
+        if (board.isGameOver() == 0 || (maximising ? best >= beta : best <= alpha))
+            return best;
+
+        int[] moves = new int[3 * GameConstants.MAX_MOVES];
+        int count = 0;
+        AIMoveGenerator generator = new AIMoveGenerator();
+
+        if (maximising) {
+            count = generator.generateCaptures(board, moves, 0, maximisingPlayer);
+        } else {
+            for (int i = 1; i < 4; i++) {
+                count = generator.generateCaptures(board, moves, count, (maximisingPlayer + i) % 4);
+            }
+        }
+
+        for (int i = 0; i < count; i++) {
+            if (maximising)
+                alpha = Math.max(alpha, best);
+            else
+                beta = Math.min(beta, best);
+
+            board.makeMove(moves[i]);
+            int score = Quiesce(board, alpha, beta, !maximising, maximisingPlayer, evaluation);
+            board.unmakeMove();
+
+            best = maximising ? Math.max(best, score) : Math.min(best, score);
+
+            if (maximising ? best >= beta : best <= alpha)
+                break;
+        }
+        return best;
+    }
+}
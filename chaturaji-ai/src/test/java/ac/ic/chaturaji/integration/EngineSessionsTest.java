@@ -0,0 +1,142 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.EngineProfile;
+import ac.ic.chaturaji.ai.EngineProfiles;
+import ac.ic.chaturaji.ai.EngineSessions;
+import ac.ic.chaturaji.ai.MTDF;
+import ac.ic.chaturaji.ai.SearchEngine;
+import ac.ic.chaturaji.ai.SearchLimits;
+import ac.ic.chaturaji.ai.SearchResult;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * @author dg3213
+ */
+public class EngineSessionsTest {
+    private EngineSessions engineSessions;
+    private EngineProfile profile;
+
+    @Before
+    public void setup() {
+        profile = new EngineProfiles().ForLevel(EngineProfiles.MAX_LEVEL);
+        // Room for the tables of two engines.
+        engineSessions = new EngineSessions(2 * profile.NewEngine().getTableBytes(), 1, TimeUnit.MINUTES);
+    }
+
+    @Test
+    public void engineIsReusedForTheSameGameAndColour() {
+        SearchEngine engine = engineSessions.getEngine("game", 1, profile);
+
+        assertSame(engine, engineSessions.getEngine("game", 1, profile));
+        assertNotSame(engine, engineSessions.getEngine("game", 2, profile));
+    }
+
+    @Test
+    public void releaseDropsAllEnginesOfAGame() {
+        SearchEngine engine = engineSessions.getEngine("game", 0, profile);
+        engineSessions.getEngine("game", 3, profile);
+
+        engineSessions.release("game");
+
+        assertEquals(0, engineSessions.size());
+        assertNotSame(engine, engineSessions.getEngine("game", 0, profile));
+    }
+
+    @Test
+    public void leastRecentlyUsedEngineIsEvicted() {
+        engineSessions.getEngine("first", 0, profile);
+        engineSessions.getEngine("second", 0, profile);
+        engineSessions.getEngine("third", 0, profile);
+
+        assertEquals(2, engineSessions.size());
+    }
+
+    @Test
+    public void releasedEnginesAreCancelled() {
+        final AtomicInteger cancelled = new AtomicInteger();
+        EngineProfile counting = Counting(cancelled, null, null);
+
+        // Eviction leaves the engine alone...
+        engineSessions.getEngine("first", 0, counting);
+        engineSessions.getEngine("second", 0, counting);
+        engineSessions.getEngine("third", 0, counting);
+        assertEquals(0, cancelled.get());
+
+        // ...but releasing the game does not.
+        engineSessions.release("third");
+        assertEquals(1, cancelled.get());
+    }
+
+    @Test
+    public void engineEvictedDuringASearchKeepsSearching() throws InterruptedException {
+        final AtomicInteger cancelled = new AtomicInteger();
+        final CountDownLatch searching = new CountDownLatch(1);
+        final CountDownLatch filled = new CountDownLatch(1);
+        final SearchEngine engine = engineSessions.getEngine("first", 0, Counting(cancelled, searching, filled));
+        final SearchResult[] result = new SearchResult[1];
+
+        Thread search = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                result[0] = engine.Search(new AIBoard(), new SearchLimits(3));
+            }
+        });
+        search.start();
+
+        // Two other games fill the cache while the first is searching.
+        assertTrue(searching.await(30, TimeUnit.SECONDS));
+        engineSessions.getEngine("second", 0, profile);
+        engineSessions.getEngine("third", 0, profile);
+        assertNotSame(engine, engineSessions.getEngine("first", 0, profile));
+        filled.countDown();
+
+        search.join();
+        assertEquals(0, cancelled.get());
+        assertNotNull(result[0].getMove());
+    }
+
+    @Test
+    public void gameWithoutIdIsNotKept() {
+        assertNotSame(engineSessions.getEngine(null, 0, profile), engineSessions.getEngine(null, 0, profile));
+        assertEquals(0, engineSessions.size());
+    }
+
+    // A profile of engines that count the times they are cancelled. If the latches are given, a search
+    // counts down the first as it starts and then waits for the second before searching.
+    private EngineProfile Counting(final AtomicInteger cancelled, final CountDownLatch started, final CountDownLatch resume) {
+        return new EngineProfile(profile.getEngine(), profile.getLimits()) {
+            @Override
+            public SearchEngine NewEngine() {
+                return new MTDF() {
+                    @Override
+                    public SearchResult Search(AIBoard board, SearchLimits limits) {
+                        if (started != null) {
+                            started.countDown();
+
+                            try {
+                                resume.await();
+                            } catch (InterruptedException e) {
+                                Thread.currentThread().interrupt();
+                            }
+                        }
+                        return super.Search(board, limits);
+                    }
+
+                    @Override
+                    public void Cancel() {
+                        cancelled.incrementAndGet();
+                        super.Cancel();
+                    }
+                };
+            }
+        };
+    }
+}
@@ -0,0 +1,66 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.Evaluation;
+import ac.ic.chaturaji.ai.EvaluationCache;
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.MTDF;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author dg3213
+ */
+public class EvaluationCacheTest {
+    EvaluationCache evalCache;
+    AIBoard theBoard;
+
+    @Before
+    public void setUp() {
+        evalCache = new EvaluationCache(1);
+        theBoard = new AIBoard();
+    }
+
+    @Test
+    public void testSaveAndFind() {
+        assertEquals(EvaluationCache.NO_SCORE, evalCache.Find(theBoard, GameConstants.YELLOW));
+
+        evalCache.Save(theBoard, GameConstants.YELLOW, 0);
+        evalCache.Save(theBoard, GameConstants.RED, -350);
+
+        // Each maximising colour has its own score for the same position.
+        assertEquals(0, evalCache.Find(theBoard, GameConstants.YELLOW));
+        assertEquals(-350, evalCache.Find(theBoard, GameConstants.RED));
+        assertEquals(EvaluationCache.NO_SCORE, evalCache.Find(theBoard, GameConstants.BLUE));
+
+        assertEquals(2, evalCache.Hits());
+        assertEquals(2, evalCache.Misses());
+    }
+
+    @Test
+    public void testCachedScoreMatchesEvaluation() {
+        Evaluation evaluation = new Evaluation();
+        Evaluation cached = new Evaluation(evalCache);
+
+        for (int colour = 0; colour < 4; colour++) {
+            int score = evaluation.EvaluateScore(colour, theBoard);
+
+            assertEquals(score, cached.EvaluateScore(colour, theBoard));
+            assertEquals(score, cached.EvaluateScore(colour, theBoard));
+        }
+        assertEquals(4, evalCache.Hits());
+        assertEquals(4, evalCache.Misses());
+    }
+
+    @Test
+    public void testSearchReusesLeafScores() {
+        MTDF engine = new MTDF();
+        engine.Search(theBoard, 4);
+
+        // MTD(f) searches the same leaves with every window it tries.
+        assertTrue(engine.getEvaluationCache().Hits() > 0);
+    }
+}
@@ -0,0 +1,51 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.MTDF;
+
+/**
+ * Measures the time taken by MTDF to complete a fixed depth with an increasing number of
+ * search threads, starting from an empty transposition table each time.
+ * Run with: java ac.ic.chaturaji.integration.LazySMPBenchmark [depth] [max threads] [repeats]
+ *
+ * @author dg3213
+ */
+public class LazySMPBenchmark {
+
+    public static void main(String[] args) {
+        int depth = args.length > 0 ? Integer.parseInt(args[0]) : 6;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int repeats = args.length > 2 ? Integer.parseInt(args[2]) : 3;
+
+        // Warm up the JIT before timing anything.
+        for (int i = 0; i < repeats; i++) {
+            new MTDF().Search(new AIBoard(), depth - 1, 1);
+        }
+
+        double singleThreaded = 0;
+
+        System.out.println("threads\tms\tnodes\tdepth\tspeedup");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            long total = 0;
+            int nodes = 0;
+            int depthReached = 0;
+
+            for (int i = 0; i < repeats; i++) {
+                MTDF engine = new MTDF();
+                long start = System.nanoTime();
+
+                engine.Search(new AIBoard(), depth, threads);
+
+                total += System.nanoTime() - start;
+                nodes = engine.getNodesSearched();
+                depthReached = engine.getDepthReached();
+            }
+
+            double millis = total / (repeats * 1000000.0);
+            if (threads == 1)
+                singleThreaded = millis;
+
+            System.out.printf("%d\t%.1f\t%d\t%d\t%.2f%n", threads, millis, nodes, depthReached, singleThreaded / millis);
+        }
+    }
+}
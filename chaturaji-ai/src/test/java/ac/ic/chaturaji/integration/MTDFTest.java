@@ -0,0 +1,120 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.AIMoveGenerator;
+import ac.ic.chaturaji.ai.Evaluation;
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.MTDF;
+import ac.ic.chaturaji.ai.SearchLimits;
+import ac.ic.chaturaji.ai.SearchResult;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author dg3213
+ */
+public class MTDFTest {
+
+    @Test
+    public void testSearch() {
+        AIBoard board = new AIBoard();
+        long[] original = board.GetBitBoards().clone();
+
+        AIMove move = new MTDF().Search(board, 4);
+
+        assertNotNull(move);
+        assertArrayEquals(original, board.GetBitBoards());
+    }
+
+    @Test
+    public void testParallelSearch() {
+        AIBoard board = new AIBoard();
+        long[] original = board.GetBitBoards().clone();
+        MTDF engine = new MTDF();
+
+        AIMove move = engine.Search(board, 4, 4);
+
+        assertNotNull(move);
+        assertEquals(4, engine.getDepthReached());
+        assertArrayEquals(original, board.GetBitBoards());
+    }
+
+    @Test
+    public void testDepthOnlySearchFinishesItsLastIteration() {
+        MTDF engine = new MTDF();
+
+        // The last iteration starts below the node count at which the search stops deepening, and runs
+        // past it to the end.
+        engine.Search(new AIBoard(), 8);
+
+        assertTrue(engine.getNodesSearched() > 250000);
+        assertEquals(8, engine.getDepthReached());
+    }
+
+    @Test
+    public void testNodeLimitedSearch() {
+        MTDF engine = new MTDF();
+
+        // A node limit asked for in the search limits does stop the iteration under way.
+        SearchResult result = engine.Search(new AIBoard(), new SearchLimits(8, 0, 50000, 1));
+
+        assertNotNull(result.getMove());
+        assertTrue(result.getDepth() < 8);
+    }
+
+    @Test
+    public void testTimeLimitedSearch() {
+        AIBoard board = new AIBoard();
+        MTDF engine = new MTDF();
+        long start = System.currentTimeMillis();
+
+        // Far too deep to finish, so the search must stop on the clock.
+        AIMove move = engine.Search(board, 30, 1, 300);
+
+        assertNotNull(move);
+        assertTrue(engine.getDepthReached() >= 2);
+        assertTrue(engine.getDepthReached() < 30);
+        assertTrue(System.currentTimeMillis() - start < 3000);
+    }
+
+    @Test
+    public void testScoreMatchesMinimax() {
+        AIBoard board = TestCases.MiddleGame();
+        int colour = board.getCurrentPlayer();
+
+        // With integer scores the null window searches pin the value down exactly.
+        MTDF engine = new MTDF();
+        engine.setQuiescence(false);
+        AIMove move = engine.Search(board, 3);
+
+        assertEquals(Minimax(board, 3, colour, colour, new Evaluation()), move.getScore());
+    }
+
+    // Plain minimax of the maximising colour against the other three, passing over colours without moves.
+    private int Minimax(AIBoard board, int depth, int colour, int maximisingPlayer, Evaluation evaluation) {
+        if (depth == 0 || board.isGameOver() == 0)
+            return evaluation.EvaluateScore(maximisingPlayer, board);
+
+        int[] moves = new int[GameConstants.MAX_MOVES];
+        int count = new AIMoveGenerator().generateMoves(board, moves, 0, colour);
+
+        if (count == 0)
+            return Minimax(board, depth - 1, (colour + 1) % 4, maximisingPlayer, evaluation);
+
+        int best = (colour == maximisingPlayer) ? Integer.MIN_VALUE : Integer.MAX_VALUE;
+
+        for (int i = 0; i < count; i++) {
+            board.makeMove(moves[i]);
+            int score = Minimax(board, depth - 1, (colour + 1) % 4, maximisingPlayer, evaluation);
+            board.unmakeMove();
+
+            best = (colour == maximisingPlayer) ? Math.max(best, score) : Math.min(best, score);
+        }
+        return best;
+    }
+}
@@ -0,0 +1,127 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.AIMoveGenerator;
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.MaxN;
+import ac.ic.chaturaji.ai.ScoreVectorTable;
+import ac.ic.chaturaji.ai.SearchLimits;
+import ac.ic.chaturaji.ai.SearchResult;
+import ac.ic.chaturaji.ai.TranspositionTable;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author dg3213
+ */
+public class MaxNTest {
+
+    @Test
+    public void testScoreVectorTable() {
+        AIBoard board = new AIBoard();
+        ScoreVectorTable table = new ScoreVectorTable(1);
+        long vector = ScoreVectorTable.Vector(new int[]{250, 0, 1000, 123});
+
+        assertEquals(0, table.Find(board));
+
+        int[] moves = new int[GameConstants.MAX_MOVES];
+        new AIMoveGenerator().generateMoves(board, moves, 0, board.getCurrentPlayer());
+        table.Save(board, vector, 5, GameConstants.LOWER_BOUND, moves[0]);
+
+        long entry = table.Find(board);
+        assertEquals(vector, ScoreVectorTable.EntryVector(entry));
+        assertEquals(5, ScoreVectorTable.EntryDepth(entry));
+        assertEquals(GameConstants.LOWER_BOUND, ScoreVectorTable.EntryFlag(entry));
+        assertEquals(TranspositionTable.PackMove(moves[0]), ScoreVectorTable.EntryMove(entry));
+        assertEquals(1000, ScoreVectorTable.Score(vector, 2));
+        assertEquals(123, ScoreVectorTable.Score(vector, 3));
+
+        board.makeMove(moves[0]);
+        assertEquals(0, table.Find(board));
+    }
+
+    @Test
+    public void testPruningKeepsTheScore() {
+        for (AIBoard board : new AIBoard[]{new AIBoard(), TestCases.MiddleGame(), TestCases.EndGame()}) {
+            int colour = board.getCurrentPlayer();
+            long[] original = board.GetBitBoards().clone();
+
+            MaxN full = new MaxN();
+            full.setPruning(false);
+            AIMove expected = full.Search(board, colour, 5);
+
+            MaxN pruned = new MaxN();
+            AIMove move = pruned.Search(board, colour, 5);
+
+            assertEquals(expected.getScore(), move.getScore());
+            assertTrue(pruned.getNodesSearched() <= full.getNodesSearched());
+            assertArrayEquals(original, board.GetBitBoards());
+        }
+    }
+
+    @Test
+    public void testPruningInTheEndGame() {
+        // Red and green have lost all their pieces, so the scores of yellow and blue add up to the bound
+        // and each can prune the replies the other would not choose.
+        long[] boards = new long[32];
+        for (int i = 0; i < 32; i++) {
+            boards[i] = TestCases.JustYellows[i] | TestCases.JustBlues[i];
+        }
+        AIBoard board = new AIBoard(boards, GameConstants.YELLOW);
+
+        MaxN full = new MaxN();
+        full.setPruning(false);
+        full.Search(board, board.getCurrentPlayer(), 5);
+
+        MaxN pruned = new MaxN();
+        pruned.Search(board, board.getCurrentPlayer(), 5);
+
+        assertTrue(pruned.getNodesSearched() < full.getNodesSearched());
+    }
+
+    @Test
+    public void testParallelRoot() {
+        AIBoard board = TestCases.MiddleGame();
+        int colour = board.getCurrentPlayer();
+
+        AIMove expected = new MaxN().Search(board, colour, 4, 1);
+        AIMove move = new MaxN().Search(board, colour, 4, 4);
+
+        assertEquals(expected.getScore(), move.getScore());
+    }
+
+    @Test
+    public void testCancelledSearch() throws Exception {
+        final MaxN engine = new MaxN();
+        final SearchResult[] result = new SearchResult[1];
+
+        // Far too deep to finish before it is cancelled.
+        Thread search = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                result[0] = engine.Search(TestCases.MiddleGame(), new SearchLimits(30, 0, 0, 2));
+            }
+        });
+        search.start();
+        Thread.sleep(200);
+        engine.Cancel();
+        search.join(10000);
+
+        assertNull(result[0].getMove());
+        assertEquals(0, result[0].getDepth());
+    }
+
+    @Test
+    public void testSearchResultDepth() {
+        SearchResult result = new MaxN().Search(TestCases.MiddleGame(), new SearchLimits(3, 0, 0, 1));
+
+        assertEquals(3, result.getDepth());
+        assertTrue(result.getMove() != null);
+    }
+
+}
@@ -0,0 +1,97 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.AIMoveGenerator;
+import ac.ic.chaturaji.ai.EncodedMove;
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.MonteCarloSearch;
+import ac.ic.chaturaji.ai.SearchLimits;
+import ac.ic.chaturaji.ai.SearchResult;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author dg3213
+ */
+public class MonteCarloSearchTest {
+
+    @Test
+    public void testPlayoutBudget() {
+        AIBoard board = new AIBoard();
+        long[] original = board.GetBitBoards().clone();
+        MonteCarloSearch engine = new MonteCarloSearch();
+
+        SearchResult result = engine.Search(board, new SearchLimits(1, 0, 3000, 1));
+
+        assertNotNull(result.getMove());
+        assertEquals(3000, result.getNodes());
+        assertEquals(0, engine.getReusedVisits());
+        assertTrue(result.getScore() > 0 && result.getScore() < 1000);
+        assertArrayEquals(original, board.GetBitBoards());
+        assertPlayable(board, result);
+    }
+
+    @Test
+    public void testTimeBudget() {
+        SearchResult result = new MonteCarloSearch().Search(new AIBoard(), new SearchLimits(1, 200, 0, 1));
+
+        assertNotNull(result.getMove());
+        assertTrue(result.getNodes() > 0);
+        assertTrue(result.getTime() < 1000);
+    }
+
+    @Test
+    public void testTreeParallelism() {
+        AIBoard board = new AIBoard();
+        SearchResult result = new MonteCarloSearch().Search(board, new SearchLimits(1, 0, 4000, 4));
+
+        // Threads may each finish the playout they are in once the budget is spent.
+        assertTrue(result.getNodes() >= 4000 && result.getNodes() < 4000 + 4);
+        assertPlayable(board, result);
+    }
+
+    @Test
+    public void testTreeReuse() {
+        AIBoard board = new AIBoard();
+        MonteCarloSearch engine = new MonteCarloSearch();
+        SearchResult result = engine.Search(board, new SearchLimits(1, 0, 5000, 1));
+
+        // Play our move and the replies the search expected, then search again: the tree has been
+        // there before.
+        assertTrue(result.getPrincipalVariation().size() >= 4);
+        for (int i = 0; i < 4; i++) {
+            board.ApplyMove(result.getPrincipalVariation().get(i));
+        }
+
+        engine.Search(board, new SearchLimits(1, 0, 1000, 1));
+        assertTrue(engine.getReusedVisits() > 0);
+
+        // A position the tree never reached starts a new one.
+        engine.Search(new AIBoard(), new SearchLimits(1, 0, 1000, 1));
+        assertEquals(0, engine.getReusedVisits());
+    }
+
+    // Every move of the principal variation must be legal in turn.
+    private void assertPlayable(AIBoard board, SearchResult result) {
+        AIBoard line = board.clone();
+
+        for (AIMove move : result.getPrincipalVariation()) {
+            int colour = line.FindColourPieceInSquare(move.getSource());
+            int[] moves = new int[GameConstants.MAX_MOVES];
+            int count = new AIMoveGenerator().generateMoves(line, moves, 0, colour);
+            boolean found = false;
+
+            for (int i = 0; i < count && !found; i++) {
+                found = EncodedMove.Source(moves[i]) == move.getSource()
+                        && EncodedMove.Destination(moves[i]) == move.getDestination();
+            }
+            assertTrue(found);
+            line.makeMove(move);
+        }
+    }
+}
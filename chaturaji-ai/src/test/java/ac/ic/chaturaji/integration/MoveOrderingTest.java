@@ -0,0 +1,67 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.MTDF;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author dg3213
+ */
+public class MoveOrderingTest {
+    private static final int DEPTH = 4;
+
+    @Test
+    public void testOrderingSearchesFewerNodes() {
+        int orderedNodes = 0;
+        int unorderedNodes = 0;
+
+        for (AIBoard board : positions()) {
+            long[] original = board.GetBitBoards().clone();
+
+            int unordered = nodesSearched(board, false);
+            int ordered = nodesSearched(board, true);
+
+            assertArrayEquals(original, board.GetBitBoards());
+
+            unorderedNodes += unordered;
+            orderedNodes += ordered;
+        }
+
+        assertTrue(orderedNodes < unorderedNodes);
+    }
+
+    private int nodesSearched(AIBoard board, boolean orderMoves) {
+        MTDF engine = new MTDF();
+        engine.setMoveOrdering(orderMoves);
+
+        AIMove move = engine.Search(board, DEPTH);
+
+        assertNotNull(move);
+        return engine.getNodesSearched();
+    }
+
+    private List<AIBoard> positions() {
+        List<AIBoard> positions = new ArrayList<>();
+
+        positions.add(new AIBoard());
+
+        positions.add(TestCases.MiddleGame());
+
+        long[] pawnBoards = new long[32];
+        for (int i = 0; i < 32; i++) {
+            pawnBoards[i] = TestCases.YellowPawns[i] | TestCases.RedPawns[i] | TestCases.BluePawns[i] | TestCases.GreenPawns[i];
+        }
+        positions.add(new AIBoard(pawnBoards, 0));
+        positions.add(TestCases.EndGame());
+
+        return positions;
+    }
+}
@@ -0,0 +1,41 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.PawnHashTable;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author dg3213
+ */
+public class PawnHashTableTest {
+
+    @Test
+    public void testSaveAndFind() {
+        PawnHashTable pawnTable = new PawnHashTable(1);
+        int[] scores = {3, -7, 0, 120};
+
+        assertEquals(0, pawnTable.Find(12345L));
+
+        pawnTable.Save(12345L, scores);
+        long entry = pawnTable.Find(12345L);
+
+        for (int colour = 0; colour < 4; colour++) {
+            assertEquals(scores[colour], PawnHashTable.Score(entry, colour));
+        }
+        assertEquals(1, pawnTable.Hits());
+        assertEquals(1, pawnTable.Misses());
+    }
+
+    @Test
+    public void testBoardWithoutPawns() {
+        PawnHashTable pawnTable = new PawnHashTable(1);
+
+        // Without pawns the key is 0, the same as an empty slot.
+        assertEquals(0, pawnTable.Find(0));
+
+        pawnTable.Save(0, new int[4]);
+        assertEquals(0, PawnHashTable.Score(pawnTable.Find(0), 2));
+        assertEquals(1, pawnTable.Hits());
+    }
+}
@@ -0,0 +1,100 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.AIMoveGenerator;
+import ac.ic.chaturaji.ai.Perft;
+import org.junit.Test;
+
+import java.util.Map;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * Known perft counts. A change to any of these means that the moves generated, or the way
+ * they are applied to the board, have changed.
+ *
+ * @author dg3213
+ */
+public class PerftTest {
+
+    @Test
+    public void testStartPosition() {
+        long[] expected = {9, 81, 729, 6561, 72090};
+
+        assertPerft(new AIBoard(), expected);
+    }
+
+    @Test
+    public void testBoatTriumphGame() {
+        // Stop one move short of the triumph, which must be among the moves generated.
+        AIBoard board = TestCases.BoatTriumphPosition(TestCases.BoatTriumphGame.length - 1);
+
+        int[] triumph = TestCases.BoatTriumphGame[TestCases.BoatTriumphGame.length - 1];
+        AIMove move = findMove(board, triumph[0], triumph[1]);
+
+        assertTrue(move.getTriumph());
+        board.makeMove(move);
+
+        long[] expected = {8, 64, 512, 6144, 65632};
+        assertPerft(board, expected);
+    }
+
+    @Test
+    public void testPromotions() {
+        long[] yellowRed = new long[32];
+        long[] blueGreen = new long[32];
+
+        for (int i = 0; i < 32; i++) {
+            yellowRed[i] = TestCases.YellowPawns[i] | TestCases.RedPawns[i];
+            blueGreen[i] = TestCases.BluePawns[i] | TestCases.GreenPawns[i];
+        }
+
+        // Only two colours have pawns, so every other ply is a pass. The pawns reach their end squares
+        // and promote on the ninth ply.
+        long[] expected = {4, 4, 16, 16, 64, 64, 256, 256, 1025, 1025};
+
+        assertPerft(new AIBoard(yellowRed, 0), expected);
+        assertPerft(new AIBoard(blueGreen, 1), expected);
+    }
+
+    @Test
+    public void testDelayedPromotion() {
+        long[] expected = {14, 189, 2392, 29232};
+        assertPerft(TestCases.EndGame(), expected);
+    }
+
+    @Test
+    public void testDivideAndParallelPerft() {
+        AIBoard board = new AIBoard();
+        long total = 0;
+
+        Map<String, Long> divide = new Perft().divide(board, 4);
+        for (long nodes : divide.values()) {
+            total += nodes;
+        }
+
+        assertEquals(9, divide.size());
+        assertEquals(6561, total);
+        assertEquals(72090, Perft.parallelPerft(board, 5, 3));
+    }
+
+    private void assertPerft(AIBoard board, long[] expected) {
+        long[] original = board.GetBitBoards().clone();
+        Perft perft = new Perft();
+
+        for (int depth = 1; depth <= expected.length; depth++) {
+            assertEquals("perft(" + depth + ")", expected[depth - 1], perft.perft(board, depth));
+        }
+        assertArrayEquals(original, board.GetBitBoards());
+    }
+
+    private AIMove findMove(AIBoard board, int source, int destination) {
+        AIMoveGenerator validMoves = new AIMoveGenerator();
+        validMoves.computeMoves(board);
+
+        return validMoves.findMove(source, destination);
+    }
+}
@@ -0,0 +1,58 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.PieceMoves;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * @author dg3213
+ */
+public class PieceMovesTest {
+
+    @Test
+    public void testCornerAttacks() {
+        assertEquals(bits(1, 8, 9), PieceMoves.KingAttacks[0]);
+        assertEquals(bits(10, 17), PieceMoves.KnightAttacks[0]);
+        assertEquals(bits(18), PieceMoves.BoatAttacks[0]);
+        assertEquals(bits(1, 2, 3, 4, 5, 6, 7, 8, 16, 24, 32, 40, 48, 56), PieceMoves.ElephantAttacks(0, 0));
+    }
+
+    @Test
+    public void testBoatAttacks() {
+        assertEquals(bits(12, 44), PieceMoves.BoatAttacks[30]);
+        assertEquals(bits(42, 46), PieceMoves.BoatAttacks[60]);
+    }
+
+    @Test
+    public void testElephantStopsAtFirstPiece() {
+        long occupied = bits(27, 30, 11, 35);
+
+        // From 27 the elephant meets pieces on 30 (east) and 35 (north), and on 11 two squares south.
+        assertEquals(bits(26, 25, 24, 28, 29, 30, 19, 11, 35), PieceMoves.ElephantAttacks(27, occupied));
+    }
+
+    @Test
+    public void testPawnMoves() {
+        assertEquals(bits(2), PieceMoves.PawnPushes[GameConstants.YELLOW][1]);
+        assertEquals(bits(10), PieceMoves.PawnCaptures[GameConstants.YELLOW][1]);
+        assertEquals(bits(20), PieceMoves.PawnPushes[GameConstants.BLUE][12]);
+        assertEquals(bits(19, 21), PieceMoves.PawnCaptures[GameConstants.BLUE][12]);
+
+        // Pawns on their end row or column have no moves left.
+        assertEquals(0, PieceMoves.PawnPushes[GameConstants.YELLOW][7]);
+        assertEquals(0, PieceMoves.PawnCaptures[GameConstants.YELLOW][15]);
+        assertEquals(0, PieceMoves.PawnPushes[GameConstants.RED][8]);
+        assertEquals(0, PieceMoves.PawnPushes[GameConstants.GREEN][3]);
+    }
+
+    private long bits(int... squares) {
+        long board = 0;
+
+        for (int square : squares) {
+            board |= GameConstants.SquareBits[square];
+        }
+        return board;
+    }
+}
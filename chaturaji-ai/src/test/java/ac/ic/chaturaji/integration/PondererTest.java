@@ -0,0 +1,133 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.AlphaBeta;
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.Ponderer;
+import ac.ic.chaturaji.ai.SearchLimits;
+import ac.ic.chaturaji.ai.SearchResult;
+import org.junit.Test;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author dg3213
+ */
+public class PondererTest {
+
+    @Test
+    public void testPonderHit() {
+        AIBoard board = new AIBoard();
+        List<AIMove> line = ExpectedLine(board);
+        AlphaBeta engine = new AlphaBeta();
+        Ponderer ponderer = new Ponderer(1);
+
+        // Yellow has played the first move of its line, and the others are expected to follow it.
+        board.ApplyMove(line.get(0));
+        assertTrue(ponderer.Start("game", board, line.subList(1, line.size()), GameConstants.YELLOW, engine, new SearchLimits(4)));
+
+        for (int i = 1; i < 4; i++) {
+            board.ApplyMove(line.get(i));
+            ponderer.Moved("game", board);
+        }
+        assertEquals(1, ponderer.getPondering());
+
+        SearchResult result = ponderer.Finish("game", board, 0);
+
+        assertNotNull(result);
+        assertEquals(4, result.getDepth());
+        assertEquals(GameConstants.YELLOW, board.FindColourPieceInSquare(result.getMove().getSource()));
+        assertEquals(0, ponderer.getPondering());
+    }
+
+    @Test
+    public void testPonderMiss() {
+        AIBoard board = new AIBoard();
+        List<AIMove> line = ExpectedLine(board);
+        AlphaBeta engine = new AlphaBeta();
+        Ponderer ponderer = new Ponderer(1);
+
+        // A search that would run for a long time unless cancelled.
+        board.ApplyMove(line.get(0));
+        ponderer.Start("game", board, line.subList(1, line.size()), GameConstants.YELLOW, engine, new SearchLimits(30));
+
+        // Blue plays a move other than the one expected.
+        AIBoard other = board.clone();
+        other.NextPlayer();
+        long start = System.currentTimeMillis();
+        ponderer.Moved("game", other);
+
+        assertEquals(0, ponderer.getPondering());
+        assertTrue(System.currentTimeMillis() - start < 1000);
+
+        // The engine is free for the live search.
+        synchronized (engine) {
+            assertNotNull(engine.Search(board, new SearchLimits(2)).getMove());
+        }
+    }
+
+    @Test
+    public void testPondersShareTheThreads() throws InterruptedException {
+        AIBoard board = new AIBoard();
+        List<AIMove> line = ExpectedLine(board);
+        board.ApplyMove(line.get(0));
+
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        Ponderer ponderer = new Ponderer(1);
+
+        ponderer.Start("first", board, line.subList(1, line.size()), GameConstants.YELLOW, Signalling(firstStarted), new SearchLimits(30));
+        ponderer.Start("second", board, line.subList(1, line.size()), GameConstants.YELLOW, Signalling(secondStarted), new SearchLimits(30));
+
+        // With a single thread the second game waits for the first, however long the first takes to start.
+        assertTrue(firstStarted.await(30, TimeUnit.SECONDS));
+        assertFalse(secondStarted.await(100, TimeUnit.MILLISECONDS));
+        assertEquals(2, ponderer.getPondering());
+
+        // Cancelling a ponder that is still waiting for the thread is immediate.
+        ponderer.Cancel("second");
+        ponderer.Cancel("first");
+        assertEquals(0, ponderer.getPondering());
+        assertEquals(1, secondStarted.getCount());
+    }
+
+    @Test
+    public void testNothingToPonder() {
+        AIBoard board = new AIBoard();
+        List<AIMove> line = ExpectedLine(board);
+        Ponderer ponderer = new Ponderer(1);
+
+        // Without the replies of the other colours there is no telling what yellow will face.
+        board.ApplyMove(line.get(0));
+        assertFalse(ponderer.Start("game", board, line.subList(1, 2), GameConstants.YELLOW, new AlphaBeta(), new SearchLimits(4)));
+        assertNull(ponderer.Finish("game", board, 0));
+    }
+
+    // An engine that counts down the latch as its search starts.
+    private static AlphaBeta Signalling(final CountDownLatch started) {
+        return new AlphaBeta() {
+            @Override
+            public SearchResult Search(AIBoard board, SearchLimits limits) {
+                started.countDown();
+                return super.Search(board, limits);
+            }
+        };
+    }
+
+    // A round of moves from the board, as a search of yellow expects it to be played.
+    private static List<AIMove> ExpectedLine(AIBoard board) {
+        SearchResult result = new AlphaBeta().Search(board, new SearchLimits(5));
+
+        assertTrue(result.getPrincipalVariation().size() >= 4);
+        return result.getPrincipalVariation();
+    }
+}
@@ -0,0 +1,54 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AlphaBeta;
+import ac.ic.chaturaji.ai.Evaluation;
+import ac.ic.chaturaji.ai.MTDF;
+import org.junit.Test;
+
+import static ac.ic.chaturaji.ai.AlphaBeta.MAXVAL;
+import static ac.ic.chaturaji.ai.AlphaBeta.MINVAL;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author dg3213
+ */
+public class QuiescenceTest {
+    @Test
+    public void testQuietLeafIsStaticScore() {
+        AIBoard board = new AIBoard();
+
+        // Nothing can be captured from the start position, so the leaf stands as it is.
+        assertEquals(new Evaluation().EvaluateScore(0, board), new AlphaBeta().alphaBeta(board, 0, MINVAL, MAXVAL, 0, 0));
+    }
+
+    @Test
+    public void testCaptureIsResolved() {
+        // Green can take a pawn just before the boat triumph.
+        AIBoard board = TestCases.BoatTriumphPosition(TestCases.BoatTriumphGame.length - 1);
+        long[] original = board.GetBitBoards().clone();
+        int colour = board.getCurrentPlayer();
+
+        int standPat = new Evaluation().EvaluateScore(colour, board);
+        int score = new AlphaBeta().alphaBeta(board, 0, MINVAL, MAXVAL, colour, colour);
+
+        assertTrue(score > standPat);
+        assertArrayEquals(original, board.GetBitBoards());
+
+        AlphaBeta withoutQuiescence = new AlphaBeta();
+        withoutQuiescence.setQuiescence(false);
+        assertEquals(standPat, withoutQuiescence.alphaBeta(board, 0, MINVAL, MAXVAL, colour, colour));
+    }
+
+    @Test
+    public void testSearchWithQuiescence() {
+        AIBoard board = TestCases.EndGame();
+        long[] gameBoards = board.GetBitBoards().clone();
+
+        assertNotNull(new MTDF().Search(board, 4));
+        assertArrayEquals(gameBoards, board.GetBitBoards());
+    }
+}
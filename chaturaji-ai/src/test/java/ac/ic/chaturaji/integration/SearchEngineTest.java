@@ -0,0 +1,115 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.AIMoveGenerator;
+import ac.ic.chaturaji.ai.AlphaBeta;
+import ac.ic.chaturaji.ai.BestReplySearch;
+import ac.ic.chaturaji.ai.EncodedMove;
+import ac.ic.chaturaji.ai.EngineProfile;
+import ac.ic.chaturaji.ai.EngineProfiles;
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.MTDF;
+import ac.ic.chaturaji.ai.MaxN;
+import ac.ic.chaturaji.ai.SearchEngine;
+import ac.ic.chaturaji.ai.SearchLimits;
+import ac.ic.chaturaji.ai.SearchResult;
+import org.junit.Test;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author dg3213
+ */
+public class SearchEngineTest {
+
+    @Test
+    public void testEveryEngineFindsALegalMove() {
+        SearchEngine[] engines = {new MaxN(), new AlphaBeta(), new MTDF(), new BestReplySearch()};
+
+        for (SearchEngine engine : engines) {
+            AIBoard board = new AIBoard();
+            long[] original = board.GetBitBoards().clone();
+
+            SearchResult result = engine.Search(board, new SearchLimits(3));
+
+            assertNotNull(result.getMove());
+            assertEquals(3, result.getDepth());
+            assertTrue(result.getNodes() > 0);
+            assertArrayEquals(original, board.GetBitBoards());
+            assertPlayable(board, result);
+        }
+    }
+
+    @Test
+    public void testPrincipalVariation() {
+        AIBoard board = new AIBoard();
+        SearchResult result = new MTDF().Search(board, new SearchLimits(4));
+
+        // The table holds the line well beyond the first move.
+        assertTrue(result.getPrincipalVariation().size() > 1);
+        assertTrue(result.getPrincipalVariation().size() <= 4);
+        assertTrue(result.getMove().IsEqual(result.getPrincipalVariation().get(0)));
+        assertPlayable(board, result);
+    }
+
+    @Test
+    public void testNodeLimit() {
+        AlphaBeta engine = new AlphaBeta();
+
+        // Far too deep to finish, so the search must stop on the node count.
+        SearchResult result = engine.Search(new AIBoard(), new SearchLimits(30, 0, 20000, 1));
+
+        assertNotNull(result.getMove());
+        assertTrue(result.getDepth() < 30);
+        assertTrue(result.getNodes() < 25000);
+    }
+
+    @Test
+    public void testProfiles() {
+        EngineProfiles profiles = new EngineProfiles();
+
+        assertEquals(EngineProfile.Engine.MAXN, profiles.ForLevel(EngineProfiles.MIN_LEVEL).getEngine());
+        assertEquals(EngineProfile.Engine.ALPHA_BETA, profiles.ForLevel(4).getEngine());
+        assertEquals(EngineProfile.Engine.MTDF, profiles.ForLevel(EngineProfiles.MAX_LEVEL).getEngine());
+
+        // Out of range levels get the nearest profile.
+        assertEquals(profiles.ForLevel(EngineProfiles.MIN_LEVEL), profiles.ForLevel(0));
+        assertEquals(profiles.ForLevel(EngineProfiles.MAX_LEVEL), profiles.ForLevel(99));
+
+        // Deeper levels never search less.
+        for (int level = EngineProfiles.MIN_LEVEL + 1; level <= EngineProfiles.MAX_LEVEL; level++) {
+            assertTrue(profiles.ForLevel(level).getLimits().getDepth() >= profiles.ForLevel(level - 1).getLimits().getDepth());
+        }
+
+        EngineProfile custom = new EngineProfile(EngineProfile.Engine.ALPHA_BETA, new SearchLimits(2));
+        profiles.Register(EngineProfiles.MAX_LEVEL, custom);
+        assertEquals(custom, profiles.ForLevel(EngineProfiles.MAX_LEVEL));
+        assertTrue(profiles.ForLevel(EngineProfiles.MAX_LEVEL).NewEngine() instanceof AlphaBeta);
+        assertFalse(profiles.ForLevel(EngineProfiles.MAX_LEVEL).NewEngine() instanceof MTDF);
+    }
+
+    // Every move of the principal variation must be legal in turn.
+    private void assertPlayable(AIBoard board, SearchResult result) {
+        AIBoard line = board.clone();
+
+        for (AIMove move : result.getPrincipalVariation()) {
+            AIMoveGenerator validMoves = new AIMoveGenerator();
+            int colour = line.FindColourPieceInSquare(move.getSource());
+            int[] moves = new int[GameConstants.MAX_MOVES];
+            int count = validMoves.generateMoves(line, moves, 0, colour);
+            boolean found = false;
+
+            for (int i = 0; i < count && !found; i++) {
+                found = EncodedMove.Source(moves[i]) == move.getSource()
+                        && EncodedMove.Destination(moves[i]) == move.getDestination();
+            }
+            assertTrue(found);
+            line.makeMove(move);
+        }
+    }
+}
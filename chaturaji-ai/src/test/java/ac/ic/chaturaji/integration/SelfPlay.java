@@ -0,0 +1,210 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AI;
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.AIMoveGenerator;
+import ac.ic.chaturaji.ai.EncodedMove;
+import ac.ic.chaturaji.ai.EngineProfile;
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.HumanPlayer;
+import ac.ic.chaturaji.ai.SearchEngine;
+import ac.ic.chaturaji.ai.SearchLimits;
+import ac.ic.chaturaji.ai.SearchResult;
+
+import java.util.HashSet;
+import java.util.Random;
+
+/**
+ * Plays two engine profiles against each other to compare their strength and speed. In each game one
+ * profile takes yellow and red and the other blue and green, and each pair of games plays both seatings
+ * from the same opening of OPENING_PLIES random moves, so that neither profile gains from its seats.
+ * Games are scored with the points of the real game and end as they do in AI: when one king is left,
+ * or after NUMBER_OF_MOVES_WITH_NO_PIECE_CAPTURED_FOR_STALEMATE moves without a capture. A game still
+ * going after MAX_GAME_MOVES moves is stopped where it stands.
+ *
+ * Run from the command line with: java ac.ic.chaturaji.integration.SelfPlay [games] [nodes] [depth]
+ * to play BestReplySearch against MTDF with the same number of nodes and the same depth for each move.
+ *
+ * @author dg3213
+ */
+public class SelfPlay {
+    static final int OPENING_PLIES = 4;
+    static final int MAX_GAME_MOVES = 400;
+
+    // What one profile did over the games played so far.
+    public static class Tally {
+        private final EngineProfile profile;
+        private int games;
+        private double wins;
+        private int points;
+        private int searches;
+        private long nodes;
+        private long time;
+        private long depth;
+
+        Tally(EngineProfile profile) {
+            this.profile = profile;
+        }
+
+        void Add(SearchResult result) {
+            searches++;
+            nodes += result.getNodes();
+            time += result.getTime();
+            depth += result.getDepth();
+        }
+
+        public EngineProfile getProfile() {
+            return profile;
+        }
+
+        public int getGames() {
+            return games;
+        }
+
+        // Games won, a game won jointly being shared between the winners.
+        public double getWins() {
+            return wins;
+        }
+
+        // Points scored by both of the profile's colours.
+        public int getPoints() {
+            return points;
+        }
+
+        public int getSearches() {
+            return searches;
+        }
+
+        public double getNodesPerMove() {
+            return searches == 0 ? 0 : (double) nodes / searches;
+        }
+
+        public double getTimePerMove() {
+            return searches == 0 ? 0 : (double) time / searches;
+        }
+
+        public double getDepthPerMove() {
+            return searches == 0 ? 0 : (double) depth / searches;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s\t%d\t%.1f\t%d\t%.2f\t%.0f\t%.1f", profile.getEngine(), games, wins, points,
+                    getDepthPerMove(), getNodesPerMove(), getTimePerMove());
+        }
+    }
+
+    private final Tally first;
+    private final Tally second;
+    private final long seed;
+    private final AIMoveGenerator MoveGenerator = new AIMoveGenerator();
+
+    public SelfPlay(EngineProfile first, EngineProfile second, long seed) {
+        this.first = new Tally(first);
+        this.second = new Tally(second);
+        this.seed = seed;
+    }
+
+    public Tally getFirst() {
+        return first;
+    }
+
+    public Tally getSecond() {
+        return second;
+    }
+
+    // Play the given number of games, swapping the seats after each one.
+    public void Play(int games) {
+        for (int game = 0; game < games; game++) {
+            PlayGame(game % 2 == 0, new Random(seed + game / 2));
+        }
+    }
+
+    // Play one game, with the first profile as yellow and red if firstEven and as blue and green otherwise,
+    // and return the points of each colour. The random opening is drawn from the given generator.
+    public int[] PlayGame(boolean firstEven, Random random) {
+        AIBoard board = new AIBoard();
+        Tally[] tallies = new Tally[4];
+        SearchEngine[] engines = new SearchEngine[4];
+        // The points are kept as AI keeps those of a human, whose move is given by its squares.
+        HumanPlayer[] players = new HumanPlayer[4];
+        int[] moves = new int[GameConstants.MAX_MOVES];
+
+        for (int colour = 0; colour < 4; colour++) {
+            tallies[colour] = ((colour % 2 == 0) == firstEven) ? first : second;
+            engines[colour] = tallies[colour].getProfile().NewEngine();
+            players[colour] = new HumanPlayer(colour, 0, new HashSet<Integer>());
+        }
+
+        int staleMateCount = 0;
+
+        for (int ply = 0; ply < MAX_GAME_MOVES && board.isGameOver() > 1
+                && staleMateCount < AI.NUMBER_OF_MOVES_WITH_NO_PIECE_CAPTURED_FOR_STALEMATE; ply++) {
+            int colour = board.getCurrentPlayer();
+            AIMove move = null;
+
+            if (ply < OPENING_PLIES) {
+                int count = MoveGenerator.generateMoves(board, moves, 0, colour);
+                if (count > 0)
+                    move = EncodedMove.ToAIMove(moves[random.nextInt(count)]);
+            } else {
+                SearchResult result = engines[colour].Search(board, tallies[colour].getProfile().getLimits());
+                tallies[colour].Add(result);
+                move = result.getMove();
+            }
+
+            if (move == null) {
+                // No available move, so move on to the next player.
+                board.NextPlayer();
+                continue;
+            }
+
+            players[colour].getMove(board, move.getSource(), move.getDestination());
+            board.ApplyMove(move);
+
+            if (move.getTriumph() || move.getType() == GameConstants.CAPTURE)
+                staleMateCount = 0;
+            else
+                staleMateCount++;
+        }
+
+        int[] points = new int[4];
+        int max = 0;
+        int winners = 0;
+
+        for (int colour = 0; colour < 4; colour++) {
+            points[colour] = players[colour].getPoints();
+            max = Math.max(max, points[colour]);
+        }
+        for (int colour = 0; colour < 4; colour++) {
+            if (points[colour] == max)
+                winners++;
+        }
+
+        first.games++;
+        second.games++;
+        for (int colour = 0; colour < 4; colour++) {
+            tallies[colour].points += points[colour];
+            if (points[colour] == max)
+                tallies[colour].wins += 1.0 / winners;
+        }
+        return points;
+    }
+
+    public static void main(String[] args) {
+        int games = (args.length > 0) ? Integer.parseInt(args[0]) : 8;
+        int nodes = (args.length > 1) ? Integer.parseInt(args[1]) : 20000;
+        int depth = (args.length > 2) ? Integer.parseInt(args[2]) : GameConstants.MAX_PLY / 2;
+
+        SearchLimits limits = new SearchLimits(depth, 0, nodes, 1);
+        SelfPlay selfPlay = new SelfPlay(new EngineProfile(EngineProfile.Engine.BEST_REPLY, limits),
+                new EngineProfile(EngineProfile.Engine.MTDF, limits), 1);
+
+        selfPlay.Play(games);
+
+        System.out.println("engine\tgames\twins\tpoints\tdepth\tnodes/move\tms/move");
+        System.out.println(selfPlay.getFirst());
+        System.out.println(selfPlay.getSecond());
+    }
+}
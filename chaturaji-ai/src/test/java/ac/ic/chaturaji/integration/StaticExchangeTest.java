@@ -0,0 +1,98 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.EncodedMove;
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.StaticExchange;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Exchanges on square 35 (row 4, column 3) in positions set up by hand.
+ *
+ * @author dg3213
+ */
+public class StaticExchangeTest {
+    private static final int SQUARE = 35;
+
+    private final StaticExchange exchange = new StaticExchange();
+
+    @Test
+    public void testUndefendedCapture() {
+        AIBoard board = board(GameConstants.YELLOW_KNIGHT, 18, GameConstants.RED_PAWN, SQUARE);
+
+        assertEquals(GameConstants.PAWN_VALUE, exchange.Evaluate(board, capture(board, 18)));
+    }
+
+    @Test
+    public void testDefendedCapture() {
+        AIBoard board = board(GameConstants.YELLOW_BOAT, 17, GameConstants.RED_PAWN, SQUARE, GameConstants.RED_KNIGHT, 52);
+
+        // The red knight takes the boat back.
+        assertEquals(GameConstants.PAWN_VALUE - GameConstants.BOAT_VALUE, exchange.Evaluate(board, capture(board, 17)));
+        assertEquals(GameConstants.BOAT_VALUE - GameConstants.PAWN_VALUE, exchange.Gain(GameConstants.RED));
+    }
+
+    @Test
+    public void testThirdColourRecaptures() {
+        AIBoard board = board(GameConstants.YELLOW_ELEPHANT, 3, GameConstants.BLUE_KNIGHT, SQUARE, GameConstants.GREEN_PAWN, 42);
+
+        // Green, not blue, takes the elephant.
+        assertEquals(GameConstants.KNIGHT_VALUE - GameConstants.ELEPHANT_VALUE, exchange.Evaluate(board, capture(board, 3)));
+        assertEquals(-GameConstants.KNIGHT_VALUE, exchange.Gain(GameConstants.BLUE));
+        assertEquals(GameConstants.ELEPHANT_VALUE, exchange.Gain(GameConstants.GREEN));
+
+        // Yellow loses 300 while blue and green between them break even.
+        assertEquals(2 * (GameConstants.KNIGHT_VALUE - GameConstants.ELEPHANT_VALUE), exchange.Balance(GameConstants.YELLOW));
+    }
+
+    @Test
+    public void testDefenderThatWouldBeTakenDoesNotRecapture() {
+        AIBoard board = board(GameConstants.YELLOW_PAWN, 26, GameConstants.BLUE_KNIGHT, SQUARE,
+                GameConstants.BLUE_KING, 43, GameConstants.RED_BOAT, 53);
+
+        // The blue king would be taken by the red boat, and the red boat by the blue king, so neither
+        // takes the pawn.
+        assertEquals(GameConstants.KNIGHT_VALUE, exchange.Evaluate(board, capture(board, 26)));
+        assertEquals(0, exchange.Gain(GameConstants.RED));
+    }
+
+    @Test
+    public void testAttackersTo() {
+        AIBoard board = board(GameConstants.YELLOW_BOAT, 17, GameConstants.RED_PAWN, SQUARE, GameConstants.RED_KNIGHT, 52,
+                GameConstants.GREEN_PAWN, 42, GameConstants.BLUE_ELEPHANT, 3, GameConstants.YELLOW_PAWN, 19);
+        long occupied = board.getBitBoard(GameConstants.ALL_YELLOW_PIECES) | board.getBitBoard(GameConstants.ALL_BLUE_PIECES) |
+                board.getBitBoard(GameConstants.ALL_RED_PIECES) | board.getBitBoard(GameConstants.ALL_GREEN_PIECES);
+
+        // The yellow pawn on 19 blocks the elephant, and only attacks squares in the next column.
+        long attackers = GameConstants.SquareBits[17] | GameConstants.SquareBits[52] | GameConstants.SquareBits[42];
+        assertEquals(attackers, StaticExchange.AttackersTo(board, SQUARE, occupied));
+
+        // Once it has gone the elephant reaches the square.
+        occupied &= ~GameConstants.SquareBits[19];
+        assertEquals(attackers | GameConstants.SquareBits[3], StaticExchange.AttackersTo(board, SQUARE, occupied));
+    }
+
+    // A board with the given pieces, as pairs of piece and square. Yellow is to move.
+    private AIBoard board(int... piecesAndSquares) {
+        long[] bitBoards = new long[GameConstants.ALL_BITBOARDS];
+
+        for (int i = 0; i < piecesAndSquares.length; i += 2) {
+            int piece = piecesAndSquares[i];
+            long square = GameConstants.SquareBits[piecesAndSquares[i + 1]];
+
+            bitBoards[piece] |= square;
+            bitBoards[GameConstants.ALL_PIECES + piece % 4] |= square;
+        }
+        return new AIBoard(bitBoards, GameConstants.YELLOW);
+    }
+
+    // The capture on SQUARE by the piece on the given square.
+    private int capture(AIBoard board, int source) {
+        int piece = board.findPieceColour(source, board.FindColourPieceInSquare(source));
+        int captured = board.findPieceColour(SQUARE, board.FindColourPieceInSquare(SQUARE));
+
+        return EncodedMove.Encode(piece, source, SQUARE, captured);
+    }
+}
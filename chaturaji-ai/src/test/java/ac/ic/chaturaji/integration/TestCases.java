@@ -1,5 +1,7 @@
 package ac.ic.chaturaji.integration;
 
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMoveGenerator;
 import ac.ic.chaturaji.ai.GameConstants;
 
 /**
@@ -229,4 +231,32 @@ public class TestCases {
         for (int i = 0; i < 32; i++)
             board1[i] = board2[i];
     }
+
+    // The board after the first given number of moves of BoatTriumphGame, the last of which is the triumph.
+    public static AIBoard BoatTriumphPosition(int moves) {
+        AIBoard board = new AIBoard();
+
+        for (int i = 0; i < moves; i++) {
+            int[] move = BoatTriumphGame[i];
+            AIMoveGenerator validMoves = new AIMoveGenerator();
+            validMoves.computeMoves(board);
+            board.makeMove(validMoves.findMove(move[0], move[1]));
+        }
+        return board;
+    }
+
+    // The middle game reached by playing the whole of BoatTriumphGame.
+    public static AIBoard MiddleGame() {
+        return BoatTriumphPosition(BoatTriumphGame.length);
+    }
+
+    // The king and elephant ending of the delayed promotion test, with yellow to move.
+    public static AIBoard EndGame() {
+        long[] endBoards = new long[32];
+
+        for (int i = 0; i < 32; i++) {
+            endBoards[i] = EndYellowBoard[i] | GreenElephantAndKing[i] | RedElephantAndKing[i] | BlueElephant[i];
+        }
+        return new AIBoard(endBoards, 0);
+    }
 }
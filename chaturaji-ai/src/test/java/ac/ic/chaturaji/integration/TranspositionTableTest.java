@@ -0,0 +1,71 @@
+package ac.ic.chaturaji.integration;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.TranspositionTable;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * @author dg3213
+ */
+public class TranspositionTableTest {
+    TranspositionTable transTable;
+    AIBoard theBoard;
+
+    @Before
+    public void setUp() {
+        transTable = new TranspositionTable(1);
+        theBoard = new AIBoard();
+    }
+
+    @Test
+    public void testCapacity() {
+        int capacity = transTable.Capacity();
+
+        // A power of two number of entries which fits within the requested megabyte.
+        assertEquals(0, capacity & (capacity - 1));
+        assertTrue(capacity * 16 <= 1024 * 1024);
+    }
+
+    @Test
+    public void testSaveAndFindBoard() {
+        AIMove found = new AIMove();
+        AIMove bestMove = new AIMove(GameConstants.YELLOW_BOAT, 0, 18);
+
+        assertFalse(transTable.FindBoard(theBoard, found));
+
+        transTable.SaveBoard(theBoard, -1250, GameConstants.LOWER_BOUND, 3, 1, bestMove);
+
+        assertTrue(transTable.FindBoard(theBoard, found));
+        assertEquals(-1250, found.getScore());
+        assertEquals(GameConstants.LOWER_BOUND, found.getEvaluationType());
+        assertEquals(3, found.getDepth());
+
+        int packedMove = transTable.FindBestMove(theBoard);
+        assertEquals(0, TranspositionTable.PackedSource(packedMove));
+        assertEquals(18, TranspositionTable.PackedDestination(packedMove));
+    }
+
+    @Test
+    public void testDeeperEntryIsKept() {
+        AIMove found = new AIMove();
+
+        transTable.SaveBoard(theBoard, 100, GameConstants.EXACT_VALUE, 5, 1);
+        transTable.SaveBoard(theBoard, 200, GameConstants.EXACT_VALUE, 2, 1);
+
+        assertTrue(transTable.FindBoard(theBoard, found));
+        assertEquals(5, found.getDepth());
+
+        // An entry from an older search may be replaced.
+        transTable.SaveBoard(theBoard, 200, GameConstants.EXACT_VALUE, 2, 2);
+
+        assertTrue(transTable.FindBoard(theBoard, found));
+        assertEquals(2, found.getDepth());
+    }
+}
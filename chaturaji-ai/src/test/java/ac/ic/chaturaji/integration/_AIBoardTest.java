@@ -1,11 +1,18 @@
 package ac.ic.chaturaji.integration;
 
 import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.AIMoveGenerator;
+import ac.ic.chaturaji.ai.GameConstants;
 import org.junit.Before;
 import org.junit.Ignore;
 import org.junit.Test;
 
+import java.util.ArrayList;
+
 import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 
 /**
  * @author dg3213
@@ -26,4 +33,105 @@ public class _AIBoardTest {
         assertArrayEquals(theBoard.GetBitBoards(), clone.GetBitBoards());
         assertArrayEquals(theBoard.GetMaterialValue(), clone.GetMaterialValue());
     }
+
+    @Test
+    public void testMakeUnmakeMove() throws Exception {
+        long[] original = theBoard.GetBitBoards().clone();
+
+        // Play the boat triumph game forwards...
+        for (int[] move : TestCases.BoatTriumphGame) {
+            AIMove aiMove = findMove(move[0], move[1]);
+
+            theBoard.makeMove(aiMove);
+        }
+
+        // ...and then take every move back again.
+        for (int i = 0; i < TestCases.BoatTriumphGame.length; i++) {
+            theBoard.unmakeMove();
+        }
+
+        assertArrayEquals(original, theBoard.GetBitBoards());
+        assertEquals(0, theBoard.getCurrentPlayer());
+    }
+
+    @Test
+    public void testMakeUnmakeAllMoves() throws Exception {
+        AIMoveGenerator validMoves = new AIMoveGenerator();
+        ArrayList<AIMove> moves = new ArrayList<>();
+        long[] original = theBoard.GetBitBoards().clone();
+
+        validMoves.generateMoves(theBoard, moves, theBoard.getCurrentPlayer());
+
+        for (AIMove move : moves) {
+            theBoard.makeMove(move);
+            theBoard.unmakeMove();
+
+            assertArrayEquals(original, theBoard.GetBitBoards());
+        }
+    }
+
+    @Test
+    public void testIncrementalZobristKey() throws Exception {
+        theBoard = TestCases.EndGame();
+
+        for (int[] move : TestCases.DelayedPromo) {
+            theBoard.ApplyMove(findMove(move[0], move[1]));
+
+            // A board built from the same bitboards computes its key from scratch.
+            AIBoard rebuilt = new AIBoard(theBoard.GetBitBoards().clone(), theBoard.getCurrentPlayer());
+            assertEquals(rebuilt.ZobristKey(), theBoard.ZobristKey());
+            assertEquals(rebuilt.PawnKey(), theBoard.PawnKey());
+        }
+    }
+
+    @Test
+    public void testPawnKey() throws Exception {
+        long pawnKey = theBoard.PawnKey();
+
+        // A knight move leaves the pawns where they are...
+        theBoard.makeMove(findMove(8, 18));
+        assertEquals(pawnKey, theBoard.PawnKey());
+
+        // ...but a pawn move does not.
+        theBoard.makeMove(findMove(12, 20));
+        assertNotEquals(pawnKey, theBoard.PawnKey());
+
+        theBoard.unmakeMove();
+        theBoard.unmakeMove();
+        assertEquals(pawnKey, theBoard.PawnKey());
+    }
+
+    @Test
+    public void testIncrementalMaterial() throws Exception {
+        // The start position: four of each pawn, one of every other piece.
+        assertEquals(4, theBoard.GetPieceCount(GameConstants.RED_PAWN));
+        assertEquals(1, theBoard.GetPieceCount(GameConstants.GREEN_BOAT));
+        assertEquals(4 * GameConstants.PAWN_VALUE + GameConstants.KNIGHT_VALUE + GameConstants.BOAT_VALUE
+                + GameConstants.ELEPHANT_VALUE + GameConstants.KING_VALUE, theBoard.GetMaterialValue(GameConstants.BLUE));
+
+        theBoard = TestCases.EndGame();
+
+        // The delayed promotion game captures pieces and promotes pawns.
+        for (int[] move : TestCases.DelayedPromo) {
+            theBoard.makeMove(findMove(move[0], move[1]));
+
+            AIBoard rebuilt = new AIBoard(theBoard.GetBitBoards().clone(), theBoard.getCurrentPlayer());
+            for (int piece = 0; piece < GameConstants.ALL_PIECES; piece++) {
+                assertEquals(Long.bitCount(theBoard.getBitBoard(piece)), theBoard.GetPieceCount(piece));
+            }
+            assertArrayEquals(rebuilt.GetMaterialValue(), theBoard.GetMaterialValue());
+        }
+
+        for (int i = 0; i < TestCases.DelayedPromo.length; i++) {
+            theBoard.unmakeMove();
+        }
+        assertArrayEquals(TestCases.EndGame().GetMaterialValue(), theBoard.GetMaterialValue());
+    }
+
+    private AIMove findMove(int source, int destination) {
+        AIMoveGenerator validMoves = new AIMoveGenerator();
+        validMoves.computeMoves(theBoard);
+
+        return validMoves.findMove(source, destination);
+    }
 }
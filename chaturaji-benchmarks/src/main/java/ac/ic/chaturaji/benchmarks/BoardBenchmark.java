@@ -0,0 +1,81 @@
+package ac.ic.chaturaji.benchmarks;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMoveGenerator;
+import ac.ic.chaturaji.ai.GameConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Applying moves, copying the board and reading its Zobrist key. Each call applies the next of the
+ * position's moves in turn, so that every kind of move is measured.
+ *
+ * @author dg3213
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BoardBenchmark {
+
+    @Param({Positions.OPENING, Positions.MIDDLEGAME, Positions.ENDGAME})
+    public String position;
+
+    private AIBoard board;
+    private int[] moves;
+    private int moveCount;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        board = Positions.Build(position);
+        moves = new int[GameConstants.MAX_MOVES];
+        moveCount = new AIMoveGenerator().generateMoves(board, moves, 0, board.getCurrentPlayer());
+    }
+
+    private int nextMove() {
+        int move = moves[next];
+        next = (next + 1) % moveCount;
+        return move;
+    }
+
+    // ApplyMove through the undo stack, as the search uses it.
+    @Benchmark
+    public long makeUnmakeMove() {
+        board.makeMove(nextMove());
+        long key = board.ZobristKey();
+        board.unmakeMove();
+        return key;
+    }
+
+    @Benchmark
+    public AIBoard cloneBoard() {
+        return board.clone();
+    }
+
+    // ApplyMove on a copy, as the game itself applies moves.
+    @Benchmark
+    public AIBoard cloneAndApplyMove() {
+        AIBoard copy = board.clone();
+        copy.ApplyMove(nextMove());
+        return copy;
+    }
+
+    @Benchmark
+    public long zobristKey() {
+        return board.ZobristKey();
+    }
+}
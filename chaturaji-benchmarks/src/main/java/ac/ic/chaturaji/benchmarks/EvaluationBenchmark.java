@@ -0,0 +1,64 @@
+package ac.ic.chaturaji.benchmarks;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.Evaluation;
+import ac.ic.chaturaji.ai.EvaluationCache;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author dg3213
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EvaluationBenchmark {
+
+    @Param({Positions.OPENING, Positions.MIDDLEGAME, Positions.ENDGAME})
+    public String position;
+
+    private AIBoard board;
+    private Evaluation evaluation;
+    private Evaluation noDefenseEvaluation;
+    private Evaluation cachedEvaluation;
+
+    @Setup
+    public void setUp() {
+        board = Positions.Build(position);
+        evaluation = new Evaluation();
+        noDefenseEvaluation = new Evaluation();
+        noDefenseEvaluation.setDefense(false);
+        cachedEvaluation = new Evaluation(new EvaluationCache());
+    }
+
+    @Benchmark
+    public int evaluateScore() {
+        return evaluation.EvaluateScore(board.getCurrentPlayer(), board);
+    }
+
+    // The same evaluation without the defense term, to show what the term costs.
+    @Benchmark
+    public int evaluateScoreWithoutDefense() {
+        return noDefenseEvaluation.EvaluateScore(board.getCurrentPlayer(), board);
+    }
+
+    // A position found in the evaluation cache.
+    @Benchmark
+    public int evaluateScoreCached() {
+        return cachedEvaluation.EvaluateScore(board.getCurrentPlayer(), board);
+    }
+}
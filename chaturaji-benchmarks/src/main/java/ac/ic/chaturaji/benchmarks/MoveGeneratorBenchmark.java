@@ -0,0 +1,62 @@
+package ac.ic.chaturaji.benchmarks;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.AIMoveGenerator;
+import ac.ic.chaturaji.ai.GameConstants;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * @author dg3213
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoveGeneratorBenchmark {
+
+    @Param({Positions.OPENING, Positions.MIDDLEGAME, Positions.ENDGAME})
+    public String position;
+
+    private AIBoard board;
+    private AIMoveGenerator validMoves;
+    private int[] moves;
+    private ArrayList<AIMove> moveList;
+
+    @Setup
+    public void setUp() {
+        board = Positions.Build(position);
+        validMoves = new AIMoveGenerator();
+        moves = new int[GameConstants.MAX_MOVES];
+        moveList = new ArrayList<>();
+    }
+
+    // The encoded moves the search uses.
+    @Benchmark
+    public int generateMoves() {
+        return validMoves.generateMoves(board, moves, 0, board.getCurrentPlayer());
+    }
+
+    // The AIMove list handed to the rest of the game.
+    @Benchmark
+    public int generateMoveList() {
+        moveList.clear();
+        validMoves.generateMoves(board, moveList, board.getCurrentPlayer());
+        return moveList.size();
+    }
+}
@@ -0,0 +1,31 @@
+package ac.ic.chaturaji.benchmarks;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.integration.TestCases;
+
+/**
+ * The positions every benchmark is run over, built from the scenarios in the AI tests:
+ * the start of the game, the boat triumph game just before the triumph, and the king and
+ * elephant ending of the delayed promotion test.
+ *
+ * @author dg3213
+ */
+public class Positions {
+    public static final String OPENING = "opening";
+    public static final String MIDDLEGAME = "middlegame";
+    public static final String ENDGAME = "endgame";
+
+    // A new board for the named position.
+    public static AIBoard Build(String name) {
+        switch (name) {
+            case OPENING:
+                return new AIBoard();
+            case MIDDLEGAME:
+                return TestCases.BoatTriumphPosition(TestCases.BoatTriumphGame.length - 1);
+            case ENDGAME:
+                return TestCases.EndGame();
+            default:
+                throw new IllegalArgumentException("Unknown position: " + name);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package ac.ic.chaturaji.benchmarks;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.MTDF;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A complete MTD(f) search to a fixed depth. Every search starts from a new engine, so nothing is
+ * carried over in the transposition table from the previous one.
+ *
+ * @author dg3213
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchBenchmark {
+
+    @Param({Positions.OPENING, Positions.MIDDLEGAME, Positions.ENDGAME})
+    public String position;
+
+    @Param({"3", "4", "5"})
+    public int depth;
+
+    private AIBoard board;
+    private MTDF engine;
+
+    @Setup
+    public void setUp() {
+        board = Positions.Build(position);
+    }
+
+    // Each search takes milliseconds, so the cost of a setup per invocation does not distort the result.
+    @Setup(Level.Invocation)
+    public void newEngine() {
+        engine = new MTDF();
+    }
+
+    @Benchmark
+    public AIMove search() {
+        return engine.Search(board, depth);
+    }
+}
@@ -0,0 +1,64 @@
+package ac.ic.chaturaji.benchmarks;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMoveGenerator;
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.StaticExchange;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The four colour static exchange evaluation of every capture on the board, as move ordering and
+ * the quiescence search run it at the leaves. The opening has no captures, so it is left out.
+ *
+ * @author dg3213
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StaticExchangeBenchmark {
+
+    @Param({Positions.MIDDLEGAME, Positions.ENDGAME})
+    public String position;
+
+    private AIBoard board;
+    private StaticExchange exchange;
+    private int[] captures;
+    private int count;
+
+    @Setup
+    public void setUp() {
+        board = Positions.Build(position);
+        exchange = new StaticExchange();
+        captures = new int[4 * GameConstants.MAX_MOVES];
+
+        AIMoveGenerator validMoves = new AIMoveGenerator();
+        for (int colour = 0; colour < 4; colour++) {
+            count = validMoves.generateCaptures(board, captures, count, colour);
+        }
+    }
+
+    @Benchmark
+    public int evaluateCaptures() {
+        int total = 0;
+
+        for (int i = 0; i < count; i++) {
+            total += exchange.Evaluate(board, captures[i]);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,69 @@
+package ac.ic.chaturaji.benchmarks;
+
+import ac.ic.chaturaji.ai.AIBoard;
+import ac.ic.chaturaji.ai.AIMove;
+import ac.ic.chaturaji.ai.GameConstants;
+import ac.ic.chaturaji.ai.TranspositionTable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Probing and storing a position in a table of the default size. The hit is for the stored
+ * position, the miss for a position that was never saved.
+ *
+ * @author dg3213
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TranspositionTableBenchmark {
+
+    @Param({Positions.OPENING, Positions.MIDDLEGAME, Positions.ENDGAME})
+    public String position;
+
+    private AIBoard board;
+    private AIBoard unsaved;
+    private TranspositionTable transTable;
+    private AIMove found;
+    private int timeStamp;
+
+    @Setup
+    public void setUp() {
+        board = Positions.Build(position);
+        unsaved = board.clone();
+        unsaved.NextPlayer();
+
+        transTable = new TranspositionTable();
+        transTable.SaveBoard(board, 150, GameConstants.EXACT_VALUE, 4, 0);
+        found = new AIMove();
+    }
+
+    @Benchmark
+    public boolean findBoardHit() {
+        return transTable.FindBoard(board, found);
+    }
+
+    @Benchmark
+    public boolean findBoardMiss() {
+        return transTable.FindBoard(unsaved, found);
+    }
+
+    @Benchmark
+    public boolean saveBoard() {
+        return transTable.SaveBoard(board, 150, GameConstants.EXACT_VALUE, 4, timeStamp++);
+    }
+}